@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+# 댓글 키 VARCHAR(100) vs BIGINT: 인덱스 크기와 조회 지연 비교 (MariaDB)
+#
+# 사용법: DB_HOST=127.0.0.1 DB_USER=root DB_PASSWORD=... ROWS=1000000 ./scripts/bench/comment-key-bench.sh
+# 스크래치 스키마(comment_key_bench)를 만들고 끝나면 남겨 둔다. (DROP DATABASE comment_key_bench 로 정리)
+set -euo pipefail
+
+DB_HOST=${DB_HOST:-127.0.0.1}
+DB_PORT=${DB_PORT:-3306}
+DB_USER=${DB_USER:-root}
+DB_PASSWORD=${DB_PASSWORD:-}
+ROWS=${ROWS:-1000000}
+ITERATIONS=${ITERATIONS:-5}
+CONCURRENCY=${CONCURRENCY:-16}
+QUERIES=${QUERIES:-20000}
+SCHEMA=comment_key_bench
+BASE_ID=170000000000000000
+
+MYSQL=(mariadb -h "$DB_HOST" -P "$DB_PORT" -u "$DB_USER" "-p$DB_PASSWORD")
+SLAP=(mariadb-slap -h "$DB_HOST" -P "$DB_PORT" -u "$DB_USER" "-p$DB_PASSWORD")
+
+create_table() {
+  local table=$1 key_type=$2
+  cat <<SQL
+DROP TABLE IF EXISTS $table;
+CREATE TABLE $table
+(
+    comment_id        $key_type    NOT NULL PRIMARY KEY,
+    article_id        VARCHAR(100) NOT NULL,
+    writer_id         VARCHAR(100) NOT NULL,
+    parent_comment_id $key_type,
+    root_comment_id   $key_type,
+    depth             SMALLINT     NOT NULL DEFAULT 0,
+    contents          TEXT         NOT NULL,
+    is_deleted        BOOLEAN      NOT NULL DEFAULT FALSE,
+    status            VARCHAR(32)  NOT NULL DEFAULT 'ACTIVE',
+    reply_count       INTEGER      NOT NULL DEFAULT 0,
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL,
+    deleted_at        TIMESTAMP(6),
+    INDEX idx_comment_article_created (article_id, created_at),
+    INDEX idx_comment_parent (parent_comment_id),
+    INDEX idx_comment_root (root_comment_id),
+    INDEX idx_comment_writer (writer_id),
+    INDEX idx_comment_status (status),
+    INDEX idx_comment_article_depth_status (article_id, depth, is_deleted, status),
+    INDEX idx_comment_article_depth_created (article_id, depth, created_at, comment_id),
+    INDEX idx_comment_article_status_deleted (article_id, status, is_deleted)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+SQL
+}
+
+echo "== 스키마/데이터 준비 (rows=$ROWS)"
+{
+  echo "CREATE DATABASE IF NOT EXISTS $SCHEMA; USE $SCHEMA;"
+  create_table comments_varchar "VARCHAR(100)"
+  create_table comments_bigint "BIGINT"
+  # 루트 1 : 답글 3 비율, 아티클 1000개 (Sequence 엔진 seq_1_to_N 사용)
+  cat <<SQL
+INSERT INTO comments_bigint
+SELECT $BASE_ID + seq,
+       CONCAT('article-', seq % 1000),
+       CONCAT('user-', seq % 50000),
+       IF(seq % 4 = 0, NULL, $BASE_ID + seq - seq % 4),
+       IF(seq % 4 = 0, $BASE_ID + seq, $BASE_ID + seq - seq % 4),
+       IF(seq % 4 = 0, 0, 1),
+       REPEAT('x', 80), FALSE, 'ACTIVE', IF(seq % 4 = 0, 3, 0),
+       NOW(6) - INTERVAL seq SECOND, NOW(6) - INTERVAL seq SECOND, NULL
+FROM seq_4_to_$((ROWS + 3));
+INSERT INTO comments_varchar
+SELECT CAST(comment_id AS CHAR), article_id, writer_id, CAST(parent_comment_id AS CHAR),
+       CAST(root_comment_id AS CHAR), depth, contents, is_deleted, status, reply_count,
+       created_at, updated_at, deleted_at
+FROM comments_bigint;
+ANALYZE TABLE comments_varchar, comments_bigint PERSISTENT FOR ALL;
+SQL
+} | "${MYSQL[@]}"
+
+echo "== 인덱스 크기 (MB)"
+"${MYSQL[@]}" -t -e "
+SELECT table_name, index_name,
+       ROUND(stat_value * @@innodb_page_size / 1024 / 1024, 2) AS size_mb
+FROM mysql.innodb_index_stats
+WHERE database_name = '$SCHEMA' AND stat_name = 'size'
+ORDER BY index_name, table_name;"
+
+lookup() {
+  local label=$1 query=$2
+  echo "== $label"
+  "${SLAP[@]}" --create-schema="$SCHEMA" --delimiter=";" \
+    --iterations="$ITERATIONS" --concurrency="$CONCURRENCY" \
+    --number-of-queries="$QUERIES" --query="$query"
+}
+
+RANDOM_ID="SET @id := $BASE_ID + 4 + FLOOR(RAND() * $ROWS)"
+RANDOM_ROOT="SET @root := $BASE_ID + 4 * FLOOR(1 + RAND() * ($ROWS / 4))"
+
+lookup "PK 조회 BIGINT" "$RANDOM_ID; SELECT * FROM comments_bigint WHERE comment_id = @id"
+lookup "PK 조회 VARCHAR" "$RANDOM_ID; SELECT * FROM comments_varchar WHERE comment_id = CAST(@id AS CHAR)"
+lookup "스레드 조회 BIGINT" "$RANDOM_ROOT; SELECT * FROM comments_bigint WHERE root_comment_id = @root"
+lookup "스레드 조회 VARCHAR" "$RANDOM_ROOT; SELECT * FROM comments_varchar WHERE root_comment_id = CAST(@root AS CHAR)"
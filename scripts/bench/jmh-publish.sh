@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# JMH 마이크로 벤치마크를 실행하고 결과 JSON 을 버전/커밋 이름으로 보관한다.
+#
+# 사용법: ./scripts/bench/jmh-publish.sh [벤치마크 정규식]
+#   예) ./scripts/bench/jmh-publish.sh 'CommentTreeAssemblyBenchmark|CommentResponseBenchmark'
+# 결과: bench-results/jmh/<version>-<git sha>.json (ns/op 와 gc.alloc.rate.norm 포함)
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+INCLUDES=${1:-.*}
+OUT_DIR=${OUT_DIR:-bench-results/jmh}
+VERSION=$(./gradlew -q properties | awk -F': ' '$1 == "version" {print $2}')
+SHA=$(git rev-parse --short HEAD)
+
+./gradlew jmh "-Pjmh.includes=$INCLUDES"
+
+mkdir -p "$OUT_DIR"
+cp build/reports/jmh/results.json "$OUT_DIR/${VERSION}-${SHA}.json"
+echo "saved: $OUT_DIR/${VERSION}-${SHA}.json"
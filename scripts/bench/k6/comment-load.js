@@ -0,0 +1,50 @@
+// 댓글 생성/조회 부하 테스트 (k6)
+//
+// 사용법: k6 run -e BASE_URL=http://localhost:8080 -e VUS=200 -e DURATION=60s \
+//           --summary-export=summary.json scripts/bench/k6/comment-load.js
+// 쓰기:읽기 비율은 WRITE_RATIO(기본 0.1). 아티클은 ARTICLES 개 중 앞쪽에 몰리도록 고른다.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const ARTICLES = parseInt(__ENV.ARTICLES || '1000');
+const WRITE_RATIO = parseFloat(__ENV.WRITE_RATIO || '0.1');
+
+const createLatency = new Trend('comment_create_latency', true);
+const readLatency = new Trend('comment_read_latency', true);
+
+export const options = {
+  vus: parseInt(__ENV.VUS || '200'),
+  duration: __ENV.DURATION || '60s',
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function pickArticle() {
+  // 상위 아티클에 트래픽이 몰리는 분포 (u^3)
+  const rank = Math.floor(Math.pow(Math.random(), 3) * ARTICLES);
+  return `load-article-${rank}`;
+}
+
+export default function () {
+  const articleId = pickArticle();
+  if (Math.random() < WRITE_RATIO) {
+    const res = http.post(
+      `${BASE_URL}/api/comments`,
+      JSON.stringify({
+        articleId,
+        writerId: `load-user-${__VU}`,
+        contents: `부하 테스트 댓글 ${__ITER}`,
+      }),
+      { headers: { 'Content-Type': 'application/json' }, tags: { name: 'create' } },
+    );
+    check(res, { 'create 201': (r) => r.status === 201 });
+    createLatency.add(res.timings.duration);
+  } else {
+    const res = http.get(`${BASE_URL}/api/comments/article/${articleId}?page=0&pageSize=20`, {
+      tags: { name: 'read' },
+    });
+    check(res, { 'read 200': (r) => r.status === 200 });
+    readLatency.add(res.timings.duration);
+  }
+}
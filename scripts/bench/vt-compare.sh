@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# 플랫폼 스레드 vs 가상 스레드: 같은 Hikari 풀 크기에서 생성/조회 처리량과 p99 비교
+#
+# 사용법: DB_POOL_SIZE=20 VUS=400 DURATION=60s ./scripts/bench/vt-compare.sh
+# 필요: k6, jq, 빌드된 jar(./gradlew bootJar), dev 프로필 환경 변수(DATABASE_*, REDIS_*, KAFKA_URL*)
+# 가상 스레드 실행에는 -Djdk.tracePinnedThreads=short 를 붙여 pinning 발생 시 스택을 로그에 남긴다.
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+PORT=${PORT:-8080}
+VUS=${VUS:-400}
+DURATION=${DURATION:-60s}
+export DB_POOL_SIZE=${DB_POOL_SIZE:-20}
+OUT_DIR=${OUT_DIR:-bench-results/vt}
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+
+mkdir -p "$OUT_DIR"
+
+run_mode() {
+  local mode=$1 virtual=$2 jvm_opts=$3
+  echo "== $mode (virtual=$virtual, pool=$DB_POOL_SIZE, vus=$VUS)"
+  VIRTUAL_THREADS_ENABLED=$virtual java $jvm_opts -jar "$JAR" --server.port="$PORT" \
+    >"$OUT_DIR/$mode.log" 2>&1 &
+  local pid=$!
+
+  for _ in $(seq 1 60); do
+    curl -sf "http://localhost:$PORT/health" >/dev/null && break
+    sleep 1
+  done
+
+  # 워밍업 후 측정
+  k6 run -q -e BASE_URL="http://localhost:$PORT" -e VUS="$VUS" -e DURATION=15s \
+    scripts/bench/k6/comment-load.js >/dev/null
+  k6 run -q -e BASE_URL="http://localhost:$PORT" -e VUS="$VUS" -e DURATION="$DURATION" \
+    --summary-export="$OUT_DIR/$mode.json" scripts/bench/k6/comment-load.js >/dev/null
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform false ""
+run_mode virtual true "-Djdk.tracePinnedThreads=short"
+
+printf '%-10s %12s %14s %14s %14s %14s\n' mode "req/s" "create p50" "create p99" "read p50" "read p99"
+for mode in platform virtual; do
+  jq -r --arg mode "$mode" '[
+      $mode,
+      (.metrics.http_reqs.rate | floor),
+      .metrics.comment_create_latency["p(50)"], .metrics.comment_create_latency["p(99)"],
+      .metrics.comment_read_latency["p(50)"], .metrics.comment_read_latency["p(99)"]
+    ] | @tsv' "$OUT_DIR/$mode.json" |
+    awk -F'\t' '{printf "%-10s %12s %12.1fms %12.1fms %12.1fms %12.1fms\n", $1, $2, $3, $4, $5, $6}'
+done
+echo "pinning: $(grep -c 'VirtualThread' "$OUT_DIR/virtual.log" || true) stack lines in $OUT_DIR/virtual.log"
@@ -0,0 +1,61 @@
+package com.teambind.commentserver.dto;
+
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.entity.CommentThreadShape;
+import com.teambind.commentserver.repository.projection.CommentView;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * CommentResponse.from: 엔티티/프로젝션 → 응답 DTO 변환 비용 (스레드 전체 1회 변환 기준)
+ *
+ * <p>엔티티 조회 비용(하이드레이션, 영속성 컨텍스트 등록)은 DB 가 필요하므로 queryBenchmark 의 entity/view 비교에서 본다.
+ *
+ * <p>실행: ./gradlew jmh -Pjmh.includes=CommentResponseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentResponseBenchmark {
+
+  @Param({"ONE_ROOT_5K_REPLIES", "ROOTS_500_SPARSE", "ROOTS_50_DEPTH_2"})
+  private CommentThreadShape shape;
+
+  private List<Comment> rows;
+  private List<CommentView> views;
+
+  @Setup
+  public void setUp() {
+    rows = shape.build();
+    views = CommentThreadShape.views(rows);
+  }
+
+  @Benchmark
+  public void from(Blackhole bh) {
+    for (Comment c : rows) {
+      bh.consume(CommentResponse.from(c));
+    }
+  }
+
+  @Benchmark
+  public void fromView(Blackhole bh) {
+    for (CommentView v : views) {
+      bh.consume(CommentResponse.from(v));
+    }
+  }
+}
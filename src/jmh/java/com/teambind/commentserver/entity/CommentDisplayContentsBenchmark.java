@@ -0,0 +1,65 @@
+package com.teambind.commentserver.entity;
+
+import com.teambind.commentserver.entity.Comment.CommentStatus;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Comment.getDisplayContents: 스레드 전체를 훑으며 상태별 표시 문구를 고르는 비용
+ *
+ * <p>실행: ./gradlew jmh -Pjmh.includes=CommentDisplayContentsBenchmark
+ *
+ * <p>deletedPercent 만큼은 삭제, 나머지 일부는 숨김/검토 중 상태로 섞는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentDisplayContentsBenchmark {
+
+  @Param({"ONE_ROOT_5K_REPLIES", "ROOTS_500_SPARSE", "ROOTS_50_DEPTH_2"})
+  private CommentThreadShape shape;
+
+  @Param({"0", "10"})
+  private int deletedPercent;
+
+  private List<Comment> rows;
+
+  @Setup
+  public void setUp() {
+    rows = shape.build();
+    Random random = new Random(7);
+    for (Comment c : rows) {
+      int roll = random.nextInt(100);
+      if (roll < deletedPercent) {
+        c.markDeleted();
+      } else if (roll < deletedPercent + 2) {
+        c.markHidden();
+      } else if (roll < deletedPercent + 3) {
+        c.setStatus(CommentStatus.PENDING_REVIEW);
+      }
+    }
+  }
+
+  @Benchmark
+  public void displayContents(Blackhole bh) {
+    for (Comment c : rows) {
+      bh.consume(c.getDisplayContents());
+    }
+  }
+}
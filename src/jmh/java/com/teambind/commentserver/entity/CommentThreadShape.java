@@ -0,0 +1,122 @@
+package com.teambind.commentserver.entity;
+
+import com.teambind.commentserver.repository.projection.CommentView;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 아티클 댓글 형태 (실제 트래픽에서 자주 보이는 스레드 모양)
+ *
+ * <p>rows 는 findRootsAndChildrenByRootIds 와 같은 순서(루트별 → depth → createdAt)로 만들어진다.
+ */
+public enum CommentThreadShape {
+  /** 인기 루트 하나에 답글 5,000개 */
+  ONE_ROOT_5K_REPLIES,
+  /** 루트 500개, 루트당 답글 0~3개 */
+  ROOTS_500_SPARSE,
+  /** 루트 50개, 루트당 답글 5개 + 답글당 2뎁스 답글 2개 */
+  ROOTS_50_DEPTH_2;
+
+  private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+  /** 모든 댓글이 ACTIVE 인 스레드를 만든다. (seed 고정) */
+  public List<Comment> build() {
+    Random random = new Random(42);
+    Generator gen = new Generator();
+    List<Comment> rows = new ArrayList<>();
+    switch (this) {
+      case ONE_ROOT_5K_REPLIES -> {
+        Comment root = gen.root();
+        rows.add(root);
+        for (int i = 0; i < 5_000; i++) {
+          rows.add(gen.reply(root));
+        }
+      }
+      case ROOTS_500_SPARSE -> {
+        for (int r = 0; r < 500; r++) {
+          Comment root = gen.root();
+          rows.add(root);
+          int replies = random.nextInt(4);
+          for (int i = 0; i < replies; i++) {
+            rows.add(gen.reply(root));
+          }
+        }
+      }
+      case ROOTS_50_DEPTH_2 -> {
+        for (int r = 0; r < 50; r++) {
+          Comment root = gen.root();
+          rows.add(root);
+          for (int i = 0; i < 5; i++) {
+            Comment reply = gen.reply(root);
+            rows.add(reply);
+            rows.add(gen.reply(reply));
+            rows.add(gen.reply(reply));
+          }
+        }
+      }
+    }
+    rows.sort(
+        Comparator.comparing(Comment::getRootCommentId)
+            .thenComparing(Comment::getDepth)
+            .thenComparing(Comment::getCreatedAt));
+    return rows;
+  }
+
+  /** 루트 id 목록 (최신순, visibleCount 페이지 조회 결과와 같은 순서) */
+  public static List<Long> rootIdsNewestFirst(List<Comment> rows) {
+    return rows.stream()
+        .filter(c -> c.getDepth() == 0)
+        .sorted(Comparator.comparing(Comment::getCreatedAt).reversed())
+        .map(Comment::getCommentId)
+        .toList();
+  }
+
+  /** findRootsAndChildrenViewsByRootIds 가 돌려주는 프로젝션 (ACTIVE 이므로 contents 포함) */
+  public static List<CommentView> views(List<Comment> rows) {
+    return rows.stream()
+        .map(
+            c ->
+                new CommentView(
+                    c.getCommentId(),
+                    c.getArticleId(),
+                    c.getWriterId(),
+                    c.getParentCommentId(),
+                    c.getRootCommentId(),
+                    c.getDepth(),
+                    c.getContents(),
+                    c.getIsDeleted(),
+                    c.getStatus(),
+                    c.getReplyCount(),
+                    c.getCreatedAt(),
+                    c.getUpdatedAt()))
+        .toList();
+  }
+
+  private static final class Generator {
+    private long nextId = 1_000_000L;
+    private long seconds;
+
+    Comment root() {
+      return stamp(Comment.createRoot(nextId++, "bench-article", "user-" + nextId % 97, text()));
+    }
+
+    Comment reply(Comment parent) {
+      parent.addReply();
+      return stamp(Comment.createReply(nextId++, parent, "user-" + nextId % 97, text()));
+    }
+
+    private Comment stamp(Comment c) {
+      Instant createdAt = BASE.plusSeconds(seconds++);
+      c.setCreatedAt(createdAt);
+      c.setUpdatedAt(createdAt);
+      return c;
+    }
+
+    private String text() {
+      return "벤치마크 댓글 본문 " + nextId + " - 평균적인 길이의 한국어 댓글 내용을 흉내 낸 문자열입니다.";
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.dto.CommentResponse;
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.entity.CommentThreadShape;
+import com.teambind.commentserver.repository.CommentRepository;
+import com.teambind.commentserver.repository.projection.CommentView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * getCommentsByArticleByVisibleCount 의 트리 조립 비용 (DB 제외)
+ *
+ * <p>리포지토리는 미리 만든 프로젝션 행을 돌려주는 프록시로 대체하므로 루트 → 자식 매핑, DTO 변환, 응답 리스트 구성만 측정합니다. 페이지 하나가 스레드
+ * 전체를 담도록 pageSize 를 잡는다.
+ *
+ * <p>실행: ./gradlew jmh -Pjmh.includes=CommentTreeAssemblyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentTreeAssemblyBenchmark {
+
+  @Param({"ONE_ROOT_5K_REPLIES", "ROOTS_500_SPARSE", "ROOTS_50_DEPTH_2"})
+  private CommentThreadShape shape;
+
+  private CommentServiceImpl service;
+  private int pageSize;
+
+  @Setup
+  public void setUp() {
+    List<Comment> rows = shape.build();
+    List<Long> rootIds = CommentThreadShape.rootIdsNewestFirst(rows);
+    List<CommentView> views = CommentThreadShape.views(rows);
+    pageSize = rows.size();
+
+    CommentRepository repository =
+        (CommentRepository)
+            Proxy.newProxyInstance(
+                CommentRepository.class.getClassLoader(),
+                new Class<?>[] {CommentRepository.class},
+                (proxy, method, args) ->
+                    switch (method.getName()) {
+                      case "findRootIdsForPage" -> rootIds;
+                      case "findRootsAndChildrenViewsByRootIds" -> views;
+                      default -> throw new UnsupportedOperationException(method.getName());
+                    });
+    ArticlePageIndex disabledIndex =
+        new ArticlePageIndex(
+            repository, new SimpleMeterRegistry(), false, 1, 1, Duration.ZERO, 1, 1);
+    service =
+        new CommentServiceImpl(
+            repository, null, null, null, null, disabledIndex, null, null, null, null);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public List<CommentResponse> assemble_1() {
+    return service.getCommentsByArticleByVisibleCount("bench-article", 0, pageSize);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public List<CommentResponse> assemble_8() {
+    return service.getCommentsByArticleByVisibleCount("bench-article", 0, pageSize);
+  }
+}
@@ -0,0 +1,59 @@
+package com.teambind.commentserver.config;
+
+import java.time.Duration;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+
+/**
+ * 노드 간 캐시 무효화 토픽/리스너 설정 (comment.invalidation)
+ *
+ * <p>키(articleId)별 마지막 메시지만 의미가 있으므로 compact 토픽으로 만들고, 새 노드는 latest 부터 읽으므로 retention 이 지난
+ * 메시지는 지운다(compact,delete). 기동 시 KafkaAdmin 이 없으면 생성한다.
+ *
+ * <p>리스너는 노드마다(기동마다) 새 컨슈머 그룹을 쓰므로 오프셋을 커밋하지 않는다. 기본 컨테이너 팩토리(ack-mode: record)를 쓰면 재시작할
+ * 때마다 커밋된 오프셋을 가진 그룹이 브로커에 쌓이므로, ack 하지 않는 MANUAL 모드 전용 팩토리를 둔다.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+  public static final String LISTENER_CONTAINER_FACTORY = "cacheInvalidationListenerFactory";
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "comment.invalidation.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public NewTopic cacheInvalidationTopic(
+      @Value("${comment.invalidation.topic:comment-cache-invalidation}") String topic,
+      @Value("${comment.invalidation.partitions:3}") int partitions,
+      @Value("${comment.invalidation.replicas:3}") int replicas,
+      @Value("${comment.invalidation.retention:P1D}") Duration retention) {
+    return TopicBuilder.name(topic)
+        .partitions(partitions)
+        .replicas(replicas)
+        .config(
+            TopicConfig.CLEANUP_POLICY_CONFIG,
+            TopicConfig.CLEANUP_POLICY_COMPACT + "," + TopicConfig.CLEANUP_POLICY_DELETE)
+        .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(retention.toMillis()))
+        .build();
+  }
+
+  /** 오프셋을 커밋하지 않는 무효화 리스너 전용 팩토리 (리스너가 ack 하지 않음) */
+  @Bean(LISTENER_CONTAINER_FACTORY)
+  public ConcurrentKafkaListenerContainerFactory<Object, Object> cacheInvalidationListenerFactory(
+      ConsumerFactory<Object, Object> consumerFactory) {
+    ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(consumerFactory);
+    factory.getContainerProperties().setAckMode(AckMode.MANUAL);
+    return factory;
+  }
+}
@@ -0,0 +1,59 @@
+package com.teambind.commentserver.config;
+
+import com.teambind.commentserver.repository.ArticleCommentCountRepository;
+import com.teambind.commentserver.repository.ArticleCommentCountShardRepository;
+import com.teambind.commentserver.service.impl.CommentCountShards;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/** 핫 아티클 댓글 수 샤딩 설정 (comment.count.sharding) */
+@Configuration
+@EnableConfigurationProperties(CommentCountShardingConfig.ShardingProperties.class)
+public class CommentCountShardingConfig {
+
+  @Bean
+  public CommentCountShards commentCountShards(
+      ArticleCommentCountShardRepository shardRepository,
+      ArticleCommentCountRepository countRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      ShardingProperties sharding) {
+    return new CommentCountShards(
+        shardRepository,
+        countRepository,
+        transactionManager,
+        meterRegistry,
+        sharding.enabled(),
+        sharding.articles(),
+        sharding.hotWritesPerSecond(),
+        sharding.writesPerShardPerSecond(),
+        sharding.maxShards(),
+        sharding.coolDown(),
+        sharding.collapseBatchSize());
+  }
+
+  /**
+   * comment.count.sharding
+   *
+   * @param articles articleId -> 샤드 수 (항상 샤딩할 아티클)
+   * @param hotWritesPerSecond 노드 로컬 쓰기 속도가 이 이상이면 샤딩 시작
+   * @param writesPerShardPerSecond 샤드 하나가 감당할 쓰기 속도 (샤드 수 = 속도 / 이 값)
+   * @param coolDown 마지막 핫 판정 이후 샤딩 유지 시간, 샤드가 이 시간 동안 갱신되지 않으면 기본 행으로 합침
+   */
+  @ConfigurationProperties("comment.count.sharding")
+  public record ShardingProperties(
+      boolean enabled,
+      @DefaultValue Map<String, Integer> articles,
+      @DefaultValue("50") double hotWritesPerSecond,
+      @DefaultValue("25") double writesPerShardPerSecond,
+      @DefaultValue("16") int maxShards,
+      @DefaultValue("PT5M") Duration coolDown,
+      @DefaultValue("100") int collapseBatchSize) {}
+}
@@ -0,0 +1,77 @@
+package com.teambind.commentserver.config;
+
+import com.teambind.commentserver.repository.CommentRepository;
+import com.teambind.commentserver.service.FirstCommentGate;
+import com.teambind.commentserver.service.impl.RedisFirstCommentGate;
+import com.teambind.commentserver.service.impl.ResilientFirstCommentGate;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 첫 댓글 게이트 장애 대응 설정 (comment.first-gate.resilience)
+ *
+ * <p>활성화되어 있으면 RedisFirstCommentGate 를 ResilientFirstCommentGate 로 감싼 게이트를 기본 빈으로 등록한다.
+ */
+@Configuration
+@EnableConfigurationProperties(FirstCommentGateConfig.ResilienceProperties.class)
+public class FirstCommentGateConfig {
+
+  @Bean
+  @Primary
+  public FirstCommentGate firstCommentGate(
+      RedisFirstCommentGate redisFirstCommentGate,
+      CommentRepository commentRepository,
+      MeterRegistry meterRegistry,
+      ResilienceProperties resilience) {
+    if (!resilience.enabled()) {
+      return redisFirstCommentGate;
+    }
+    return new ResilientFirstCommentGate(
+        redisFirstCommentGate,
+        commentRepository,
+        meterRegistry,
+        resilience.timeout(),
+        resilience.circuit().windowSize(),
+        resilience.circuit().minimumCalls(),
+        resilience.circuit().failureRateThreshold(),
+        resilience.circuit().openDuration(),
+        resilience.circuit().halfOpenCalls(),
+        resilience.fallback().permitsPerSecond(),
+        resilience.fallback().burst());
+  }
+
+  /**
+   * comment.first-gate.resilience
+   *
+   * @param timeout Redis 판정 1회의 제한 시간
+   */
+  @ConfigurationProperties("comment.first-gate.resilience")
+  public record ResilienceProperties(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("PT0.05S") Duration timeout,
+      @DefaultValue Circuit circuit,
+      @DefaultValue Fallback fallback) {
+
+    /**
+     * @param windowSize 실패율을 계산할 최근 호출 수
+     * @param minimumCalls 실패율을 판단하기 위한 최소 호출 수
+     * @param openDuration OPEN 유지 시간 (이후 halfOpenCalls 건 시험 호출)
+     */
+    public record Circuit(
+        @DefaultValue("50") int windowSize,
+        @DefaultValue("20") int minimumCalls,
+        @DefaultValue("0.5") double failureRateThreshold,
+        @DefaultValue("PT10S") Duration openDuration,
+        @DefaultValue("3") int halfOpenCalls) {}
+
+    /** DB 폴백(COUNT 쿼리) 허용량 */
+    public record Fallback(
+        @DefaultValue("20") double permitsPerSecond, @DefaultValue("40") int burst) {}
+  }
+}
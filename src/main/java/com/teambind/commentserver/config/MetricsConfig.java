@@ -0,0 +1,63 @@
+package com.teambind.commentserver.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 메트릭 설정 (Prometheus 노출)
+ *
+ * <p>http.server.requests 에 엔드포인트(uri 태그)별 SLO 버킷을 붙인다. 엔드포인트가 설정에 없으면 defaults 를 사용한다.
+ * 서비스/리포지토리/Redis/Kafka 타이머의 히스토그램은 management.metrics.distribution 설정으로 켠다.
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsConfig.SloProperties.class)
+public class MetricsConfig {
+
+  private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+  @Bean
+  public MeterFilter endpointSloMeterFilter(SloProperties slo) {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(
+          Meter.Id id, DistributionStatisticConfig config) {
+        if (!HTTP_SERVER_REQUESTS.equals(id.getName())) {
+          return config;
+        }
+        List<Duration> buckets = slo.bucketsFor(id.getTag("uri"));
+        if (buckets.isEmpty()) {
+          return config;
+        }
+        return DistributionStatisticConfig.builder()
+            .serviceLevelObjectives(buckets.stream().mapToDouble(Duration::toNanos).toArray())
+            .build()
+            .merge(config);
+      }
+    };
+  }
+
+  /**
+   * comment.metrics.slo
+   *
+   * @param defaults 설정에 없는 엔드포인트에 쓰는 SLO 버킷
+   * @param endpoints uri 패턴(예: /api/comments/article/{articleId}) -> SLO 버킷
+   */
+  @ConfigurationProperties("comment.metrics.slo")
+  public record SloProperties(List<Duration> defaults, Map<String, List<Duration>> endpoints) {
+
+    List<Duration> bucketsFor(String uri) {
+      if (uri != null && endpoints != null && endpoints.containsKey(uri)) {
+        return endpoints.get(uri);
+      }
+      return defaults == null ? List.of() : defaults;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.teambind.commentserver.config;
+
+import com.teambind.commentserver.utils.primarykey.InMemoryNodeIdLeaseStore;
+import com.teambind.commentserver.utils.primarykey.JdbcNodeIdLeaseStore;
+import com.teambind.commentserver.utils.primarykey.NodeIdLeaseManager;
+import com.teambind.commentserver.utils.primarykey.RedisNodeIdLeaseStore;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Snowflake 노드 ID 임대 설정
+ *
+ * <p>comment.snowflake.lease.store:
+ * - redis (기본): DB 테이블과 Redis SETNX 에 함께 임대. DB 임대는 필수, Redis 는 닿을 때만 기록/확인
+ * - jdbc: DB 테이블(snowflake_node_leases)만 사용
+ * - memory: 프로세스 내 임대 (테스트/로컬 단일 노드)
+ */
+@Configuration
+public class NodeIdLeaseConfig {
+
+  @Bean
+  public NodeIdLeaseManager nodeIdLeaseManager(
+      @Value("${comment.snowflake.lease.store:redis}") String store,
+      @Value("${comment.snowflake.lease.ttl:PT30S}") Duration ttl,
+      ObjectProvider<StringRedisTemplate> redisTemplate,
+      ObjectProvider<JdbcTemplate> jdbcTemplate) {
+    Clock clock = Clock.systemUTC();
+    return switch (store) {
+      case "memory" -> new NodeIdLeaseManager(new InMemoryNodeIdLeaseStore(clock), null, ttl);
+      case "jdbc" ->
+          new NodeIdLeaseManager(
+              new JdbcNodeIdLeaseStore(jdbcTemplate.getObject(), clock), null, ttl);
+      case "redis" ->
+          new NodeIdLeaseManager(
+              new JdbcNodeIdLeaseStore(jdbcTemplate.getObject(), clock),
+              new RedisNodeIdLeaseStore(redisTemplate.getObject()),
+              ttl);
+      default ->
+          throw new IllegalArgumentException("Unknown comment.snowflake.lease.store: " + store);
+    };
+  }
+}
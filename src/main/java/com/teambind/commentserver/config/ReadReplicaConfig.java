@@ -0,0 +1,115 @@
+package com.teambind.commentserver.config;
+
+import com.teambind.commentserver.utils.datasource.ReadYourWrites;
+import com.teambind.commentserver.utils.datasource.ReplicaNode;
+import com.teambind.commentserver.utils.datasource.ReplicaRoutingDataSource;
+import com.teambind.commentserver.utils.datasource.ReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * 읽기 복제본 라우팅 설정 (comment.datasource.replicas.enabled=true 일 때만)
+ *
+ * <p>spring.datasource(.hikari) 로 primary 풀을 만들고, 복제본마다 별도 Hikari 풀을 둔다. JPA/JdbcTemplate 이 쓰는
+ * dataSource 는 LazyConnectionDataSourceProxy(ReplicaRoutingDataSource) 이다. 비활성이면 Boot 기본 DataSource
+ * 하나만 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "comment.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaConfig.ReplicaProperties.class)
+public class ReadReplicaConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      DataSourceProperties primaryProperties,
+      ReplicaProperties replicas,
+      ReadYourWrites readYourWrites,
+      MeterRegistry meterRegistry) {
+    List<ReplicaNode> nodes =
+        replicas.nodes().stream()
+            .map(n -> new ReplicaNode(n.name(), replicaPool(n, primaryProperties)))
+            .toList();
+    ReplicaRoutingDataSource routing =
+        new ReplicaRoutingDataSource(
+            primaryDataSource,
+            nodes,
+            replicas.selection(),
+            readYourWrites,
+            replicas.maxLag(),
+            StringUtils.hasText(replicas.lagQuery()) ? replicas.lagQuery() : null,
+            meterRegistry);
+    // 첫 상태 확인 전에는 모든 복제본이 제외되므로 기동 시 한 번 확인해 둔다
+    routing.checkReplicas();
+    return routing;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+
+  private static HikariDataSource replicaPool(
+      ReplicaProperties.Node node, DataSourceProperties primary) {
+    HikariDataSource pool = new HikariDataSource();
+    pool.setPoolName("replica-" + node.name());
+    pool.setJdbcUrl(node.url());
+    pool.setUsername(node.username() != null ? node.username() : primary.determineUsername());
+    pool.setPassword(node.password() != null ? node.password() : primary.determinePassword());
+    pool.setDriverClassName(primary.determineDriverClassName());
+    pool.setMaximumPoolSize(node.maximumPoolSize());
+    pool.setReadOnly(true);
+    pool.setConnectionTimeout(node.connectionTimeout().toMillis());
+    // 복제본이 내려가 있어도 기동은 되도록 풀 초기화 실패를 무시한다 (상태 확인에서 제외됨)
+    pool.setInitializationFailTimeout(-1);
+    return pool;
+  }
+
+  /**
+   * comment.datasource.replicas
+   *
+   * @param selection 복제본 선택 방식
+   * @param maxLag 이보다 지연된 복제본은 라우팅에서 제외
+   * @param lagQuery 복제 지연(초)을 돌려주는 쿼리. 비우면 SHOW SLAVE STATUS 의 Seconds_Behind_Master
+   */
+  @ConfigurationProperties("comment.datasource.replicas")
+  public record ReplicaProperties(
+      boolean enabled,
+      @DefaultValue("round-robin") ReplicaSelection selection,
+      @DefaultValue("PT2S") Duration maxLag,
+      String lagQuery,
+      @DefaultValue List<Node> nodes) {
+
+    /** username/password 를 비우면 primary 계정을 사용 */
+    public record Node(
+        String name,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("PT1S") Duration connectionTimeout) {}
+  }
+}
@@ -0,0 +1,9 @@
+package com.teambind.commentserver.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** 백그라운드 작업(write-behind flush 등)을 위한 스케줄링 활성화 설정 */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
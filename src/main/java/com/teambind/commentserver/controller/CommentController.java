@@ -1,5 +1,11 @@
 package com.teambind.commentserver.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.teambind.commentserver.dto.BulkCreateCommentsRequest;
+import com.teambind.commentserver.dto.BulkCreateCommentsResponse;
 import com.teambind.commentserver.dto.CommentResponse;
 import com.teambind.commentserver.dto.CreateReplyRequest;
 import com.teambind.commentserver.dto.CreateRootCommentRequest;
@@ -7,13 +13,28 @@ import com.teambind.commentserver.dto.UpdateCommentRequest;
 import com.teambind.commentserver.entity.Comment;
 import com.teambind.commentserver.exceptions.CustomException;
 import com.teambind.commentserver.exceptions.ErrorCode;
+import com.teambind.commentserver.service.CommentBulkIngestService;
 import com.teambind.commentserver.service.CommentService;
+import com.teambind.commentserver.service.impl.ArticlePageCache;
+import com.teambind.commentserver.utils.datasource.ReadYourWrites;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.zip.GZIPInputStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -21,6 +42,10 @@ import org.springframework.web.bind.annotation.*;
 public class CommentController {
 
   private final CommentService commentService;
+  private final CommentBulkIngestService commentBulkIngestService;
+  private final ObjectMapper objectMapper;
+  private final ArticlePageCache articlePageCache;
+  private final ReadYourWrites readYourWrites;
 
   // 루트 댓글 생성
   @PostMapping
@@ -39,24 +64,77 @@ public class CommentController {
     return ResponseEntity.status(HttpStatus.CREATED).body(CommentResponse.from(saved));
   }
 
+  // 벌크 등록 (마이그레이션/백업 재적재용): 항목별 결과를 요청 순서대로 반환
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkCreateCommentsResponse> createBulk(
+      @Valid @RequestBody BulkCreateCommentsRequest req) {
+    return ResponseEntity.ok(commentBulkIngestService.ingest(req.getItems()));
+  }
+
   // 특정 아티클의 삭제되지 않은 전체 댓글 조회
   @GetMapping("/article/{articleId}")
-  public ResponseEntity<List<CommentResponse>> getByArticle(
+  public ResponseEntity<?> getByArticle(
       @PathVariable String articleId,
       @RequestParam(value = "page", required = false, defaultValue = "0") int page,
       @RequestParam(value = "pageSize", required = false, defaultValue = "10") int pageSize,
-      @RequestParam(value = "mode", required = false, defaultValue = "visibleCount") String mode) {
+      @RequestParam(value = "mode", required = false, defaultValue = "visibleCount") String mode,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      WebRequest webRequest,
+      HttpServletResponse response)
+      throws IOException {
     /*
     mode:
       - "visibleCount" (기본) : 루트 단위로 화면에 표시되는 댓글 수(루트+자식 합)를 pageSize로 페이징.
-      - "all" : 기존 방식으로 모든 댓글을 룩업해 반환 (기존 getAllCommentsByArticle 동작).
+      - "cursor" : visibleCount 와 같은 경계를 커서로 이어서 조회 (윈도우 쿼리 없음). 응답의 nextCursor 를 다음 요청의 cursor 로 전달.
+      - "all" : 모든 댓글을 반환. 목록을 메모리에 올리지 않고 JSON 배열을 스트리밍으로 쓴다.
+    모든 mode 가 아티클 버전을 ETag 로 쓰므로, 변경이 없으면 목록 쿼리 없이 304 를 반환한다.
+    visibleCount 의 앞쪽 페이지는 버전별로 직렬화해 둔 바이트(ArticlePageCache)를 그대로 쓴다.
     */
+    OptionalLong version = commentService.getArticleVersion(articleId);
+    boolean visibleCount = !"cursor".equalsIgnoreCase(mode) && !"all".equalsIgnoreCase(mode);
+    boolean pageCached =
+        visibleCount && version.isPresent() && articlePageCache.isCacheable(page, pageSize);
+    boolean gzipped = pageCached && articlePageCache.isGzip() && acceptsGzip(acceptEncoding);
+    if (pageCached && articlePageCache.isGzip()) {
+      response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+    if (isNotModified(version, gzipped, webRequest)) {
+      return null;
+    }
+    if ("cursor".equalsIgnoreCase(mode)) {
+      return ResponseEntity.ok(
+          commentService.getCommentsByArticleByCursor(articleId, cursor, pageSize));
+    }
+
     if ("all".equalsIgnoreCase(mode)) {
-      List<CommentResponse> list =
-          commentService.getAllCommentsByArticle(articleId).stream()
-              .map(CommentResponse::from)
-              .toList();
-      return ResponseEntity.ok(list);
+      // 본문은 MVC 비동기 스레드에서 쓰므로 요청 사용자를 넘겨 read-your-writes 라우팅을 유지한다
+      String requester = readYourWrites.getRequester();
+      StreamingResponseBody body =
+          out -> {
+            readYourWrites.setRequester(requester);
+            try {
+              writeAllComments(articleId, out);
+            } finally {
+              readYourWrites.clearRequester();
+            }
+          };
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    if (pageCached) {
+      byte[] body =
+          articlePageCache.get(
+              articleId,
+              version.getAsLong(),
+              page,
+              pageSize,
+              () ->
+                  serialize(
+                      commentService.getCommentsByArticleByVisibleCount(
+                          articleId, page, pageSize)));
+      writeCachedPage(body, gzipped, response);
+      return null;
     }
 
     // 기본: visibleCount 방식 (네이티브 윈도우 기반 페이징 사용)
@@ -68,27 +146,27 @@ public class CommentController {
   // 특정 부모 댓글의 자식(대댓글) 조회
   @GetMapping("/{parentId}/replies")
   public ResponseEntity<List<CommentResponse>> getReplies(@PathVariable String parentId) {
-    List<CommentResponse> list =
-        commentService.getRepliesByParent(parentId).stream().map(CommentResponse::from).toList();
-    return ResponseEntity.ok(list);
+    return ResponseEntity.ok(commentService.getReplyViewsByParent(parentId));
   }
 
   // 루트 댓글 기준 스레드 전체 조회
   @GetMapping("/thread/{rootId}")
-  public ResponseEntity<List<CommentResponse>> getThread(@PathVariable String rootId) {
-    List<CommentResponse> list =
-        commentService.getThreadByRoot(rootId).stream().map(CommentResponse::from).toList();
-    return ResponseEntity.ok(list);
+  public ResponseEntity<List<CommentResponse>> getThread(
+      @PathVariable String rootId, WebRequest webRequest) {
+    if (isNotModified(commentService.getThreadVersion(rootId), false, webRequest)) {
+      return null;
+    }
+    return ResponseEntity.ok(commentService.getThreadViewByRoot(rootId));
   }
 
   // 단건 조회
   @GetMapping("/{id}")
   public ResponseEntity<CommentResponse> getById(@PathVariable String id) {
-    Comment c =
+    CommentResponse c =
         commentService
-            .getById(id)
+            .getViewById(id)
             .orElseThrow(() -> new CustomException(ErrorCode.COMMENT_NOT_FOUND));
-    return ResponseEntity.ok(CommentResponse.from(c));
+    return ResponseEntity.ok(c);
   }
 
   // 내용 수정
@@ -106,4 +184,72 @@ public class CommentController {
     commentService.softDelete(id, writerId);
     return ResponseEntity.noContent().build();
   }
+
+  /**
+   * 조회 버전으로 If-None-Match / If-Modified-Since 를 확인한다. 변경이 없으면 true 이고 304 응답은 checkNotModified 가
+   * 설정한다 (핸들러는 null 반환). 변경이 있으면 ETag, Last-Modified 헤더만 미리 붙이고 본문은 핸들러가 쓴다.
+   *
+   * <p>버전이 없으면(비활성, Redis 장애, 변경 직후) 조건부 처리 없이 항상 본문을 쓴다. 변경 직후의 기준(settle)은 복제본
+   * 지연 상한보다 길게 강제되므로, 발급한 ETag 의 본문은 복제본에서 읽었어도 해당 버전의 쓰기를 포함한다.
+   */
+  private static boolean isNotModified(
+      OptionalLong version, boolean gzipped, WebRequest webRequest) {
+    if (version.isEmpty()) {
+      return false;
+    }
+    long v = version.getAsLong();
+    // 강한 ETag: 같은 버전이면 직렬화 결과도 같다 (gzip 본문은 표현이 다르므로 별도 ETag).
+    // 버전은 마지막 쓰기 시각(ms) 이상이므로 Last-Modified 로도 쓴다
+    return webRequest.checkNotModified("\"" + v + (gzipped ? "-gzip" : "") + "\"", v);
+  }
+
+  /** 캐시된 페이지 바이트를 응답 스트림에 그대로 쓴다. 캐시가 gzip 인데 클라이언트가 받지 않으면 풀어서 쓴다. */
+  private void writeCachedPage(byte[] body, boolean gzipped, HttpServletResponse response)
+      throws IOException {
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    if (articlePageCache.isGzip() && !gzipped) {
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+        in.transferTo(response.getOutputStream());
+      }
+      return;
+    }
+    if (gzipped) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  private byte[] serialize(List<CommentResponse> comments) {
+    try {
+      return objectMapper.writeValueAsBytes(comments);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static boolean acceptsGzip(String acceptEncoding) {
+    return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+  }
+
+  /** 아티클의 전체 댓글을 DB 커서에서 읽는 대로 JSON 배열 원소로 써 내려간다. */
+  private void writeAllComments(String articleId, OutputStream out) throws IOException {
+    // 원소마다 flush 하지 않도록 하고 버퍼가 찰 때만 내보낸다
+    ObjectWriter writer =
+        objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+      gen.writeStartArray();
+      commentService.streamAllCommentsByArticle(
+          articleId,
+          c -> {
+            try {
+              writer.writeValue(gen, CommentResponse.from(c));
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+      gen.writeEndArray();
+    }
+  }
 }
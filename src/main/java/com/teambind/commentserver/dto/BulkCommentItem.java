@@ -0,0 +1,31 @@
+package com.teambind.commentserver.dto;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 벌크 등록 항목 (불변 객체)
+ *
+ * <p>부모 지정 방식은 셋 중 하나입니다.
+ * - 루트 댓글: articleId
+ * - 기존 댓글의 답글: parentCommentId
+ * - 같은 요청 안의 앞선 항목에 대한 답글: parentClientRef (부모 항목의 clientRef)
+ *
+ * <p>항목별 검증 실패는 요청 전체를 거절하지 않고 결과에 기록하므로 Bean Validation 대신 서비스에서 검증합니다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCommentItem {
+  private String clientRef; // 요청 안에서 항목을 가리키는 클라이언트 키 (선택)
+  private String articleId;
+  private String parentCommentId;
+  private String parentClientRef;
+  private String writerId;
+  private String contents;
+  private Instant createdAt; // 원본 작성 시각 (마이그레이션/복구용, 없으면 현재 시각)
+}
@@ -0,0 +1,22 @@
+package com.teambind.commentserver.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 댓글 벌크 등록 요청 DTO (불변 객체)
+ *
+ * <p>답글이 같은 요청의 부모를 참조하는 경우 부모 항목이 먼저 와야 합니다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateCommentsRequest {
+  @NotEmpty(message = "items는 비어 있을 수 없습니다.")
+  private List<BulkCommentItem> items;
+}
@@ -0,0 +1,17 @@
+package com.teambind.commentserver.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/** 댓글 벌크 등록 응답: 전체 요약 + 항목별 결과 (요청 순서) */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BulkCreateCommentsResponse {
+  private int requested;
+  private int succeeded;
+  private int failed;
+  private List<BulkItemResult> results;
+}
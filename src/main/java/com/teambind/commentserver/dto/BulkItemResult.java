@@ -0,0 +1,38 @@
+package com.teambind.commentserver.dto;
+
+import com.teambind.commentserver.exceptions.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/** 벌크 등록 항목별 결과 */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BulkItemResult {
+  private int index; // 요청 items 의 순번 (0-based)
+  private String clientRef;
+  private boolean success;
+  private String commentId; // 성공 시 발급된 댓글 id
+  private String errCode; // 실패 시 에러 코드
+  private String message; // 실패 시 메시지
+
+  public static BulkItemResult success(int index, String clientRef, Long commentId) {
+    return BulkItemResult.builder()
+        .index(index)
+        .clientRef(clientRef)
+        .success(true)
+        .commentId(String.valueOf(commentId))
+        .build();
+  }
+
+  public static BulkItemResult failure(int index, String clientRef, ErrorCode errorCode) {
+    return BulkItemResult.builder()
+        .index(index)
+        .clientRef(clientRef)
+        .success(false)
+        .errCode(errorCode.getErrCode())
+        .message(errorCode.getMessage())
+        .build();
+  }
+}
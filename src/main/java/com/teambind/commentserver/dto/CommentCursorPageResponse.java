@@ -0,0 +1,20 @@
+package com.teambind.commentserver.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 커서 기반 댓글 페이지 응답
+ *
+ * <p>nextCursor 는 클라이언트가 그대로 다음 요청에 전달하는 불투명 문자열입니다. 마지막 페이지이면 null 입니다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CommentCursorPageResponse {
+  private List<CommentResponse> comments;
+  private String nextCursor;
+  private boolean hasNext;
+}
@@ -1,6 +1,7 @@
 package com.teambind.commentserver.dto;
 
 import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.repository.projection.CommentView;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -43,11 +44,11 @@ public class CommentResponse {
 	 */
 	public static CommentResponse from(Comment c) {
 		return CommentResponse.builder()
-				.commentId(c.getCommentId())
+				.commentId(idOf(c.getCommentId()))
 				.articleId(c.getArticleId())
 				.writerId(c.getWriterId())
-				.parentCommentId(c.getParentCommentId())
-				.rootCommentId(c.getRootCommentId())
+				.parentCommentId(idOf(c.getParentCommentId()))
+				.rootCommentId(idOf(c.getRootCommentId()))
 				.depth(c.getDepth())
 				.contents(c.getDisplayContents()) // 도메인 로직 위임
 				.replyCount(c.getReplyCount())
@@ -58,6 +59,33 @@ public class CommentResponse {
 				.build();
 	}
 	
+	/**
+	 * 조회용 프로젝션으로부터 CommentResponse DTO를 생성합니다. (엔티티를 거치지 않음)
+	 *
+	 * @param v CommentView 프로젝션
+	 * @return CommentResponse DTO
+	 */
+	public static CommentResponse from(CommentView v) {
+		return CommentResponse.builder()
+				.commentId(idOf(v.commentId()))
+				.articleId(v.articleId())
+				.writerId(v.writerId())
+				.parentCommentId(idOf(v.parentCommentId()))
+				.rootCommentId(idOf(v.rootCommentId()))
+				.depth(v.depth())
+				.contents(v.displayContents())
+				.replyCount(v.replyCount())
+				.createdAt(v.createdAt())
+				.replies(new ArrayList<>())
+				.isEdited(v.isEdited())
+				.visible(Boolean.TRUE) // 트리 구조 유지를 위해 모든 댓글 노출 (Comment#isVisibleInTree)
+				.build();
+	}
+	
+	// 댓글 id 는 BIGINT 로 저장되지만 API 에서는 문자열로 노출 (JS 정밀도 손실 방지)
+	private static String idOf(Long id) {
+		return id == null ? null : String.valueOf(id);
+	}
 	
 	// 편의 alias: 기존 코드가 from(...)를 사용하지 않을 경우를 대비
 	public static CommentResponse fromEntity(Comment c) {
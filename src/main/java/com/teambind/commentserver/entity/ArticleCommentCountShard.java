@@ -0,0 +1,47 @@
+package com.teambind.commentserver.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import lombok.*;
+
+/**
+ * article_comment_count_shards 테이블 매핑 엔티티 (핫 아티클 댓글 수 샤드)
+ *
+ * <p>쓰기가 몰리는 아티클은 article_comment_counts 단일 행 대신 (article_id, shard) 행 중 하나에 delta 를 더해 행 락 경합을
+ * 나눕니다. 아티클의 댓글 수는 article_comment_counts.comment_count + SUM(shard.comment_count) 이며, 샤드 값은 음수일
+ * 수 있습니다. 식으면 샤드는 기본 행으로 합쳐지고 삭제됩니다. comment_count 보조 인덱스를 두지 않아 증가마다 인덱스를 다시 쓰지
+ * 않습니다.
+ */
+@Entity
+@Table(name = "article_comment_count_shards")
+@IdClass(ArticleCommentCountShard.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ArticleCommentCountShard {
+
+  @Id
+  @Column(name = "article_id", length = 100, nullable = false)
+  private String articleId;
+
+  @Id
+  @Column(name = "shard", nullable = false)
+  private Integer shard; // 1..N (0 은 article_comment_counts 기본 행)
+
+  @Column(name = "comment_count", nullable = false)
+  private Integer commentCount;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @Getter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private String articleId;
+    private Integer shard;
+  }
+}
@@ -26,6 +26,10 @@ import lombok.*;
       @Index(
           name = "idx_comment_article_depth_status",
           columnList = "article_id, depth, is_deleted, status"),
+      // 커서 페이지네이션(루트 범위 스캔) 최적화
+      @Index(
+          name = "idx_comment_article_depth_created",
+          columnList = "article_id, depth, created_at, comment_id"),
       // 게시글의 활성 댓글 카운트 쿼리 최적화
       @Index(
           name = "idx_comment_article_status_deleted",
@@ -39,9 +43,10 @@ import lombok.*;
 public class Comment {
 
   // 불변 필드: 생성 후 변경하지 말 것 (setter는 JPA/테스트용)
+  // 댓글 id 는 Snowflake long 을 BIGINT 로 저장 (API 에서는 문자열로 주고받음)
   @Id
-  @Column(name = "comment_id", length = 100, nullable = false)
-  private String commentId;
+  @Column(name = "comment_id", nullable = false)
+  private Long commentId;
 
   @Column(name = "article_id", length = 100, nullable = false)
   private String articleId; // 외부 Article 서비스 id
@@ -49,11 +54,11 @@ public class Comment {
   @Column(name = "writer_id", length = 100, nullable = false)
   private String writerId; // 외부 User 서비스 id
 
-  @Column(name = "parent_comment_id", length = 100)
-  private String parentCommentId; // 부모 댓글 id (null이면 최상위)
+  @Column(name = "parent_comment_id")
+  private Long parentCommentId; // 부모 댓글 id (null이면 최상위)
 
-  @Column(name = "root_comment_id", length = 100)
-  private String rootCommentId; // 스레드 루트 id (self 또는 최상위 id)
+  @Column(name = "root_comment_id")
+  private Long rootCommentId; // 스레드 루트 id (self 또는 최상위 id)
 
   @Column(name = "depth", nullable = false)
   @Builder.Default
@@ -99,7 +104,7 @@ public class Comment {
    * @throws IllegalArgumentException contents가 null이거나 blank인 경우
    */
   public static Comment createRoot(
-      String commentId, String articleId, String writerId, String contents) {
+      Long commentId, String articleId, String writerId, String contents) {
     Objects.requireNonNull(commentId, "commentId must not be null");
     Objects.requireNonNull(articleId, "articleId must not be null");
     Objects.requireNonNull(writerId, "writerId must not be null");
@@ -127,14 +132,14 @@ public class Comment {
    * @throws IllegalArgumentException parent가 null이거나 contents가 null/blank인 경우
    */
   public static Comment createReply(
-      String commentId, Comment parent, String writerId, String contents) {
+      Long commentId, Comment parent, String writerId, String contents) {
     Objects.requireNonNull(commentId, "commentId must not be null");
     Objects.requireNonNull(parent, "parent comment must not be null");
     Objects.requireNonNull(writerId, "writerId must not be null");
     validateContents(contents);
 
     Integer parentDepth = parent.getDepth() != null ? parent.getDepth() : 0;
-    String rootId =
+    Long rootId =
         parent.getRootCommentId() != null
             ? parent.getRootCommentId()
             : parent.getCommentId();
@@ -242,7 +247,12 @@ public class Comment {
    * @return 수정되었으면 true, 아니면 false
    */
   public boolean isEdited() {
-    return this.updatedAt != null && !this.updatedAt.equals(this.createdAt);
+    return isEdited(this.createdAt, this.updatedAt);
+  }
+
+  /** 엔티티 없이(프로젝션) 수정 여부를 판단할 때 사용 */
+  public static boolean isEdited(Instant createdAt, Instant updatedAt) {
+    return updatedAt != null && !updatedAt.equals(createdAt);
   }
 
   /**
@@ -253,14 +263,19 @@ public class Comment {
    * @return 표시할 댓글 내용
    */
   public String getDisplayContents() {
+    return displayContents(this.isDeleted, this.status, this.contents);
+  }
+
+  /** 엔티티 없이(프로젝션) 표시 내용을 만들 때 사용. 규칙은 {@link #getDisplayContents()} 와 같다. */
+  public static String displayContents(Boolean isDeleted, CommentStatus status, String contents) {
     // 삭제된 댓글인 경우
-    if (Boolean.TRUE.equals(this.isDeleted)) {
+    if (Boolean.TRUE.equals(isDeleted)) {
       return "삭제된 댓글입니다.";
     }
 
     // 상태에 따라 다른 메시지 반환
-    return switch (this.status) {
-      case ACTIVE -> this.contents;
+    return switch (status) {
+      case ACTIVE -> contents;
       case HIDDEN -> "숨김 처리된 댓글입니다.";
       case BANNED -> "제재된 댓글입니다.";
       case PENDING_REVIEW -> "검토 중인 댓글입니다.";
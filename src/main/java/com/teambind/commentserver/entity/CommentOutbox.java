@@ -0,0 +1,51 @@
+package com.teambind.commentserver.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.*;
+
+/**
+ * comment_outbox 테이블 매핑 엔티티 (트랜잭셔널 아웃박스)
+ *
+ * <p>도메인 이벤트는 댓글 변경과 같은 트랜잭션에서 이 테이블에 기록되고, OutboxRelay 가 배치로 Kafka 에 발행한 뒤 삭제합니다.
+ * id(AUTO_INCREMENT) 순서가 곧 발행 순서입니다.
+ *
+ * <p>claimed_until 은 릴레이가 행을 가져간 뒤 트랜잭션 밖에서 발행하는 동안 다른 릴레이가 건너뛰도록 하는 임대 시각입니다.
+ */
+@Entity
+@Table(
+    name = "comment_outbox",
+    indexes = {@Index(name = "idx_outbox_created", columnList = "created_at")})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class CommentOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id")
+  private Long id;
+
+  @Column(name = "topic", length = 100, nullable = false)
+  private String topic;
+
+  @Column(name = "message_key", length = 100, nullable = false)
+  private String messageKey; // 파티션 키 (articleId): 같은 아티클 이벤트의 순서 보장
+
+  @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+  private String payload; // 직렬화된 이벤트 JSON
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "claimed_until")
+  private Instant claimedUntil; // 발행 중인 릴레이의 임대 만료 시각 (null 이면 대기)
+
+  @PrePersist
+  public void prePersist() {
+    if (this.createdAt == null) {
+      this.createdAt = Instant.now();
+    }
+  }
+}
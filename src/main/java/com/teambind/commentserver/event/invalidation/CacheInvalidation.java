@@ -0,0 +1,13 @@
+package com.teambind.commentserver.event.invalidation;
+
+import java.util.List;
+
+/**
+ * 노드 로컬 캐시 무효화 메시지 (comment-cache-invalidation 토픽, 키: articleId)
+ *
+ * @param rootCommentIds 변경된 스레드의 루트 id (루트 생성만 있으면 비어 있음)
+ * @param version 아티클 조회 버전 (CommentReadVersions, 없으면 발행 시각 ms). 같은 아티클 메시지를 병합하면 최댓값
+ * @param origin 발행 노드 인스턴스 id. 자기 메시지는 무시한다
+ */
+public record CacheInvalidation(
+    String articleId, List<Long> rootCommentIds, long version, String origin) {}
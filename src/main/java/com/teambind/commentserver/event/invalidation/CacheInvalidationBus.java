@@ -0,0 +1,222 @@
+package com.teambind.commentserver.event.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teambind.commentserver.config.CacheInvalidationConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 간 로컬 캐시 무효화 버스 (Kafka compact 토픽)
+ *
+ * <p>nginx 라운드 로빈 뒤의 여러 노드는 서로의 쓰기를 보지 못하므로, 쓰기 커밋 이후 (articleId, rootCommentIds, version) 을
+ * 발행하고 모든 노드가 소비해 노드 로컬 캐시(CacheInvalidationListener)를 지운다.
+ *
+ * <p>동작:
+ * - 발행: 커밋 이후 publish 는 메모리에 아티클 단위로 병합만 하고, coalesce-window-ms 마다 아티클당 메시지 1건으로 보낸다
+ *   (루트 id 합집합, 버전 최댓값). 키가 articleId 라 compact 토픽에는 아티클별 마지막 메시지만 남는다
+ * - 소비: 노드마다 고유 컨슈머 그룹으로 모든 메시지를 받고(latest 부터), 자기 노드가 보낸 메시지는 무시한다.
+ *   오프셋은 필요 없으므로 커밋하지 않는다 (재시작마다 생기는 그룹에 오프셋이 쌓이지 않도록)
+ *
+ * <p>최선 노력 전달이다. 발행 실패나 재시작 중 놓친 메시지는 각 캐시의 TTL/정합성 검사로 회복되며, 조회 버전을 키로 쓰는 캐시는
+ * 무효화 메시지 없이도 낡은 값을 돌려주지 않는다.
+ *
+ * <p>지표: comment.invalidation.published, .coalesced, .failed, .received{result}
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements AutoCloseable {
+
+  static final String LISTENER_ID = "comment-cache-invalidation";
+
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final ObjectMapper objectMapper;
+  private final List<CacheInvalidationListener> listeners;
+  private final boolean enabled;
+  private final String topic;
+  private final String origin = UUID.randomUUID().toString();
+  private final ReentrantLock lock = new ReentrantLock();
+  private Map<String, Pending> pending = new LinkedHashMap<>();
+  private final Counter publishedCounter;
+  private final Counter coalescedCounter;
+  private final Counter failedCounter;
+  private final Counter appliedCounter;
+  private final Counter selfCounter;
+  private final Counter invalidCounter;
+
+  public CacheInvalidationBus(
+      KafkaTemplate<String, Object> kafkaTemplate,
+      ObjectMapper objectMapper,
+      List<CacheInvalidationListener> listeners,
+      MeterRegistry meterRegistry,
+      @Value("${comment.invalidation.enabled:true}") boolean enabled,
+      @Value("${comment.invalidation.topic:comment-cache-invalidation}") String topic) {
+    this.kafkaTemplate = kafkaTemplate;
+    this.objectMapper = objectMapper;
+    this.listeners = List.copyOf(listeners);
+    this.enabled = enabled;
+    this.topic = topic;
+    this.publishedCounter =
+        Counter.builder("comment.invalidation.published")
+            .description("발행한 캐시 무효화 메시지 수")
+            .register(meterRegistry);
+    this.coalescedCounter =
+        Counter.builder("comment.invalidation.coalesced")
+            .description("발행 전에 같은 아티클 메시지로 병합된 무효화 수")
+            .register(meterRegistry);
+    this.failedCounter =
+        Counter.builder("comment.invalidation.failed")
+            .description("발행에 실패한 캐시 무효화 메시지 수")
+            .register(meterRegistry);
+    this.appliedCounter = receivedCounter(meterRegistry, "applied");
+    this.selfCounter = receivedCounter(meterRegistry, "self");
+    this.invalidCounter = receivedCounter(meterRegistry, "invalid");
+  }
+
+  /** 커밋 이후 호출. 다음 flush 때 아티클당 1건으로 병합해 발행한다. */
+  public void publish(String articleId, Collection<Long> rootCommentIds, long version) {
+    if (!enabled) {
+      return;
+    }
+    lock.lock();
+    try {
+      Pending existing = pending.get(articleId);
+      if (existing == null) {
+        pending.put(articleId, new Pending(new LinkedHashSet<>(rootCommentIds), version));
+        return;
+      }
+      existing.rootCommentIds.addAll(rootCommentIds);
+      existing.version = Math.max(existing.version, version);
+      coalescedCounter.increment();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** 병합된 무효화를 발행한다. 전송은 비동기이며 ack 를 기다리지 않는다. */
+  @Scheduled(fixedDelayString = "${comment.invalidation.coalesce-window-ms:100}")
+  public void flush() {
+    if (!enabled) {
+      return;
+    }
+    Map<String, Pending> batch;
+    lock.lock();
+    try {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = pending;
+      pending = new LinkedHashMap<>();
+    } finally {
+      lock.unlock();
+    }
+    batch.forEach(this::send);
+  }
+
+  @KafkaListener(
+      id = LISTENER_ID,
+      topics = "${comment.invalidation.topic:comment-cache-invalidation}",
+      groupId = "comment-cache-invalidation-${random.uuid}",
+      containerFactory = CacheInvalidationConfig.LISTENER_CONTAINER_FACTORY,
+      autoStartup = "${comment.invalidation.enabled:true}",
+      properties = {"auto.offset.reset=latest", "enable.auto.commit=false"})
+  public void onMessage(String payload) {
+    CacheInvalidation invalidation;
+    try {
+      invalidation = objectMapper.readValue(payload, CacheInvalidation.class);
+    } catch (JsonProcessingException e) {
+      invalidCounter.increment();
+      log.warn("[Invalidation] 메시지 해석 실패 payload={}, err={}", payload, e.getMessage());
+      return;
+    }
+    if (origin.equals(invalidation.origin())) {
+      selfCounter.increment();
+      return;
+    }
+    for (CacheInvalidationListener listener : listeners) {
+      try {
+        listener.onRemoteInvalidation(invalidation);
+      } catch (RuntimeException ex) {
+        log.warn(
+            "[Invalidation] 로컬 캐시 무효화 실패 listener={}, articleId={}, err={}",
+            listener.getClass().getSimpleName(),
+            invalidation.articleId(),
+            ex.getMessage());
+      }
+    }
+    appliedCounter.increment();
+  }
+
+  /** 종료 시 남은 무효화를 보낸다. */
+  @Override
+  public void close() {
+    flush();
+  }
+
+  String origin() {
+    return origin;
+  }
+
+  private void send(String articleId, Pending p) {
+    String json;
+    try {
+      json =
+          objectMapper.writeValueAsString(
+              new CacheInvalidation(
+                  articleId, new ArrayList<>(p.rootCommentIds), p.version, origin));
+    } catch (JsonProcessingException e) {
+      failedCounter.increment();
+      log.warn("[Invalidation] 직렬화 실패 articleId={}, err={}", articleId, e.getMessage());
+      return;
+    }
+    try {
+      kafkaTemplate
+          .send(topic, articleId, json)
+          .whenComplete(
+              (result, ex) -> {
+                if (ex == null) {
+                  publishedCounter.increment();
+                } else {
+                  failedCounter.increment();
+                  log.warn(
+                      "[Invalidation] 발행 실패 articleId={}, err={}", articleId, ex.getMessage());
+                }
+              });
+    } catch (RuntimeException ex) {
+      failedCounter.increment();
+      log.warn("[Invalidation] 발행 실패 articleId={}, err={}", articleId, ex.getMessage());
+    }
+  }
+
+  private static Counter receivedCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("comment.invalidation.received")
+        .description("소비한 캐시 무효화 메시지 수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static final class Pending {
+    private final Set<Long> rootCommentIds;
+    private long version;
+
+    private Pending(Set<Long> rootCommentIds, long version) {
+      this.rootCommentIds = rootCommentIds;
+      this.version = version;
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.teambind.commentserver.event.invalidation;
+
+/** 다른 노드의 쓰기로 낡은 노드 로컬 캐시를 지우는 쪽이 구현한다. */
+public interface CacheInvalidationListener {
+
+  /** 다른 노드에서 커밋된 쓰기 (소비 스레드에서 호출되므로 빠르게 반환해야 한다) */
+  void onRemoteInvalidation(CacheInvalidation invalidation);
+}
@@ -2,33 +2,55 @@ package com.teambind.commentserver.event.publish;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teambind.commentserver.entity.CommentOutbox;
 import com.teambind.commentserver.event.events.CommentCreatedEvent;
 import com.teambind.commentserver.event.events.CommentDeletedEvent;
-import lombok.RequiredArgsConstructor;
+import com.teambind.commentserver.repository.CommentOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * 도메인 이벤트 발행 서비스
  *
- * <p>댓글 도메인에서 발생하는 이벤트를 Kafka를 통해 발행합니다.
+ * <p>댓글 도메인에서 발생하는 이벤트를 아웃박스(comment_outbox)에 기록합니다. 기록은 호출한 서비스의 트랜잭션에 참여하므로 롤백되면
+ * 이벤트도 사라지고, 실제 Kafka 발행은 커밋 이후 {@link OutboxRelay} 가 수행합니다.
  * 메서드 네이밍은 명확한 동사 형태(publish~)를 사용하여 의도를 명확히 합니다.
+ *
+ * <p>지표: comment.event.record{topic} (직렬화 + 아웃박스 INSERT 지연). Kafka 발행 지연은 comment.outbox.send
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EventPublisher {
-  private final KafkaTemplate<String, Object> kafkaTemplate;
+  static final String TOPIC_COMMENT_CREATED = "comment-created";
+  static final String TOPIC_COMMENT_DELETED = "comment-deleted";
+
+  private final CommentOutboxRepository outboxRepository;
   private final ObjectMapper objectMapper;
+  private final Timer createdRecordTimer;
+  private final Timer deletedRecordTimer;
+
+  public EventPublisher(
+      CommentOutboxRepository outboxRepository,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.outboxRepository = outboxRepository;
+    this.objectMapper = objectMapper;
+    this.createdRecordTimer = recordTimer(meterRegistry, TOPIC_COMMENT_CREATED);
+    this.deletedRecordTimer = recordTimer(meterRegistry, TOPIC_COMMENT_DELETED);
+  }
 
   /**
    * 댓글 생성 이벤트 발행
    *
    * @param event 댓글 생성 이벤트
    */
+  @Transactional(propagation = Propagation.MANDATORY)
   public void publishCommentCreated(CommentCreatedEvent event) {
-    publish("comment-created", event);
+    createdRecordTimer.record(() -> publish(TOPIC_COMMENT_CREATED, event.getArticleId(), event));
   }
 
   /**
@@ -36,25 +58,35 @@ public class EventPublisher {
    *
    * @param event 댓글 삭제 이벤트
    */
+  @Transactional(propagation = Propagation.MANDATORY)
   public void publishCommentDeleted(CommentDeletedEvent event) {
-    publish("comment-deleted", event);
+    deletedRecordTimer.record(() -> publish(TOPIC_COMMENT_DELETED, event.getArticleId(), event));
   }
 
   /**
-   * Kafka 토픽에 이벤트를 발행하는 내부 메서드
+   * 이벤트를 아웃박스에 기록하는 내부 메서드
    *
    * @param topic Kafka 토픽명
+   * @param key 메시지 키 (articleId)
    * @param message 발행할 메시지 객체
    * @throws RuntimeException JSON 직렬화 실패 시
    */
-  private void publish(String topic, Object message) {
+  private void publish(String topic, String key, Object message) {
     try {
       String json = objectMapper.writeValueAsString(message);
-      kafkaTemplate.send(topic, json);
-      log.debug("Published event to topic={}, message={}", topic, json);
+      outboxRepository.save(
+          CommentOutbox.builder().topic(topic).messageKey(key).payload(json).build());
+      log.debug("Recorded event to outbox topic={}, message={}", topic, json);
     } catch (JsonProcessingException e) {
       log.error("Failed to serialize event to JSON: topic={}, message={}", topic, message, e);
       throw new RuntimeException("Failed to serialize message to JSON", e);
     }
   }
+
+  private static Timer recordTimer(MeterRegistry meterRegistry, String topic) {
+    return Timer.builder("comment.event.record")
+        .description("이벤트 직렬화 + 아웃박스 기록 지연")
+        .tag("topic", topic)
+        .register(meterRegistry);
+  }
 }
@@ -0,0 +1,227 @@
+package com.teambind.commentserver.event.publish;
+
+import com.teambind.commentserver.entity.CommentOutbox;
+import com.teambind.commentserver.repository.CommentOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 아웃박스 릴레이
+ *
+ * <p>comment_outbox 를 주기적으로 폴링하여 batch-size 단위로 Kafka 에 발행하고, 브로커 ack 를 받은 행만 일괄 삭제합니다.
+ *
+ * <p>동작:
+ * - 가져오기: 짧은 트랜잭션에서 FOR UPDATE SKIP LOCKED 로 조회하고 claimed_until 을 now + claim-ttl 로 임대한 뒤 커밋
+ * - 발행: 트랜잭션 밖에서 배치 전체를 먼저 send 한 뒤 ack 를 모아서 기다림 (행 잠금/커넥션을 쥔 채 브로커를 기다리지 않음)
+ * - 정리: 두 번째 짧은 트랜잭션에서 ack 받은 행은 삭제, 실패/타임아웃 행은 임대를 풀어 다음 주기에 재시도
+ *   (at-least-once, 소비자는 중복에 안전해야 함)
+ * - 임대 중인 행은 다른 노드의 릴레이가 건너뛰고, 정리 전에 노드가 죽으면 claim-ttl 이 지난 뒤 다시 발행됨
+ * - 한 주기에 배치가 가득 차면 max-batches-per-run 까지 이어서 처리
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+  private final CommentOutboxRepository outboxRepository;
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final Duration sendTimeout;
+  private final Duration claimTtl;
+  private final ReentrantLock relayLock = new ReentrantLock();
+  private final AtomicLong lagMillis = new AtomicLong();
+  private final Counter publishedCounter;
+  private final Counter failedCounter;
+  private final Timer batchTimer;
+  private final MeterRegistry meterRegistry;
+
+  public OutboxRelay(
+      CommentOutboxRepository outboxRepository,
+      KafkaTemplate<String, Object> kafkaTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${comment.outbox.relay.enabled:true}") boolean enabled,
+      @Value("${comment.outbox.relay.batch-size:200}") int batchSize,
+      @Value("${comment.outbox.relay.max-batches-per-run:10}") int maxBatchesPerRun,
+      @Value("${comment.outbox.relay.send-timeout:PT10S}") Duration sendTimeout,
+      @Value("${comment.outbox.relay.claim-ttl:PT1M}") Duration claimTtl) {
+    if (claimTtl.compareTo(sendTimeout) <= 0) {
+      throw new IllegalArgumentException(
+          "comment.outbox.relay.claim-ttl 은 send-timeout 보다 길어야 합니다: " + claimTtl);
+    }
+    this.outboxRepository = outboxRepository;
+    this.kafkaTemplate = kafkaTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.sendTimeout = sendTimeout;
+    this.claimTtl = claimTtl;
+    this.meterRegistry = meterRegistry;
+    this.publishedCounter =
+        Counter.builder("comment.outbox.published")
+            .description("Kafka ack 를 받고 삭제된 아웃박스 이벤트 수")
+            .register(meterRegistry);
+    this.failedCounter =
+        Counter.builder("comment.outbox.failed")
+            .description("발행 실패로 재시도 대기 중인 아웃박스 이벤트 수(누적)")
+            .register(meterRegistry);
+    this.batchTimer =
+        Timer.builder("comment.outbox.relay.batch")
+            .description("아웃박스 배치 1회 처리 시간 (조회+발행+삭제)")
+            .register(meterRegistry);
+    Gauge.builder("comment.outbox.lag.seconds", lagMillis, v -> v.get() / 1000.0)
+        .description("가장 오래된 미발행 이벤트의 대기 시간")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${comment.outbox.relay.interval-ms:200}")
+  public void scheduledRelay() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      relay();
+    } catch (Exception ex) {
+      log.warn("[Outbox] 릴레이 실패, 다음 주기에 재시도 err={}", ex.getMessage());
+    }
+  }
+
+  /**
+   * 미발행 이벤트를 배치 단위로 발행합니다.
+   *
+   * @return 이번 실행에서 발행(삭제)된 이벤트 수
+   */
+  public int relay() {
+    if (!relayLock.tryLock()) {
+      return 0;
+    }
+    try {
+      int total = 0;
+      for (int i = 0; i < maxBatchesPerRun; i++) {
+        BatchResult result = batchTimer.record(this::relayBatch);
+        total += result.published();
+        if (result.fetched() < batchSize || result.published() < result.fetched()) {
+          break;
+        }
+      }
+      updateLag();
+      return total;
+    } finally {
+      relayLock.unlock();
+    }
+  }
+
+  private BatchResult relayBatch() {
+    List<CommentOutbox> batch = transactionTemplate.execute(s -> claimBatch());
+    if (batch == null || batch.isEmpty()) {
+      return new BatchResult(0, 0);
+    }
+
+    List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(batch.size());
+    for (CommentOutbox row : batch) {
+      Timer.Sample sample = Timer.start();
+      CompletableFuture<SendResult<String, Object>> future =
+          kafkaTemplate.send(row.getTopic(), row.getMessageKey(), row.getPayload());
+      future.whenComplete((result, ex) -> sample.stop(sendTimer(row.getTopic(), ex == null)));
+      futures.add(future);
+    }
+    kafkaTemplate.flush();
+
+    long deadline = System.nanoTime() + sendTimeout.toNanos();
+    List<Long> acked = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      CommentOutbox row = batch.get(i);
+      try {
+        long remaining = Math.max(deadline - System.nanoTime(), 0);
+        futures.get(i).get(remaining, TimeUnit.NANOSECONDS);
+        acked.add(row.getId());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (ExecutionException | TimeoutException e) {
+        failedCounter.increment();
+        log.warn(
+            "[Outbox] 발행 실패 id={}, topic={}, key={}, err={}",
+            row.getId(),
+            row.getTopic(),
+            row.getMessageKey(),
+            e.getMessage());
+      }
+    }
+
+    Set<Long> ackedIds = new HashSet<>(acked);
+    List<Long> unacked =
+        batch.stream().map(CommentOutbox::getId).filter(id -> !ackedIds.contains(id)).toList();
+    complete(acked, unacked);
+    return new BatchResult(batch.size(), acked.size());
+  }
+
+  /** 발행할 행을 잠가 조회하고 claim-ttl 동안 임대합니다. 커밋하면서 행 잠금을 놓습니다. */
+  private List<CommentOutbox> claimBatch() {
+    Instant now = Instant.now();
+    List<CommentOutbox> batch =
+        outboxRepository.findBatchForRelay(now, PageRequest.of(0, batchSize));
+    if (!batch.isEmpty()) {
+      outboxRepository.claimAllByIdIn(
+          batch.stream().map(CommentOutbox::getId).toList(), now.plus(claimTtl));
+    }
+    return batch;
+  }
+
+  /** ack 받은 행은 삭제하고 나머지는 임대를 풀어 다음 주기에 다시 가져가게 합니다. */
+  private void complete(List<Long> acked, List<Long> unacked) {
+    transactionTemplate.executeWithoutResult(
+        s -> {
+          if (!acked.isEmpty()) {
+            outboxRepository.deleteAllByIdIn(acked);
+          }
+          if (!unacked.isEmpty()) {
+            outboxRepository.releaseAllByIdIn(unacked);
+          }
+        });
+    publishedCounter.increment(acked.size());
+  }
+
+  /** 메시지 1건의 send → 브로커 ack(또는 실패)까지 걸린 시간 */
+  private Timer sendTimer(String topic, boolean success) {
+    return Timer.builder("comment.outbox.send")
+        .description("Kafka send 부터 ack/실패까지의 지연")
+        .tag("topic", topic)
+        .tag("result", success ? "success" : "failure")
+        .register(meterRegistry);
+  }
+
+  private void updateLag() {
+    Instant oldest = outboxRepository.findOldestCreatedAt();
+    lagMillis.set(
+        oldest == null ? 0 : Math.max(Duration.between(oldest, Instant.now()).toMillis(), 0));
+  }
+
+  private record BatchResult(int fetched, int published) {}
+}
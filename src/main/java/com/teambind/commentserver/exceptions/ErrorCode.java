@@ -9,7 +9,18 @@ public enum ErrorCode {
   COMMENT_NOT_FOUND("CMT_404", "댓글을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
   PARENT_COMMENT_NOT_FOUND("CMT_404_P", "부모 댓글을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
   CONTENTS_REQUIRED("CMT_400", "댓글 내용은 비어 있을 수 없습니다.", HttpStatus.BAD_REQUEST),
-  NOT_COMMENT_OWNER("CMT_403", "작성자 본인만 댓글을 수정/삭제할 수 있습니다.", HttpStatus.FORBIDDEN);
+  NOT_COMMENT_OWNER("CMT_403", "작성자 본인만 댓글을 수정/삭제할 수 있습니다.", HttpStatus.FORBIDDEN),
+  INVALID_CURSOR("CMT_400_C", "잘못된 페이지 커서입니다.", HttpStatus.BAD_REQUEST),
+  INVALID_PAGE_SIZE("CMT_400_S", "pageSize는 1 이상이어야 합니다.", HttpStatus.BAD_REQUEST),
+  REPLY_DEPTH_EXCEEDED("CMT_400_D", "답글은 최대 2단계까지만 작성할 수 있습니다.", HttpStatus.BAD_REQUEST),
+  INVALID_BULK_ITEM(
+      "CMT_400_I",
+      "루트 댓글은 articleId, 답글은 부모 댓글 정보 중 하나만 지정하고 writerId가 필요합니다.",
+      HttpStatus.BAD_REQUEST),
+  BULK_TOO_LARGE("CMT_400_B", "한 번에 등록할 수 있는 댓글 수를 초과했습니다.", HttpStatus.BAD_REQUEST),
+  BULK_WRITE_FAILED("CMT_500_B", "댓글 저장에 실패했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
+  NODE_ID_LEASE_UNAVAILABLE(
+      "CMT_503_L", "ID 발급 노드 임대가 유효하지 않습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.SERVICE_UNAVAILABLE);
 
   private final String errCode;
   private final String message;
@@ -0,0 +1,71 @@
+package com.teambind.commentserver.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * article_comment_counts 일괄 반영용 JDBC 리포지토리
+ *
+ * <p>JPA 네이티브 쿼리로는 가변 길이 VALUES 목록을 표현하기 어려워 JdbcTemplate 으로 multi-row 문장을 직접 구성합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArticleCommentCountBatchRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * articleId -> delta 묶음을 단일 multi-row INSERT ... ON DUPLICATE KEY UPDATE 문장으로 반영합니다.
+   *
+   * <p>레코드가 없으면 delta 값으로 생성하고, 있으면 기존 값에 delta를 더합니다. (0 미만 방지)
+   *
+   * <p>UPDATE 절의 VALUES(comment_count) 가 원래 delta 여야 하므로 INSERT 값 자체는 그대로 두고, 음수 delta 로 새로 생긴 행은
+   * 같은 트랜잭션에서 0 으로 보정합니다.
+   *
+   * @param deltas articleId -> 누적 delta (비어 있으면 아무 작업도 하지 않음)
+   * @return 드라이버가 보고한 영향받은 row 수
+   */
+  @Transactional
+  public int upsertAndAddAll(Map<String, Long> deltas) {
+    if (deltas == null || deltas.isEmpty()) {
+      return 0;
+    }
+
+    StringBuilder sql =
+        new StringBuilder(
+            "INSERT INTO article_comment_counts (article_id, comment_count, updated_at) VALUES ");
+    List<Object> args = new ArrayList<>(deltas.size() * 2);
+    List<String> negative = new ArrayList<>();
+    for (Map.Entry<String, Long> e : deltas.entrySet()) {
+      if (!args.isEmpty()) {
+        sql.append(", ");
+      }
+      sql.append("(?, ?, NOW())");
+      args.add(e.getKey());
+      args.add(e.getValue());
+      if (e.getValue() < 0) {
+        negative.add(e.getKey());
+      }
+    }
+    sql.append(
+        " ON DUPLICATE KEY UPDATE comment_count = GREATEST(comment_count + VALUES(comment_count), 0),"
+            + " updated_at = NOW()");
+
+    int affected = jdbcTemplate.update(sql.toString(), args.toArray());
+    if (!negative.isEmpty()) {
+      jdbcTemplate.update(
+          "UPDATE article_comment_counts SET comment_count = GREATEST(comment_count, 0)"
+              + " WHERE comment_count < 0 AND article_id IN ("
+              + String.join(", ", Collections.nCopies(negative.size(), "?"))
+              + ")",
+          negative.toArray());
+    }
+    return affected;
+  }
+}
@@ -1,6 +1,7 @@
 package com.teambind.commentserver.repository;
 
 import com.teambind.commentserver.entity.ArticleCommentCount;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -56,4 +57,29 @@ public interface ArticleCommentCountRepository extends CrudRepository<ArticleCom
           "UPDATE article_comment_counts SET comment_count = :count, updated_at = NOW() WHERE article_id = :articleId",
       nativeQuery = true)
   int setCount(@Param("articleId") String articleId, @Param("count") int count);
+
+  /**
+   * 현재 댓글 수를 영속성 컨텍스트를 거치지 않고 읽습니다.
+   *
+   * <p>같은 트랜잭션에서 increment/decrement 한 직후에 호출하면 그 변경이 반영된 값을 돌려줍니다 (행 락 보유 중).
+   */
+  @Query(
+      value = "SELECT comment_count FROM article_comment_counts WHERE article_id = :articleId",
+      nativeQuery = true)
+  Optional<Integer> findCommentCount(@Param("articleId") String articleId);
+
+  /** 정합성 검사용: 행 락을 잡고 댓글 수를 읽습니다. 검사 중 같은 아티클의 작성/삭제는 대기합니다. */
+  @Query(
+      value =
+          "SELECT comment_count FROM article_comment_counts WHERE article_id = :articleId"
+              + " FOR UPDATE",
+      nativeQuery = true)
+  Optional<Integer> findCommentCountForUpdate(@Param("articleId") String articleId);
+
+  /** 정합성 검사 대상: 최근 갱신된 아티클 id */
+  @Query(
+      value =
+          "SELECT article_id FROM article_comment_counts ORDER BY updated_at DESC LIMIT :limit",
+      nativeQuery = true)
+  List<String> findRecentlyUpdatedArticleIds(@Param("limit") int limit);
 }
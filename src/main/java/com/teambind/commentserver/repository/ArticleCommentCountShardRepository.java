@@ -0,0 +1,74 @@
+package com.teambind.commentserver.repository;
+
+import com.teambind.commentserver.entity.ArticleCommentCountShard;
+import com.teambind.commentserver.repository.projection.ArticleCountSum;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * article_comment_count_shards 리포지토리
+ *
+ * <p>샤드 행은 delta 만 누적하므로 0 미만 방지(GREATEST)를 하지 않습니다. 합계는 기본 행과 더해야 의미가 있습니다.
+ */
+@Repository
+public interface ArticleCommentCountShardRepository
+    extends CrudRepository<ArticleCommentCountShard, ArticleCommentCountShard.Key> {
+
+  /** (articleId, shard) 행에 delta 를 원자적으로 더합니다. 행이 없으면 delta 로 생성합니다. */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO article_comment_count_shards (article_id, shard, comment_count, updated_at)"
+              + " VALUES (:articleId, :shard, :delta, NOW())"
+              + " ON DUPLICATE KEY UPDATE comment_count = comment_count + :delta,"
+              + " updated_at = NOW()",
+      nativeQuery = true)
+  int addToShard(
+      @Param("articleId") String articleId, @Param("shard") int shard, @Param("delta") int delta);
+
+  /** 아티클 샤드 합계 (샤드가 없으면 0). 영속성 컨텍스트를 거치지 않습니다. */
+  @Query(
+      value =
+          "SELECT COALESCE(SUM(comment_count), 0) FROM article_comment_count_shards"
+              + " WHERE article_id = :articleId",
+      nativeQuery = true)
+  long sumByArticleId(@Param("articleId") String articleId);
+
+  /** 샤드가 있는 아티클만 합계를 반환합니다. */
+  @Query(
+      "SELECT new com.teambind.commentserver.repository.projection.ArticleCountSum("
+          + "s.articleId, SUM(s.commentCount)) "
+          + "FROM ArticleCommentCountShard s "
+          + "WHERE s.articleId IN :articleIds "
+          + "GROUP BY s.articleId")
+  List<ArticleCountSum> sumByArticleIds(@Param("articleIds") List<String> articleIds);
+
+  boolean existsByArticleId(String articleId);
+
+  /** 합치기 전 샤드 행을 잠그고 값을 읽습니다. */
+  @Query(
+      value =
+          "SELECT comment_count FROM article_comment_count_shards WHERE article_id = :articleId"
+              + " FOR UPDATE",
+      nativeQuery = true)
+  List<Integer> findCountsForUpdate(@Param("articleId") String articleId);
+
+  /** 모든 샤드의 마지막 갱신이 before 이전인(식은) 아티클 */
+  @Query(
+      "SELECT s.articleId FROM ArticleCommentCountShard s "
+          + "GROUP BY s.articleId "
+          + "HAVING MAX(s.updatedAt) < :before")
+  List<String> findIdleArticleIds(@Param("before") Instant before, Pageable limit);
+
+  @Modifying
+  @Query(
+      value = "DELETE FROM article_comment_count_shards WHERE article_id = :articleId",
+      nativeQuery = true)
+  int deleteByArticleId(@Param("articleId") String articleId);
+}
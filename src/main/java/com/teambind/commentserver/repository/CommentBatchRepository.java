@@ -0,0 +1,100 @@
+package com.teambind.commentserver.repository;
+
+import com.teambind.commentserver.entity.Comment;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * comments 일괄 저장용 JDBC 리포지토리 (벌크 등록)
+ *
+ * <p>Snowflake id 를 미리 할당하므로 JPA persist 의 엔티티 단위 처리 없이 JDBC batch 로 한 번에 INSERT 합니다. 시각은 JPA 와
+ * 같이 UTC 로 저장합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentBatchRepository {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO comments (comment_id, article_id, writer_id, parent_comment_id,"
+          + " root_comment_id, depth, contents, is_deleted, status, reply_count, created_at,"
+          + " updated_at, deleted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String ADD_REPLY_COUNT_SQL =
+      "UPDATE comments SET reply_count = reply_count + ? WHERE comment_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** 댓글들을 JDBC batch 로 INSERT 합니다. (id, createdAt 이 채워져 있어야 함) */
+  public void insertAll(List<Comment> comments) {
+    if (comments.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL,
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Comment c = comments.get(i);
+            ps.setLong(1, c.getCommentId());
+            ps.setString(2, c.getArticleId());
+            ps.setString(3, c.getWriterId());
+            setNullableLong(ps, 4, c.getParentCommentId());
+            setNullableLong(ps, 5, c.getRootCommentId());
+            ps.setInt(6, c.getDepth());
+            ps.setString(7, c.getContents());
+            ps.setBoolean(8, Boolean.TRUE.equals(c.getIsDeleted()));
+            ps.setString(9, c.getStatus().name());
+            ps.setInt(10, c.getReplyCount());
+            setUtcTimestamp(ps, 11, c.getCreatedAt());
+            setUtcTimestamp(ps, 12, c.getUpdatedAt());
+            setUtcTimestamp(ps, 13, c.getDeletedAt());
+          }
+
+          @Override
+          public int getBatchSize() {
+            return comments.size();
+          }
+        });
+  }
+
+  /** parentId -> 추가된 답글 수 묶음을 JDBC batch UPDATE 로 반영합니다. */
+  public void addReplyCounts(Map<Long, Integer> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    List<Object[]> args = new ArrayList<>(deltas.size());
+    deltas.forEach((parentId, delta) -> args.add(new Object[] {delta, parentId}));
+    jdbcTemplate.batchUpdate(ADD_REPLY_COUNT_SQL, args);
+  }
+
+  private static void setNullableLong(PreparedStatement ps, int index, Long value)
+      throws SQLException {
+    if (value == null) {
+      ps.setNull(index, Types.BIGINT);
+    } else {
+      ps.setLong(index, value);
+    }
+  }
+
+  private static void setUtcTimestamp(PreparedStatement ps, int index, Instant value)
+      throws SQLException {
+    if (value == null) {
+      ps.setNull(index, Types.TIMESTAMP);
+    } else {
+      ps.setTimestamp(
+          index, Timestamp.from(value), Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.teambind.commentserver.repository;
+
+import com.teambind.commentserver.entity.CommentOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CommentOutboxRepository extends JpaRepository<CommentOutbox, Long> {
+
+  /**
+   * 임대되지 않은(또는 임대가 만료된) 발행 대기 이벤트를 오래된 순으로 잠그며 조회합니다.
+   *
+   * <p>lock timeout -2 는 Hibernate 에서 SKIP LOCKED 로 변환되어, 여러 노드의 릴레이가 서로 다른 행을 가져갑니다. (호출자 트랜잭션
+   * 필요)
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query(
+      "SELECT o FROM CommentOutbox o WHERE o.claimedUntil IS NULL OR o.claimedUntil < :now"
+          + " ORDER BY o.id ASC")
+  List<CommentOutbox> findBatchForRelay(@Param("now") Instant now, Pageable limit);
+
+  /** 조회한 이벤트를 until 까지 임대합니다. 임대 중인 행은 다른 릴레이가 조회하지 않습니다. */
+  @Modifying
+  @Query("UPDATE CommentOutbox o SET o.claimedUntil = :until WHERE o.id IN :ids")
+  int claimAllByIdIn(@Param("ids") List<Long> ids, @Param("until") Instant until);
+
+  /** 발행하지 못한 이벤트의 임대를 풀어 다음 주기에 다시 조회되게 합니다. */
+  @Modifying
+  @Query("UPDATE CommentOutbox o SET o.claimedUntil = NULL WHERE o.id IN :ids")
+  int releaseAllByIdIn(@Param("ids") List<Long> ids);
+
+  /** 발행이 확인된 이벤트를 일괄 삭제합니다. */
+  @Modifying
+  @Query("DELETE FROM CommentOutbox o WHERE o.id IN :ids")
+  int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+  /** 가장 오래된 미발행 이벤트의 기록 시각 (없으면 null). 릴레이 지연 지표용 */
+  @Query("SELECT MIN(o.createdAt) FROM CommentOutbox o")
+  Instant findOldestCreatedAt();
+}
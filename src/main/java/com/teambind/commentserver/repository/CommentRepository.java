@@ -2,9 +2,22 @@ package com.teambind.commentserver.repository;
 
 import com.teambind.commentserver.entity.Comment;
 import com.teambind.commentserver.entity.Comment.CommentStatus;
+import com.teambind.commentserver.repository.projection.CommentView;
+import com.teambind.commentserver.repository.projection.ParentCommentRef;
+import com.teambind.commentserver.repository.projection.RootPageEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,14 +30,105 @@ import org.springframework.stereotype.Repository;
  * - Window function을 활용한 효율적인 페이지네이션
  */
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, String> {
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+  /** 조회 API 용 프로젝션 SELECT 절. 표시하지 않을 댓글(삭제/비활성)은 본문(TEXT)을 읽지 않는다. */
+  String VIEW_SELECT =
+      "SELECT new com.teambind.commentserver.repository.projection.CommentView("
+          + "c.commentId, c.articleId, c.writerId, c.parentCommentId, c.rootCommentId, c.depth, "
+          + "CASE WHEN c.isDeleted = false "
+          + "AND c.status = com.teambind.commentserver.entity.Comment.CommentStatus.ACTIVE "
+          + "THEN c.contents ELSE NULL END, "
+          + "c.isDeleted, c.status, c.replyCount, c.createdAt, c.updatedAt) "
+          + "FROM Comment c ";
+
+  /**
+   * 단건 조회 (프로젝션)
+   *
+   * <p>PK 조회
+   */
+  @Query(VIEW_SELECT + "WHERE c.commentId = :commentId")
+  Optional<CommentView> findViewById(@Param("commentId") Long commentId);
+
+  /**
+   * 부모 댓글의 답글 목록 조회 (프로젝션)
+   *
+   * <p>인덱스 활용: idx_comment_parent
+   */
+  @Query(VIEW_SELECT + "WHERE c.parentCommentId = :parentId ORDER BY c.createdAt ASC")
+  List<CommentView> findReplyViewsByParentId(@Param("parentId") Long parentId);
+
+  /**
+   * 루트 댓글의 전체 스레드 조회 (프로젝션)
+   *
+   * <p>인덱스 활용: idx_comment_root
+   */
+  @Query(VIEW_SELECT + "WHERE c.rootCommentId = :rootId ORDER BY c.createdAt ASC")
+  List<CommentView> findThreadViewsByRootId(@Param("rootId") Long rootId);
+
+  /**
+   * 루트 댓글 및 해당 루트의 모든 자식들을 한 번에 조회 (프로젝션, 트리 조립용)
+   *
+   * <p>조건과 정렬은 {@link #findRootsAndChildrenByRootIds} 와 같다.
+   */
+  @Query(
+      VIEW_SELECT
+          + "WHERE c.articleId = :articleId "
+          + "AND (c.commentId IN :rootIds OR c.rootCommentId IN :rootIds) "
+          + "AND c.isDeleted = false "
+          + "AND c.status = com.teambind.commentserver.entity.Comment.CommentStatus.ACTIVE "
+          + "ORDER BY COALESCE(c.rootCommentId, c.commentId), c.depth, c.createdAt")
+  List<CommentView> findRootsAndChildrenViewsByRootIds(
+      @Param("articleId") String articleId, @Param("rootIds") List<Long> rootIds);
+
+  /**
+   * 답글 작성용 부모 요약 조회 (본문 제외)
+   *
+   * <p>PK 조회
+   */
+  @Query(
+      "SELECT new com.teambind.commentserver.repository.projection.ParentCommentRef("
+          + "c.commentId, c.articleId, c.rootCommentId, c.depth) "
+          + "FROM Comment c "
+          + "WHERE c.commentId = :commentId")
+  Optional<ParentCommentRef> findParentRefById(@Param("commentId") Long commentId);
+
+  /**
+   * 댓글을 행 잠금(SELECT ... FOR UPDATE)으로 조회합니다. 같은 댓글의 상태 전이(삭제)를 직렬화할 때 사용 (호출자 트랜잭션 필요)
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM Comment c WHERE c.commentId = :commentId")
+  Optional<Comment> findByIdForUpdate(@Param("commentId") Long commentId);
+
+  /**
+   * 답글 수 원자적 증가 (UPDATE ... SET reply_count = reply_count + 1)
+   *
+   * <p>부모 엔티티를 읽고 dirty checking 으로 쓰면 같은 부모에 동시에 달린 답글끼리 갱신을 잃는다. 벌크 UPDATE 는
+   * 영속성 컨텍스트를 거치지 않으므로 실행 전 flush, 실행 후 clear 한다 (updated_at 은 바뀌지 않음).
+   *
+   * @return 갱신된 행 수 (부모가 없으면 0)
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Comment c SET c.replyCount = c.replyCount + 1 WHERE c.commentId = :commentId")
+  int incrementReplyCount(@Param("commentId") Long commentId);
+
+  /**
+   * 답글 수 원자적 감소 (0 미만으로 내려가지 않음)
+   *
+   * @return 갱신된 행 수
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE Comment c SET c.replyCount = c.replyCount - 1 "
+          + "WHERE c.commentId = :commentId AND c.replyCount > 0")
+  int decrementReplyCount(@Param("commentId") Long commentId);
 
   /**
    * 부모 댓글의 답글 목록 조회
    *
    * <p>인덱스 활용: idx_comment_parent
    */
-  List<Comment> findByParentCommentIdOrderByCreatedAtAsc(String parentCommentId);
+  List<Comment> findByParentCommentIdOrderByCreatedAtAsc(Long parentCommentId);
 
   /**
    * 게시글의 삭제되지 않은 댓글 목록 조회
@@ -33,12 +137,24 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
    */
   List<Comment> findByArticleIdAndIsDeletedFalseOrderByCreatedAtAsc(String articleId);
 
+  /**
+   * 게시글의 삭제되지 않은 댓글을 스트리밍 조회 (mode=all 응답용)
+   *
+   * <p>인덱스 활용: idx_comment_article_created
+   * fetch size 만큼씩 커서로 읽으므로 전체 목록을 메모리에 올리지 않는다. 트랜잭션 안에서 소비하고 닫아야 한다.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Comment> streamByArticleIdAndIsDeletedFalseOrderByCreatedAtAsc(String articleId);
+
   /**
    * 루트 댓글의 전체 스레드 조회
    *
    * <p>인덱스 활용: idx_comment_root
    */
-  List<Comment> findByRootCommentIdOrderByCreatedAtAsc(String rootCommentId);
+  List<Comment> findByRootCommentIdOrderByCreatedAtAsc(Long rootCommentId);
 
   /**
    * 페이지네이션을 위한 루트 댓글 ID 조회 (성능 최적화됨)
@@ -60,20 +176,91 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
         ),
         cum AS (
           SELECT comment_id, created_at,
-                 SUM(size_for_page) OVER (ORDER BY created_at DESC) AS cum_sum
+                 SUM(size_for_page) OVER (
+                   ORDER BY created_at DESC, comment_id DESC
+                   ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW) AS cum_sum
           FROM roots
         )
         SELECT comment_id
         FROM cum
         WHERE cum_sum > :prevLimit AND cum_sum <= :currLimit
-        ORDER BY created_at DESC
+        ORDER BY created_at DESC, comment_id DESC
         """,
       nativeQuery = true)
-  List<String> findRootIdsForPage(
+  List<Long> findRootIdsForPage(
       @Param("articleId") String articleId,
       @Param("prevLimit") long prevLimit,
       @Param("currLimit") long currLimit);
 
+  /**
+   * 커서 페이지네이션: 가장 최신 루트부터 limit 개의 루트 요약을 조회
+   *
+   * <p>복합 인덱스 활용: idx_comment_article_depth_created (article_id, depth, created_at, comment_id)
+   * 윈도우 함수 없이 인덱스 범위 스캔으로 필요한 만큼만 읽는다.
+   */
+  @Query(
+      "SELECT new com.teambind.commentserver.repository.projection.RootPageEntry("
+          + "c.commentId, c.createdAt, c.replyCount) "
+          + "FROM Comment c "
+          + "WHERE c.articleId = :articleId "
+          + "AND c.depth = 0 "
+          + "AND c.isDeleted = false "
+          + "AND c.status = com.teambind.commentserver.entity.Comment.CommentStatus.ACTIVE "
+          + "ORDER BY c.createdAt DESC, c.commentId DESC")
+  List<RootPageEntry> findFirstRootEntries(
+      @Param("articleId") String articleId, Pageable limit);
+
+  /**
+   * 커서 페이지네이션: (createdAt, commentId) 커서 이후(더 오래된) 루트 요약을 limit 개 조회
+   *
+   * <p>복합 인덱스 활용: idx_comment_article_depth_created
+   */
+  @Query(
+      "SELECT new com.teambind.commentserver.repository.projection.RootPageEntry("
+          + "c.commentId, c.createdAt, c.replyCount) "
+          + "FROM Comment c "
+          + "WHERE c.articleId = :articleId "
+          + "AND c.depth = 0 "
+          + "AND c.isDeleted = false "
+          + "AND c.status = com.teambind.commentserver.entity.Comment.CommentStatus.ACTIVE "
+          + "AND (c.createdAt < :createdAt "
+          + "  OR (c.createdAt = :createdAt AND c.commentId < :commentId)) "
+          + "ORDER BY c.createdAt DESC, c.commentId DESC")
+  List<RootPageEntry> findRootEntriesAfter(
+      @Param("articleId") String articleId,
+      @Param("createdAt") Instant createdAt,
+      @Param("commentId") Long commentId,
+      Pageable limit);
+
+  /**
+   * 페이지 인덱스 빌드용: 아티클의 활성 루트 요약 전체를 (createdAt, commentId) 오름차순으로 조회
+   *
+   * <p>복합 인덱스 활용: idx_comment_article_depth_created
+   */
+  @Query(
+      "SELECT new com.teambind.commentserver.repository.projection.RootPageEntry("
+          + "c.commentId, c.createdAt, c.replyCount) "
+          + "FROM Comment c "
+          + "WHERE c.articleId = :articleId "
+          + "AND c.depth = 0 "
+          + "AND c.isDeleted = false "
+          + "AND c.status = com.teambind.commentserver.entity.Comment.CommentStatus.ACTIVE "
+          + "ORDER BY c.createdAt ASC, c.commentId ASC")
+  List<RootPageEntry> findAllRootEntries(@Param("articleId") String articleId);
+
+  /** 페이지 인덱스 보정용: 주어진 id 중 활성 루트 요약만 조회 */
+  @Query(
+      "SELECT new com.teambind.commentserver.repository.projection.RootPageEntry("
+          + "c.commentId, c.createdAt, c.replyCount) "
+          + "FROM Comment c "
+          + "WHERE c.articleId = :articleId "
+          + "AND c.commentId IN :rootIds "
+          + "AND c.depth = 0 "
+          + "AND c.isDeleted = false "
+          + "AND c.status = com.teambind.commentserver.entity.Comment.CommentStatus.ACTIVE")
+  List<RootPageEntry> findActiveRootEntriesByIds(
+      @Param("articleId") String articleId, @Param("rootIds") List<Long> rootIds);
+
   /**
    * 루트 댓글 및 해당 루트의 모든 자식들을 한 번에 조회 (N+1 문제 방지)
    *
@@ -88,7 +275,7 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
           + "AND c.status = com.teambind.commentserver.entity.Comment.CommentStatus.ACTIVE "
           + "ORDER BY COALESCE(c.rootCommentId, c.commentId), c.depth, c.createdAt")
   List<Comment> findRootsAndChildrenByRootIds(
-      @Param("articleId") String articleId, @Param("rootIds") List<String> rootIds);
+      @Param("articleId") String articleId, @Param("rootIds") List<Long> rootIds);
 
   /**
    * 게시글에서 특정 사용자가 작성한 활성 댓글 수 조회
@@ -103,7 +290,7 @@ public interface CommentRepository extends JpaRepository<Comment, String> {
    * 게시글의 활성 댓글 수 조회
    *
    * <p>인덱스 활용: idx_comment_article_status_deleted
-   * 용도: 마지막 댓글 삭제 이벤트 발행 여부 판단
+   * 용도: article_comment_counts 정합성 검사, 카운터를 쓸 수 없을 때 마지막 댓글 삭제 판단
    */
   long countByArticleIdAndIsDeletedFalseAndStatus(String articleId, CommentStatus status);
 }
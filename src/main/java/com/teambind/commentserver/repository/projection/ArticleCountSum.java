@@ -0,0 +1,4 @@
+package com.teambind.commentserver.repository.projection;
+
+/** 아티클별 샤드 댓글 수 합계 프로젝션 */
+public record ArticleCountSum(String articleId, Long commentCount) {}
@@ -0,0 +1,34 @@
+package com.teambind.commentserver.repository.projection;
+
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.entity.Comment.CommentStatus;
+import java.time.Instant;
+
+/**
+ * 조회 API 용 댓글 프로젝션 (생성자 표현식으로 바로 만들어 영속성 컨텍스트에 올라가지 않음)
+ *
+ * <p>contents 는 표시할 댓글(삭제되지 않은 ACTIVE)일 때만 읽고, 그 외에는 null 이다. 표시 내용과 수정 여부는 엔티티와 같은
+ * 규칙({@link Comment#displayContents}, {@link Comment#isEdited(Instant, Instant)})으로 만든다.
+ */
+public record CommentView(
+    Long commentId,
+    String articleId,
+    String writerId,
+    Long parentCommentId,
+    Long rootCommentId,
+    Integer depth,
+    String contents,
+    Boolean isDeleted,
+    CommentStatus status,
+    Integer replyCount,
+    Instant createdAt,
+    Instant updatedAt) {
+
+  public String displayContents() {
+    return Comment.displayContents(isDeleted, status, contents);
+  }
+
+  public boolean isEdited() {
+    return Comment.isEdited(createdAt, updatedAt);
+  }
+}
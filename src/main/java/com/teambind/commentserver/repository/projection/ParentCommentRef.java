@@ -0,0 +1,22 @@
+package com.teambind.commentserver.repository.projection;
+
+import com.teambind.commentserver.entity.Comment;
+
+/**
+ * 답글 작성용 부모 댓글 요약 프로젝션
+ *
+ * <p>답글 생성에는 부모의 위치(articleId, rootId, depth)만 필요하므로 TEXT 본문을 포함한 엔티티를 읽지 않습니다.
+ */
+public record ParentCommentRef(
+    Long commentId, String articleId, Long rootCommentId, Integer depth) {
+
+  /** Comment.createReply 가 참조하는 필드만 채운 부모 (영속 상태 아님) */
+  public Comment asParent() {
+    return Comment.builder()
+        .commentId(commentId)
+        .articleId(articleId)
+        .rootCommentId(rootCommentId)
+        .depth(depth)
+        .build();
+  }
+}
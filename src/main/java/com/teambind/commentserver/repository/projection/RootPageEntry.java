@@ -0,0 +1,16 @@
+package com.teambind.commentserver.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * 페이지 계산용 루트 댓글 요약 프로젝션
+ *
+ * <p>루트 하나가 화면에서 차지하는 댓글 수는 replyCount + 1 입니다.
+ */
+public record RootPageEntry(Long commentId, Instant createdAt, Integer replyCount) {
+
+  /** 루트 + 자식 수 (화면에 보이는 댓글 수) */
+  public long visibleSize() {
+    return (replyCount == null ? 0 : replyCount) + 1L;
+  }
+}
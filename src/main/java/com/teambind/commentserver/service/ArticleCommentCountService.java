@@ -3,6 +3,7 @@ package com.teambind.commentserver.service;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 /** article_comment_counts 프로젝션을 관리하는 서비스 */
 public interface ArticleCommentCountService {
@@ -17,6 +18,14 @@ public interface ArticleCommentCountService {
   /** 원자적으로 -1 (최소 0 유지) */
   void decrement(String articleId);
 
+  /**
+   * 댓글 삭제 반영: 원자적으로 -1 한 뒤 남은 활성 댓글 수를 반환합니다. 호출한 트랜잭션 안에서 행 락을 잡으므로 동시 삭제끼리도
+   * 정확합니다.
+   *
+   * @return write-behind 모드(반영 지연)이거나 레코드가 없으면 empty. 호출자는 COUNT 쿼리로 폴백
+   */
+  OptionalInt decrementAndGetRemaining(String articleId);
+
   /** 보정용으로 명시적 세팅 */
   void setCount(String articleId, int count);
 
@@ -0,0 +1,16 @@
+package com.teambind.commentserver.service;
+
+import com.teambind.commentserver.dto.BulkCommentItem;
+import com.teambind.commentserver.dto.BulkCreateCommentsResponse;
+import java.util.List;
+
+/**
+ * 댓글 벌크 등록 서비스 (레거시 게시판 마이그레이션, 백업 재적재용)
+ *
+ * <p>항목별 실패는 전체를 중단하지 않고 결과에 기록합니다. 첫 댓글 이벤트는 발행하지 않습니다.
+ */
+public interface CommentBulkIngestService {
+
+  /** 루트/답글을 한 번에 등록하고 요청 순서대로 항목별 결과를 반환한다. */
+  BulkCreateCommentsResponse ingest(List<BulkCommentItem> items);
+}
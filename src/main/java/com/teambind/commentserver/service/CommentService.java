@@ -1,9 +1,12 @@
 package com.teambind.commentserver.service;
 
+import com.teambind.commentserver.dto.CommentCursorPageResponse;
 import com.teambind.commentserver.dto.CommentResponse;
 import com.teambind.commentserver.entity.Comment;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 /**
  * 댓글 서비스 인터페이스
@@ -21,9 +24,24 @@ public interface CommentService {
   /** 특정 아티클의 삭제되지 않은 전체 댓글 조회 (생성일 오름차순) */
   List<Comment> getAllCommentsByArticle(String articleId);
 
+  /**
+   * 특정 아티클의 삭제되지 않은 전체 댓글을 생성일 오름차순으로 하나씩 consumer 에 전달한다. (mode=all 스트리밍 응답용)
+   *
+   * <p>전달한 엔티티는 바로 영속성 컨텍스트에서 분리하므로 댓글 수와 무관하게 메모리 사용량이 일정하다.
+   */
+  void streamAllCommentsByArticle(String articleId, Consumer<Comment> consumer);
+
   List<CommentResponse> getCommentsByArticleByVisibleCount(
       String articleId, int page, int pageSize);
 
+  /**
+   * visibleCount 기준 커서 페이지네이션. cursor 가 null 이면 첫 페이지를 반환한다.
+   *
+   * <p>page/pageSize 방식과 같은 페이지 경계를 만들되, 윈도우 함수 대신 커서 이후 루트만 인덱스 범위 스캔으로 읽는다.
+   */
+  CommentCursorPageResponse getCommentsByArticleByCursor(
+      String articleId, String cursor, int pageSize);
+
   /** 특정 부모 댓글의 자식(대댓글) 조회 */
   List<Comment> getRepliesByParent(String parentCommentId);
 
@@ -33,6 +51,25 @@ public interface CommentService {
   /** 단건 조회 */
   Optional<Comment> getById(String commentId);
 
+  /** 특정 부모 댓글의 자식(대댓글) 응답 조회. 엔티티 대신 프로젝션으로 읽는다 (조회 API 용) */
+  List<CommentResponse> getReplyViewsByParent(String parentCommentId);
+
+  /** 루트 댓글 기준 스레드 전체 응답 조회. 엔티티 대신 프로젝션으로 읽는다 (조회 API 용) */
+  List<CommentResponse> getThreadViewByRoot(String rootCommentId);
+
+  /** 단건 응답 조회. 엔티티 대신 프로젝션으로 읽는다 (조회 API 용) */
+  Optional<CommentResponse> getViewById(String commentId);
+
+  /**
+   * 아티클 댓글 목록의 조회 버전 (조건부 GET 용). 목록 쿼리 없이 확인하며, 쓰기가 커밋될 때마다 바뀐다.
+   *
+   * <p>확인할 수 없거나 변경 직후(복제 지연 안)이면 empty 이고, 이때는 조건부 처리 없이 응답한다.
+   */
+  OptionalLong getArticleVersion(String articleId);
+
+  /** 루트 댓글 기준 스레드의 조회 버전 (조건부 GET 용). getArticleVersion 과 같은 규칙 */
+  OptionalLong getThreadVersion(String rootCommentId);
+
   /** 소프트 삭제 (작성자 본인만 가능) */
   void softDelete(String commentId, String requesterId);
 
@@ -1,5 +1,8 @@
 package com.teambind.commentserver.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 첫 댓글 이벤트 발행 여부를 결정하는 게이트 인터페이스.
  *
@@ -16,4 +19,22 @@ public interface FirstCommentGate {
    * @return true 이면 이번 요청이 TTL 윈도우 내 첫 댓글이므로 이벤트를 발행해야 함. false 이면 스킵.
    */
   boolean isFirstWithinWindow(String articleId, String writerId);
+
+  /**
+   * 여러 조합을 한 번에 판정한다. 같은 조합이 여러 번 있으면 앞선 것만 첫 댓글이 될 수 있다.
+   *
+   * <p>기본 구현은 하나씩 판정한다. Redis 구현은 파이프라인으로 한 번에 보낸다.
+   *
+   * @return candidates 와 같은 순서의 판정 결과
+   */
+  default List<Boolean> isFirstWithinWindow(List<Candidate> candidates) {
+    List<Boolean> results = new ArrayList<>(candidates.size());
+    for (Candidate c : candidates) {
+      results.add(isFirstWithinWindow(c.articleId(), c.writerId()));
+    }
+    return results;
+  }
+
+  /** 판정 대상 (아티클 ID, 작성자 ID) */
+  record Candidate(String articleId, String writerId) {}
 }
@@ -0,0 +1,172 @@
+package com.teambind.commentserver.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아티클별 댓글 수 Redis 캐시 (read-through).
+ *
+ * <p>동작:
+ * - 키: c:count:v1:{articleId}, 값: 댓글 수 문자열, TTL 적용
+ * - 조회: MGET 한 번으로 여러 키를 조회하고, miss 만 호출자가 DB에서 읽어 파이프라인 SET EX 로 채움
+ * - 증감: 키가 존재할 때만 INCRBY 하는 Lua 스크립트로 원자적으로 반영 (0 미만 방지)
+ *
+ * <p>miss 적재와 증감이 겹치면 TTL 동안 오차가 남을 수 있으므로 TTL 은 짧게 유지합니다. Redis 장애 시에는 miss/no-op 으로 처리하여 DB 경로로
+ * 동작합니다.
+ */
+@Slf4j
+@Component
+public class ArticleCommentCountCache {
+
+  private static final String KEY_PREFIX = "c:count:v1:";
+
+  // 키가 있을 때만 INCRBY, 결과가 음수면 0으로 보정
+  private static final RedisScript<Long> INCR_IF_EXISTS =
+      new DefaultRedisScript<>(
+          "if redis.call('EXISTS', KEYS[1]) == 1 then "
+              + "local v = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+              + "if v < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') v = 0 end "
+              + "return v end "
+              + "return nil",
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final boolean enabled;
+  private final Duration ttl;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  public ArticleCommentCountCache(
+      StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${comment.count.cache.enabled:true}") boolean enabled,
+      @Value("${comment.count.cache.ttl:PT1M}") Duration ttl) {
+    this.redisTemplate = redisTemplate;
+    this.enabled = enabled;
+    this.ttl = ttl;
+    this.hitCounter =
+        Counter.builder("comment.count.cache.requests")
+            .tag("result", "hit")
+            .register(meterRegistry);
+    this.missCounter =
+        Counter.builder("comment.count.cache.requests")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    Gauge.builder("comment.count.cache.hit.ratio", this, ArticleCommentCountCache::hitRatio)
+        .description("댓글 수 캐시 적중률 (기동 이후 누적)")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 캐시에 있는 항목만 반환합니다. (MGET 1회)
+   *
+   * @return articleId -> 캐시된 댓글 수. 반환되지 않은 id는 miss
+   */
+  public Map<String, Integer> getAll(List<String> articleIds) {
+    Map<String, Integer> hits = new HashMap<>();
+    if (articleIds.isEmpty()) {
+      return hits;
+    }
+    List<String> values;
+    try {
+      values = redisTemplate.opsForValue().multiGet(articleIds.stream().map(this::key).toList());
+    } catch (DataAccessException ex) {
+      log.warn(
+          "[CountCache] MGET 실패로 DB 조회로 대체 size={}, err={}", articleIds.size(), ex.getMessage());
+      missCounter.increment(articleIds.size());
+      return hits;
+    }
+
+    for (int i = 0; i < articleIds.size(); i++) {
+      String value = values == null ? null : values.get(i);
+      if (value != null) {
+        hits.put(articleIds.get(i), Integer.parseInt(value));
+      }
+    }
+    hitCounter.increment(hits.size());
+    missCounter.increment(articleIds.size() - hits.size());
+    return hits;
+  }
+
+  /** DB에서 읽은 값을 파이프라인 SET EX 로 캐시에 채웁니다. */
+  public void putAll(Map<String, Integer> counts) {
+    if (counts.isEmpty()) {
+      return;
+    }
+    Expiration expiration = Expiration.from(ttl);
+    try {
+      redisTemplate.executePipelined(
+          (RedisCallback<Object>)
+              connection -> {
+                counts.forEach(
+                    (articleId, count) ->
+                        connection
+                            .stringCommands()
+                            .set(
+                                bytes(key(articleId)),
+                                bytes(String.valueOf(count)),
+                                expiration,
+                                SetOption.upsert()));
+                return null;
+              });
+    } catch (DataAccessException ex) {
+      log.warn("[CountCache] 캐시 적재 실패 size={}, err={}", counts.size(), ex.getMessage());
+    }
+  }
+
+  /** 캐시된 값이 있으면 delta를 원자적으로 더합니다. 없으면 다음 조회 시 DB에서 적재됩니다. */
+  public void applyDelta(String articleId, long delta) {
+    if (delta == 0) {
+      return;
+    }
+    try {
+      redisTemplate.execute(INCR_IF_EXISTS, List.of(key(articleId)), String.valueOf(delta));
+    } catch (DataAccessException ex) {
+      // 증감 반영에 실패하면 오래된 값이 남지 않도록 키를 지운다 (삭제도 실패하면 TTL 만료로 회복)
+      log.warn("[CountCache] INCRBY 실패 articleId={}, err={}", articleId, ex.getMessage());
+      evict(articleId);
+    }
+  }
+
+  public void evict(String articleId) {
+    try {
+      redisTemplate.delete(key(articleId));
+    } catch (DataAccessException ex) {
+      log.warn("[CountCache] 키 삭제 실패 articleId={}, err={}", articleId, ex.getMessage());
+    }
+  }
+
+  private double hitRatio() {
+    double hits = hitCounter.count();
+    double total = hits + missCounter.count();
+    return total == 0 ? 0 : hits / total;
+  }
+
+  private String key(String articleId) {
+    return KEY_PREFIX + articleId;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,125 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.entity.Comment.CommentStatus;
+import com.teambind.commentserver.repository.ArticleCommentCountRepository;
+import com.teambind.commentserver.repository.ArticleCommentCountShardRepository;
+import com.teambind.commentserver.repository.CommentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * article_comment_counts 정합성 검사
+ *
+ * <p>comment_count(활성 댓글 수, 샤드 합계 포함)를 COUNT(is_deleted = false AND status = ACTIVE) 와 비교해
+ * 다르면 COUNT 값으로 보정합니다. 마지막 댓글 삭제 판단이 이 카운터에 의존하므로 드리프트를 조기에 잡기 위한 장치입니다.
+ *
+ * <p>동작:
+ * - 카운터 행을 FOR UPDATE 로 잠근 뒤 COUNT 를 실행하므로 검사 중 같은 아티클의 작성/삭제는 대기 (경합 없이 비교)
+ * - 주기적으로 최근 갱신된 sample-size 개 아티클을 검사
+ * - write-behind 모드에서는 미반영 delta 때문에 비교가 성립하지 않으므로 검사하지 않음
+ */
+@Slf4j
+@Component
+public class ArticleCommentCountReconciler {
+
+  private final ArticleCommentCountRepository countRepository;
+  private final ArticleCommentCountShardRepository shardRepository;
+  private final CommentRepository commentRepository;
+  private final CommentCountWriteBehindBuffer writeBehindBuffer;
+  private final ArticleCommentCountCache countCache;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int sampleSize;
+  private final Counter mismatchCounter;
+
+  public ArticleCommentCountReconciler(
+      ArticleCommentCountRepository countRepository,
+      ArticleCommentCountShardRepository shardRepository,
+      CommentRepository commentRepository,
+      CommentCountWriteBehindBuffer writeBehindBuffer,
+      ArticleCommentCountCache countCache,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${comment.count.reconcile.enabled:true}") boolean enabled,
+      @Value("${comment.count.reconcile.sample-size:100}") int sampleSize) {
+    this.countRepository = countRepository;
+    this.shardRepository = shardRepository;
+    this.commentRepository = commentRepository;
+    this.writeBehindBuffer = writeBehindBuffer;
+    this.countCache = countCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.sampleSize = sampleSize;
+    this.mismatchCounter =
+        Counter.builder("comment.count.reconcile.mismatch")
+            .description("COUNT 쿼리와 달라 보정된 아티클 댓글 수")
+            .register(meterRegistry);
+  }
+
+  /**
+   * 아티클 하나의 카운터를 COUNT 쿼리와 비교하고, 다르면 보정합니다.
+   *
+   * @return 일치하면(또는 카운터 행이 없거나 write-behind 모드면) true
+   */
+  public boolean reconcile(String articleId) {
+    if (writeBehindBuffer.isEnabled()) {
+      return true;
+    }
+    Boolean matched =
+        transactionTemplate.execute(
+            status -> {
+              Optional<Integer> base = countRepository.findCommentCountForUpdate(articleId);
+              if (base.isEmpty()) {
+                return true;
+              }
+              // 샤드 합계와 COUNT 는 같은 스냅샷에서 읽으므로 샤드 쓰기와 경합하지 않는다
+              long sharded = shardRepository.sumByArticleId(articleId);
+              long actual =
+                  commentRepository.countByArticleIdAndIsDeletedFalseAndStatus(
+                      articleId, CommentStatus.ACTIVE);
+              long stored = base.get() + sharded;
+              if (stored == actual) {
+                return true;
+              }
+              log.warn(
+                  "[CountReconcile] 카운터 불일치 보정 articleId={}, stored={}, actual={}",
+                  articleId,
+                  stored,
+                  actual);
+              countRepository.setCount(articleId, (int) (actual - sharded));
+              return false;
+            });
+    if (Boolean.FALSE.equals(matched)) {
+      mismatchCounter.increment();
+      if (countCache.isEnabled()) {
+        countCache.evict(articleId);
+      }
+      return false;
+    }
+    return true;
+  }
+
+  /** 최근 갱신된 아티클들의 카운터를 주기적으로 검사합니다. */
+  @Scheduled(fixedDelayString = "${comment.count.reconcile.interval-ms:600000}")
+  public void reconcileRecentlyUpdated() {
+    if (!enabled || writeBehindBuffer.isEnabled()) {
+      return;
+    }
+    List<String> articleIds = countRepository.findRecentlyUpdatedArticleIds(sampleSize);
+    for (String articleId : articleIds) {
+      try {
+        reconcile(articleId);
+      } catch (Exception ex) {
+        log.warn("[CountReconcile] 검사 실패 articleId={}, err={}", articleId, ex.getMessage());
+      }
+    }
+  }
+}
@@ -2,11 +2,16 @@ package com.teambind.commentserver.service.impl;
 
 import com.teambind.commentserver.entity.ArticleCommentCount;
 import com.teambind.commentserver.repository.ArticleCommentCountRepository;
+import com.teambind.commentserver.repository.ArticleCommentCountShardRepository;
+import com.teambind.commentserver.repository.projection.ArticleCountSum;
 import com.teambind.commentserver.service.ArticleCommentCountService;
+import com.teambind.commentserver.utils.transaction.AfterCommit;
+import io.micrometer.core.annotation.Timed;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import lombok.RequiredArgsConstructor;
@@ -19,18 +24,49 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <p>동작 원칙: - 가급적 repository의 원자적 쿼리(upsertAndAdd / increment / decrement)를 사용하여 경쟁 조건을 줄임. - 레코드
  * 미존재 시 upsertAndAdd 로 생성 처리.
+ *
+ * <p>write-behind 모드(comment.count.write-behind.enabled=true): 증감 delta는 커밋 이후
+ * {@link CommentCountWriteBehindBuffer} 에 누적되고 스케줄러가 일괄 반영합니다. 조회 시에는 아직 반영되지 않은 delta를 더해
+ * 돌려줍니다.
+ *
+ * <p>comment_count 는 활성(삭제되지 않은) 댓글 수입니다. 작성 시 +1, 소프트 삭제 시 -1 하며
+ * {@link ArticleCommentCountReconciler} 가 주기적으로 COUNT 쿼리와 대조합니다.
+ *
+ * <p>샤딩(comment.count.sharding.enabled=true): 쓰기가 몰리는 아티클의 증감은 {@link CommentCountShards} 가 고른
+ * 샤드 행에 더합니다. 조회는 항상 기본 행 + 샤드 합계입니다.
+ *
+ * <p>캐시(comment.count.cache.enabled=true): 배치 조회는 {@link ArticleCommentCountCache} 를 먼저 조회하고 miss 만 DB에서
+ * 읽어 채웁니다. 증감은 커밋 이후 캐시에도 원자적으로 반영됩니다.
  */
 @Service
+@Timed(value = "comment.count.service", description = "아티클 댓글 수 서비스 메서드 실행 시간")
 @RequiredArgsConstructor
 @Slf4j
 public class ArticleCommentCountServiceImpl implements ArticleCommentCountService {
 
   private final ArticleCommentCountRepository repository;
+  private final CommentCountWriteBehindBuffer writeBehindBuffer;
+  private final ArticleCommentCountCache countCache;
+  private final ArticleCommentCountShardRepository shardRepository;
+  private final CommentCountShards shards;
 
   @Override
   @Transactional(readOnly = true)
   public Optional<Integer> getCount(String articleId) {
-    return repository.findById(articleId).map(ArticleCommentCount::getCommentCount);
+    Optional<Integer> stored =
+        repository.findById(articleId).map(ArticleCommentCount::getCommentCount);
+    long sharded = shardRepository.sumByArticleId(articleId);
+    if (sharded != 0) {
+      stored = Optional.of(applyPending(stored.orElse(0), sharded));
+    }
+    if (!writeBehindBuffer.isEnabled()) {
+      return stored;
+    }
+    long pendingDelta = writeBehindBuffer.pendingDelta(articleId);
+    if (stored.isEmpty() && pendingDelta == 0) {
+      return stored;
+    }
+    return Optional.of(applyPending(stored.orElse(0), pendingDelta));
   }
 
   @Override
@@ -39,6 +75,9 @@ public class ArticleCommentCountServiceImpl implements ArticleCommentCountServic
     if (delta == 0) {
       return;
     }
+    if (bufferAfterCommit(articleId, delta)) {
+      return;
+    }
     try {
       int updated = repository.upsertAndAdd(articleId, delta);
       if (updated == 0) {
@@ -66,31 +105,71 @@ public class ArticleCommentCountServiceImpl implements ArticleCommentCountServic
       acc.updateCount(acc.getCommentCount() + delta);
       repository.save(acc);
     }
+    refreshCacheAfterCommit(articleId, delta);
   }
 
   @Override
   @Transactional
   public void increment(String articleId) {
+    if (bufferAfterCommit(articleId, 1) || addToShard(articleId, 1)) {
+      return;
+    }
     int updated = repository.incrementCommentCount(articleId);
     if (updated == 0) {
       // 레코드가 없을 경우 생성 (delta = 1)
       repository.upsertAndAdd(articleId, 1);
     }
+    refreshCacheAfterCommit(articleId, 1);
   }
 
   @Override
   @Transactional
   public void decrement(String articleId) {
+    if (bufferAfterCommit(articleId, -1) || addToShard(articleId, -1)) {
+      return;
+    }
     int updated = repository.decrementCommentCount(articleId);
     if (updated == 0) {
       // 만약 레코드가 없다면 생성할 필요 없음(기본 0). 하지만 안전하게 upsert로 보정 가능
       repository.upsertAndAdd(articleId, 0);
     }
+    refreshCacheAfterCommit(articleId, -1);
+  }
+
+  @Override
+  @Transactional
+  public OptionalInt decrementAndGetRemaining(String articleId) {
+    if (bufferAfterCommit(articleId, -1)) {
+      return OptionalInt.empty();
+    }
+    // 기본 행을 잠가 같은 아티클의 삭제끼리 직렬화한다 (샤드 쓰기인 작성은 막지 않음)
+    Optional<Integer> base = repository.findCommentCountForUpdate(articleId);
+    boolean sharded = shardRepository.existsByArticleId(articleId);
+    if (base.isEmpty()) {
+      if (!sharded) {
+        return OptionalInt.empty();
+      }
+      // 샤드로만 집계된 아티클: 직렬화용 기본 행을 만든다 (upsert 가 행 락을 잡음)
+      repository.upsertAndAdd(articleId, 0);
+    }
+    if (sharded) {
+      // 샤드가 있으면 기본 행은 0 에서 더 내려갈 수 없으므로 샤드에서 뺀다
+      shardRepository.addToShard(articleId, Math.max(1, shards.shardFor(articleId)), -1);
+    } else {
+      repository.decrementCommentCount(articleId);
+    }
+    refreshCacheAfterCommit(articleId, -1);
+    long remaining =
+        repository.findCommentCount(articleId).orElse(0)
+            + shardRepository.sumByArticleId(articleId);
+    return OptionalInt.of((int) Math.max(0, remaining));
   }
 
   @Override
   @Transactional
   public void setCount(String articleId, int count) {
+    // 샤드가 있으면 기본 행 + 샤드 합계가 count 가 되도록 기본 행을 맞춘다
+    count -= (int) shardRepository.sumByArticleId(articleId);
     // 존재하지 않으면 save, 존재하면 update
     int updated = repository.setCount(articleId, count);
     if (updated == 0) {
@@ -102,6 +181,9 @@ public class ArticleCommentCountServiceImpl implements ArticleCommentCountServic
       acc.updateCount(count);
       repository.save(acc);
     }
+    if (countCache.isEnabled()) {
+      AfterCommit.run(() -> countCache.evict(articleId));
+    }
   }
 
   @Override
@@ -113,6 +195,31 @@ public class ArticleCommentCountServiceImpl implements ArticleCommentCountServic
       return result;
     }
 
+    // 캐시 hit 를 먼저 채우고, miss 만 DB에서 한 번에 읽는다
+    Map<String, Integer> cached =
+        countCache.isEnabled() ? countCache.getAll(articleIds) : Map.of();
+    List<String> misses =
+        articleIds.stream().filter(id -> !cached.containsKey(id)).distinct().toList();
+    Map<String, Integer> loaded = loadCounts(misses);
+    if (countCache.isEnabled()) {
+      countCache.putAll(loaded);
+    }
+
+    // 요청된 articleIds 순서대로 채움. 없는 항목은 0으로 채움.
+    for (String id : articleIds) {
+      result.put(id, cached.containsKey(id) ? cached.get(id) : loaded.getOrDefault(id, 0));
+    }
+
+    return result;
+  }
+
+  /** DB에서 주어진 articleId 들의 댓글 수를 읽습니다. 레코드가 없는 id는 0으로 채웁니다. */
+  private Map<String, Integer> loadCounts(List<String> articleIds) {
+    Map<String, Integer> loaded = new LinkedHashMap<>();
+    if (articleIds.isEmpty()) {
+      return loaded;
+    }
+
     // repository.findAllById 사용: 반환은 Iterable<ArticleCommentCount>
     Iterable<ArticleCommentCount> iterable = repository.findAllById(articleIds);
     List<ArticleCommentCount> rows = StreamSupport.stream(iterable.spliterator(), false).toList();
@@ -124,11 +231,56 @@ public class ArticleCommentCountServiceImpl implements ArticleCommentCountServic
                 Collectors.toMap(
                     ArticleCommentCount::getArticleId, ArticleCommentCount::getCommentCount));
 
-    // 요청된 articleIds 순서대로 채움. 없는 항목은 0으로 채움.
+    Map<String, Long> sharded =
+        shardRepository.sumByArticleIds(articleIds).stream()
+            .collect(Collectors.toMap(ArticleCountSum::articleId, ArticleCountSum::commentCount));
+
     for (String id : articleIds) {
-      result.put(id, existing.getOrDefault(id, 0));
+      int count = applyPending(existing.getOrDefault(id, 0), sharded.getOrDefault(id, 0L));
+      if (writeBehindBuffer.isEnabled()) {
+        count = applyPending(count, writeBehindBuffer.pendingDelta(id));
+      }
+      loaded.put(id, count);
     }
+    return loaded;
+  }
 
-    return result;
+  /**
+   * write-behind 모드이면 delta를 커밋 이후 버퍼에 누적하고 true 를 반환합니다. (롤백된 요청의 delta는 반영되지 않음)
+   */
+  private boolean bufferAfterCommit(String articleId, long delta) {
+    if (!writeBehindBuffer.isEnabled()) {
+      return false;
+    }
+    AfterCommit.run(
+        () -> {
+          writeBehindBuffer.add(articleId, delta);
+          if (countCache.isEnabled()) {
+            countCache.applyDelta(articleId, delta);
+          }
+        });
+    return true;
+  }
+
+  /** 샤딩 중인 아티클이면 샤드 행에 delta를 더하고 true 를 반환합니다. */
+  private boolean addToShard(String articleId, int delta) {
+    int shard = shards.shardFor(articleId);
+    if (shard == 0) {
+      return false;
+    }
+    shardRepository.addToShard(articleId, shard, delta);
+    refreshCacheAfterCommit(articleId, delta);
+    return true;
+  }
+
+  /** 커밋 이후 캐시된 댓글 수에 delta를 반영합니다. */
+  private void refreshCacheAfterCommit(String articleId, long delta) {
+    if (countCache.isEnabled()) {
+      AfterCommit.run(() -> countCache.applyDelta(articleId, delta));
+    }
+  }
+
+  private int applyPending(int stored, long pendingDelta) {
+    return (int) Math.max(0, stored + pendingDelta);
   }
 }
@@ -0,0 +1,250 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.event.invalidation.CacheInvalidation;
+import com.teambind.commentserver.event.invalidation.CacheInvalidationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+/**
+ * 핫 아티클 앞쪽 페이지(visibleCount)의 직렬화된 응답 캐시 (노드 로컬 + Redis 2계층).
+ *
+ * <p>동작:
+ * - 키: c:page:v1:{articleId}:{version}:{page}:{pageSize}:{gz|id}, 값: JSON 응답 바이트 (gzip 설정 시 압축)
+ * - 조회: 로컬 LRU → Redis GET → miss 면 호출자가 직렬화한 바이트를 두 계층에 채운다
+ * - 무효화: 키에 아티클 조회 버전(CommentReadVersions)이 들어가므로 쓰기 커밋마다 버전이 올라가면 이전 항목은 더 이상 조회되지
+ *   않고 LRU/TTL 로 밀려난다. 다른 노드의 쓰기는 무효화 버스 메시지로 받아 로컬 계층의 이전 버전 항목을 미리 비운다
+ * - 만료: 두 계층 모두 redis-ttl. 로컬 항목도 만료되므로 잘못 채워진 페이지가 다음 쓰기까지 남지 않는다
+ *
+ * <p>버전이 확정(settle)된 경우에만 사용하므로 읽기 복제본의 지연된 데이터가 새 버전으로 캐시되지 않는다 (settle 은 복제본 지연
+ * 상한보다 길게 강제됨, CommentReadVersions). Redis 장애 시에는 로컬 계층과 DB 경로로 동작한다.
+ */
+@Slf4j
+@Component
+public class ArticlePageCache implements CacheInvalidationListener {
+
+  private static final String KEY_PREFIX = "c:page:v1:";
+
+  private final StringRedisTemplate redisTemplate;
+  private final boolean enabled;
+  private final int maxPage;
+  private final int maxEntryBytes;
+  private final boolean gzip;
+  private final Duration redisTtl;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, LocalEntry> local;
+  private final Counter localHitCounter;
+  private final Counter redisHitCounter;
+  private final Counter missCounter;
+  private final Counter tooLargeCounter;
+
+  public ArticlePageCache(
+      StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${comment.page-cache.enabled:true}") boolean enabled,
+      @Value("${comment.page-cache.max-page:1}") int maxPage,
+      @Value("${comment.page-cache.max-entries:1000}") int maxEntries,
+      @Value("${comment.page-cache.max-entry-bytes:262144}") int maxEntryBytes,
+      @Value("${comment.page-cache.gzip:true}") boolean gzip,
+      @Value("${comment.page-cache.redis-ttl:PT1M}") Duration redisTtl) {
+    this.redisTemplate = redisTemplate;
+    this.enabled = enabled;
+    this.maxPage = maxPage;
+    this.maxEntryBytes = maxEntryBytes;
+    this.gzip = gzip;
+    this.redisTtl = redisTtl;
+    this.local =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+            return size() > maxEntries;
+          }
+        };
+    this.localHitCounter = requestCounter(meterRegistry, "local_hit");
+    this.redisHitCounter = requestCounter(meterRegistry, "redis_hit");
+    this.missCounter = requestCounter(meterRegistry, "miss");
+    this.tooLargeCounter =
+        Counter.builder("comment.page_cache.too_large")
+            .description("max-entry-bytes 를 넘어 캐시하지 않은 페이지 수")
+            .register(meterRegistry);
+    Gauge.builder("comment.page_cache.local.entries", this, ArticlePageCache::localSize)
+        .description("노드 로컬 계층에 있는 페이지 수")
+        .register(meterRegistry);
+  }
+
+  /** 캐시 대상 페이지인지 (0 ~ max-page) */
+  public boolean isCacheable(int page, int pageSize) {
+    return enabled && page >= 0 && page <= maxPage && pageSize > 0;
+  }
+
+  /** 캐시된 바이트가 gzip 으로 압축되어 있는지 */
+  public boolean isGzip() {
+    return gzip;
+  }
+
+  /**
+   * 직렬화된 페이지를 반환한다. 두 계층 모두 없으면 loader(JSON 바이트)로 만들어 채운다.
+   *
+   * @return isGzip() 이면 gzip 으로 압축된 바이트
+   */
+  public byte[] get(
+      String articleId, long version, int page, int pageSize, Supplier<byte[]> loader) {
+    String key =
+        "%s%s:%d:%d:%d:%s"
+            .formatted(KEY_PREFIX, articleId, version, page, pageSize, gzip ? "gz" : "id");
+
+    byte[] cached = getLocal(key);
+    if (cached != null) {
+      localHitCounter.increment();
+      return cached;
+    }
+    cached = getRedis(key);
+    if (cached != null) {
+      redisHitCounter.increment();
+      putLocal(key, cached);
+      return cached;
+    }
+
+    missCounter.increment();
+    byte[] body = gzip ? gzip(loader.get()) : loader.get();
+    if (body.length > maxEntryBytes) {
+      tooLargeCounter.increment();
+      return body;
+    }
+    putLocal(key, body);
+    putRedis(key, body);
+    return body;
+  }
+
+  /** 다른 노드의 쓰기 이후 더 이상 조회되지 않을 로컬 항목(메시지 버전보다 낮은 버전)을 지운다. */
+  @Override
+  public void onRemoteInvalidation(CacheInvalidation invalidation) {
+    String prefix = KEY_PREFIX + invalidation.articleId() + ":";
+    lock.lock();
+    try {
+      Iterator<String> keys = local.keySet().iterator();
+      while (keys.hasNext()) {
+        String key = keys.next();
+        if (key.startsWith(prefix) && versionOf(key, prefix) < invalidation.version()) {
+          keys.remove();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int localSize() {
+    lock.lock();
+    try {
+      return local.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private byte[] getLocal(String key) {
+    lock.lock();
+    try {
+      LocalEntry entry = local.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.isExpired()) {
+        local.remove(key);
+        return null;
+      }
+      return entry.body();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void putLocal(String key, byte[] body) {
+    lock.lock();
+    try {
+      local.put(key, new LocalEntry(body, System.nanoTime() + redisTtl.toNanos()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private byte[] getRedis(String key) {
+    try {
+      return redisTemplate.execute(
+          (RedisCallback<byte[]>) connection -> connection.stringCommands().get(bytes(key)));
+    } catch (DataAccessException ex) {
+      log.debug("[PageCache] Redis 조회 실패 key={}, err={}", key, ex.getMessage());
+      return null;
+    }
+  }
+
+  private void putRedis(String key, byte[] body) {
+    try {
+      redisTemplate.execute(
+          (RedisCallback<Boolean>)
+              connection ->
+                  connection
+                      .stringCommands()
+                      .set(bytes(key), body, Expiration.from(redisTtl), SetOption.upsert()));
+    } catch (DataAccessException ex) {
+      log.debug("[PageCache] Redis 적재 실패 key={}, err={}", key, ex.getMessage());
+    }
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+    try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+      gz.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /** 키의 버전. ':' 가 들어간 다른 articleId 의 키면 지우지 않도록 Long.MAX_VALUE */
+  private static long versionOf(String key, String prefix) {
+    int end = key.indexOf(':', prefix.length());
+    try {
+      return Long.parseLong(key.substring(prefix.length(), end));
+    } catch (RuntimeException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  private record LocalEntry(byte[] body, long expiresAtNanos) {
+    boolean isExpired() {
+      return expiresAtNanos - System.nanoTime() <= 0;
+    }
+  }
+
+  private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("comment.page_cache.requests")
+        .description("직렬화 페이지 캐시 조회 결과 수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,333 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.event.invalidation.CacheInvalidation;
+import com.teambind.commentserver.event.invalidation.CacheInvalidationListener;
+import com.teambind.commentserver.repository.CommentRepository;
+import com.teambind.commentserver.repository.projection.RootPageEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아티클별 루트 댓글 페이지 인덱스 (노드 로컬 메모리).
+ *
+ * <p>루트가 많은(deep history) 아티클에 대해 (rootId, createdAt, 표시 크기) 인덱스를 유지하여, visibleCount 페이지 경계를 윈도우
+ * 쿼리(findRootIdsForPage) 없이 이진 탐색으로 계산합니다.
+ *
+ * <p>동작:
+ * - 첫 조회 시 DB에서 루트 목록을 읽어 빌드. 루트 수가 min-roots 미만이면 "얕은 아티클"로 기록하고 윈도우 쿼리 사용
+ * - 루트 생성/답글 추가/루트 삭제는 커밋 이후 증분 반영 (빌드 중 발생한 변경은 빌드 완료 시 다시 반영)
+ * - 다른 노드의 쓰기는 무효화 버스(CacheInvalidationBus) 메시지로 폐기. 놓친 메시지에 대비해 ttl 이 지나면 다시 빌드하고,
+ *   주기적으로 윈도우 쿼리와 비교해 불일치 시 폐기
+ * - 최대 max-articles 개 아티클만 LRU 로 유지
+ */
+@Slf4j
+@Component
+public class ArticlePageIndex implements CacheInvalidationListener {
+
+  private final CommentRepository commentRepository;
+  private final boolean enabled;
+  private final int minRoots;
+  private final Duration ttl;
+  private final int checkPages;
+  private final int checkPageSize;
+  private final Counter mismatchCounter;
+  private final ReentrantLock registryLock = new ReentrantLock();
+  private final LinkedHashMap<String, Entry> entries;
+
+  public ArticlePageIndex(
+      CommentRepository commentRepository,
+      MeterRegistry meterRegistry,
+      @Value("${comment.page-index.enabled:false}") boolean enabled,
+      @Value("${comment.page-index.max-articles:1000}") int maxArticles,
+      @Value("${comment.page-index.min-roots:200}") int minRoots,
+      @Value("${comment.page-index.ttl:PT5M}") Duration ttl,
+      @Value("${comment.page-index.consistency-check.pages:5}") int checkPages,
+      @Value("${comment.page-index.consistency-check.page-size:20}") int checkPageSize) {
+    this.commentRepository = commentRepository;
+    this.enabled = enabled;
+    this.minRoots = minRoots;
+    this.ttl = ttl;
+    this.checkPages = checkPages;
+    this.checkPageSize = checkPageSize;
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxArticles;
+          }
+        };
+    this.mismatchCounter =
+        Counter.builder("comment.page_index.mismatch")
+            .description("윈도우 쿼리와 결과가 달라 폐기된 인덱스 수")
+            .register(meterRegistry);
+    Gauge.builder("comment.page_index.articles", this, ArticlePageIndex::size)
+        .description("메모리에 유지 중인 아티클 인덱스 수")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 인덱스로 page 의 루트 id 목록(최신순)을 계산합니다.
+   *
+   * @return 인덱스를 사용할 수 없으면(비활성, 얕은 아티클, 빌드 중) empty. 호출자는 윈도우 쿼리로 폴백
+   */
+  public Optional<List<Long>> findRootIdsForPage(String articleId, int page, int pageSize) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    Entry entry = acquire(articleId);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    entry.lock.lock();
+    try {
+      if (entry.index == null) {
+        return Optional.empty();
+      }
+      long prevLimit = (long) page * pageSize;
+      long currLimit = (long) (page + 1) * pageSize;
+      return Optional.of(entry.index.rootIdsForPage(prevLimit, currLimit));
+    } finally {
+      entry.lock.unlock();
+    }
+  }
+
+  /** 루트 댓글 생성 반영 (커밋 이후 호출) */
+  public void onRootCreated(String articleId, Long rootId, Instant createdAt) {
+    mutate(
+        articleId,
+        entry -> {
+          if (entry.index != null) {
+            entry.index.insert(rootId, createdAt, 1);
+          } else if (entry.building) {
+            entry.createdDuringBuild.add(new RootPageEntry(rootId, createdAt, 0));
+          }
+        });
+  }
+
+  /** 루트의 답글 수 변화 반영 (커밋 이후 호출) */
+  public void onReplyCountChanged(String articleId, Long rootId, int delta) {
+    mutate(
+        articleId,
+        entry -> {
+          if (entry.building) {
+            entry.touchedDuringBuild.add(rootId);
+          } else if (entry.index != null) {
+            entry.index.addSize(rootId, delta);
+          }
+        });
+  }
+
+  /** 루트 댓글 삭제 반영 (커밋 이후 호출) */
+  public void onRootRemoved(String articleId, Long rootId) {
+    mutate(
+        articleId,
+        entry -> {
+          if (entry.building) {
+            entry.touchedDuringBuild.add(rootId);
+          } else if (entry.index != null) {
+            entry.index.remove(rootId);
+          }
+        });
+  }
+
+  /** 아티클 인덱스를 폐기합니다. 다음 조회 시 DB에서 다시 빌드됩니다. */
+  public void invalidate(String articleId) {
+    registryLock.lock();
+    try {
+      entries.remove(articleId);
+    } finally {
+      registryLock.unlock();
+    }
+  }
+
+  /** 다른 노드에서 루트/답글 수가 바뀌었으므로 아티클 인덱스를 폐기한다. */
+  @Override
+  public void onRemoteInvalidation(CacheInvalidation invalidation) {
+    invalidate(invalidation.articleId());
+  }
+
+  /**
+   * 인덱스 결과를 윈도우 쿼리(findRootIdsForPage) 결과와 page 단위로 비교합니다. 불일치하면 인덱스를 폐기합니다.
+   *
+   * @return 일치하면(또는 비교할 인덱스가 없으면) true
+   */
+  public boolean checkConsistency(String articleId, int pages, int pageSize) {
+    Entry entry = peek(articleId);
+    if (entry == null) {
+      return true;
+    }
+    for (int page = 0; page < pages; page++) {
+      long prevLimit = (long) page * pageSize;
+      long currLimit = (long) (page + 1) * pageSize;
+      List<Long> fromIndex;
+      entry.lock.lock();
+      try {
+        if (entry.index == null) {
+          return true;
+        }
+        fromIndex = entry.index.rootIdsForPage(prevLimit, currLimit);
+      } finally {
+        entry.lock.unlock();
+      }
+      List<Long> fromQuery =
+          commentRepository.findRootIdsForPage(articleId, prevLimit, currLimit);
+      if (!Objects.equals(fromIndex, fromQuery)) {
+        log.warn(
+            "[PageIndex] 윈도우 쿼리와 불일치하여 인덱스 폐기 articleId={}, page={}, index={}, query={}",
+            articleId,
+            page,
+            fromIndex.size(),
+            fromQuery.size());
+        mismatchCounter.increment();
+        invalidate(articleId);
+        return false;
+      }
+      if (fromQuery.isEmpty()) {
+        break;
+      }
+    }
+    return true;
+  }
+
+  /** 유지 중인 인덱스들을 주기적으로 윈도우 쿼리와 대조합니다. */
+  @Scheduled(fixedDelayString = "${comment.page-index.consistency-check.interval-ms:600000}")
+  public void checkConsistencyOfIndexedArticles() {
+    if (!enabled) {
+      return;
+    }
+    List<String> articleIds;
+    registryLock.lock();
+    try {
+      articleIds = new ArrayList<>(entries.keySet());
+    } finally {
+      registryLock.unlock();
+    }
+    for (String articleId : articleIds) {
+      try {
+        checkConsistency(articleId, checkPages, checkPageSize);
+      } catch (Exception ex) {
+        log.warn("[PageIndex] 정합성 검사 실패 articleId={}, err={}", articleId, ex.getMessage());
+      }
+    }
+  }
+
+  int size() {
+    registryLock.lock();
+    try {
+      return entries.size();
+    } finally {
+      registryLock.unlock();
+    }
+  }
+
+  /** 유효한 엔트리를 반환하고, 없거나 만료됐으면 현재 스레드가 빌드합니다. 다른 스레드가 빌드 중이면 null. */
+  private Entry acquire(String articleId) {
+    Entry entry;
+    registryLock.lock();
+    try {
+      entry = entries.get(articleId);
+      if (entry != null && !entry.isExpired(ttl)) {
+        return entry.building ? null : entry;
+      }
+      entry = new Entry();
+      entries.put(articleId, entry);
+    } finally {
+      registryLock.unlock();
+    }
+    build(articleId, entry);
+    return entry;
+  }
+
+  private void build(String articleId, Entry entry) {
+    List<RootPageEntry> roots;
+    try {
+      roots = commentRepository.findAllRootEntries(articleId);
+    } catch (RuntimeException ex) {
+      invalidate(articleId);
+      throw ex;
+    }
+
+    entry.lock.lock();
+    try {
+      if (roots.size() >= minRoots) {
+        ArticleRootIndex index = ArticleRootIndex.of(roots);
+        for (RootPageEntry created : entry.createdDuringBuild) {
+          index.insert(created.commentId(), created.createdAt(), (int) created.visibleSize());
+        }
+        entry.index = index;
+      }
+      Set<Long> touchedIds = new HashSet<>(entry.touchedDuringBuild);
+      if (entry.index != null && !touchedIds.isEmpty()) {
+        // 빌드 중 크기가 바뀐 루트는 현재 값으로 다시 맞춘다 (삭제된 루트는 조회되지 않으므로 0)
+        List<RootPageEntry> touched =
+            commentRepository.findActiveRootEntriesByIds(articleId, List.copyOf(touchedIds));
+        touchedIds.forEach(id -> entry.index.setSize(id, 0));
+        touched.forEach(e -> entry.index.setSize(e.commentId(), (int) e.visibleSize()));
+      }
+      entry.createdDuringBuild.clear();
+      entry.touchedDuringBuild.clear();
+      entry.building = false;
+    } finally {
+      entry.lock.unlock();
+    }
+  }
+
+  private Entry peek(String articleId) {
+    registryLock.lock();
+    try {
+      return entries.get(articleId);
+    } finally {
+      registryLock.unlock();
+    }
+  }
+
+  private void mutate(String articleId, Consumer<Entry> mutation) {
+    if (!enabled) {
+      return;
+    }
+    Entry entry = peek(articleId);
+    if (entry == null) {
+      return;
+    }
+    entry.lock.lock();
+    try {
+      mutation.accept(entry);
+    } finally {
+      entry.lock.unlock();
+    }
+  }
+
+  private static final class Entry {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long createdAtNanos = System.nanoTime();
+    private volatile boolean building = true;
+    private ArticleRootIndex index; // null 이면 얕은 아티클(윈도우 쿼리 사용)
+    private final List<RootPageEntry> createdDuringBuild = new ArrayList<>();
+    private final Set<Long> touchedDuringBuild = new HashSet<>();
+
+    private boolean isExpired(Duration ttl) {
+      return System.nanoTime() - createdAtNanos > ttl.toNanos();
+    }
+  }
+}
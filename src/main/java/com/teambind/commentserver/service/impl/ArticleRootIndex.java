@@ -0,0 +1,201 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.repository.projection.RootPageEntry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 아티클의 루트 댓글 페이지 인덱스 (스레드 안전하지 않음, 호출자가 잠금).
+ *
+ * <p>루트를 (created_at, comment_id) 오름차순 배열로 보관하고, 루트별 표시 크기(reply_count + 1)를 Fenwick tree 로 누적합니다.
+ * 최신순 누적 합 cum(j) = total - prefix(j) 이므로 page 경계 (prev, curr] 는 prefix 에 대한 이진 탐색 두 번으로 찾습니다.
+ *
+ * <p>삭제된 루트는 크기 0 으로 남겨 두고 페이지 결과에서 제외합니다. (재빌드 시 정리)
+ */
+final class ArticleRootIndex {
+
+  private static final Comparator<Key> ORDER =
+      Comparator.comparing(Key::createdAt).thenComparing(Key::commentId);
+
+  private Key[] keys;
+  private int[] sizes;
+  private long[] tree; // 1-based Fenwick tree
+  private int count;
+  private long total;
+  private final Map<Long, Integer> positions = new HashMap<>();
+
+  private ArticleRootIndex(int capacity) {
+    this.keys = new Key[Math.max(capacity, 16)];
+    this.sizes = new int[keys.length];
+    this.tree = new long[keys.length + 1];
+  }
+
+  /** (created_at, comment_id) 오름차순으로 정렬된 루트 목록으로 인덱스를 만든다. */
+  static ArticleRootIndex of(List<RootPageEntry> rootsAscending) {
+    ArticleRootIndex index = new ArticleRootIndex(rootsAscending.size() * 2);
+    for (RootPageEntry e : rootsAscending) {
+      index.keys[index.count] = new Key(e.createdAt(), e.commentId());
+      index.sizes[index.count] = (int) e.visibleSize();
+      index.positions.put(e.commentId(), index.count);
+      index.count++;
+    }
+    index.rebuildTree();
+    return index;
+  }
+
+  int rootCount() {
+    return count;
+  }
+
+  long totalVisible() {
+    return total;
+  }
+
+  boolean contains(Long rootId) {
+    return positions.containsKey(rootId);
+  }
+
+  /** 새 루트를 정렬 위치에 추가한다. 최신 루트(맨 뒤) 추가는 O(log n), 중간 삽입은 O(n). */
+  void insert(Long rootId, Instant createdAt, int size) {
+    if (contains(rootId)) {
+      return;
+    }
+    ensureCapacity(count + 1);
+    Key key = new Key(createdAt, rootId);
+    if (count == 0 || ORDER.compare(keys[count - 1], key) < 0) {
+      keys[count] = key;
+      sizes[count] = size;
+      positions.put(rootId, count);
+      count++;
+      // 새 노드 n 은 (n - lowbit(n), n] 구간 합을 가진다
+      int n = count;
+      tree[n] = prefixSum(n - 1) - prefixSum(n - (n & -n)) + size;
+      total += size;
+      return;
+    }
+
+    int pos = Arrays.binarySearch(keys, 0, count, key, ORDER);
+    int at = pos >= 0 ? pos : -(pos + 1);
+    System.arraycopy(keys, at, keys, at + 1, count - at);
+    System.arraycopy(sizes, at, sizes, at + 1, count - at);
+    keys[at] = key;
+    sizes[at] = size;
+    count++;
+    for (int i = at; i < count; i++) {
+      positions.put(keys[i].commentId(), i);
+    }
+    rebuildTree();
+  }
+
+  /** 루트의 표시 크기에 delta를 더한다. 인덱스에 없는 루트면 무시. */
+  void addSize(Long rootId, int delta) {
+    Integer pos = positions.get(rootId);
+    if (pos == null || sizes[pos] == 0) {
+      return;
+    }
+    add(pos, Math.max(delta, 1 - sizes[pos]));
+  }
+
+  /** 루트의 표시 크기를 지정한다. 0 이면 페이지에서 제외된다. */
+  void setSize(Long rootId, int size) {
+    Integer pos = positions.get(rootId);
+    if (pos != null) {
+      add(pos, Math.max(size, 0) - sizes[pos]);
+    }
+  }
+
+  void remove(Long rootId) {
+    setSize(rootId, 0);
+  }
+
+  /**
+   * 최신순 누적 표시 크기가 (prevLimit, currLimit] 에 들어가는 루트 id 를 최신순으로 반환한다.
+   *
+   * <p>CommentRepository.findRootIdsForPage 와 같은 경계를 만든다.
+   */
+  List<Long> rootIdsForPage(long prevLimit, long currLimit) {
+    // cum(j) <= curr  <=>  prefix(j) >= total - curr
+    // cum(j) >  prev  <=>  prefix(j) <  total - prev
+    int lo = firstPrefixAtLeast(total - currLimit);
+    int hi = Math.min(firstPrefixAtLeast(total - prevLimit) - 1, count - 1);
+    List<Long> result = new ArrayList<>();
+    for (int j = hi; j >= lo; j--) {
+      if (sizes[j] > 0) {
+        result.add(keys[j].commentId());
+      }
+    }
+    return result;
+  }
+
+  /** prefix(j) = sizes[0..j-1] 합이 target 이상이 되는 가장 작은 j (없으면 count + 1). */
+  private int firstPrefixAtLeast(long target) {
+    if (target <= 0) {
+      return 0;
+    }
+    if (target > total) {
+      return count + 1;
+    }
+    int pos = 0;
+    long remaining = target;
+    for (int step = Integer.highestOneBit(count); step > 0; step >>= 1) {
+      int next = pos + step;
+      if (next <= count && tree[next] < remaining) {
+        pos = next;
+        remaining -= tree[next];
+      }
+    }
+    // pos 는 prefix(pos) < target 인 가장 큰 위치
+    return pos + 1;
+  }
+
+  /** sizes[0..k-1] 합 */
+  private long prefixSum(int k) {
+    long sum = 0;
+    for (int i = k; i > 0; i -= i & -i) {
+      sum += tree[i];
+    }
+    return sum;
+  }
+
+  private void add(int index, int delta) {
+    if (delta == 0) {
+      return;
+    }
+    sizes[index] += delta;
+    total += delta;
+    for (int i = index + 1; i <= count; i += i & -i) {
+      tree[i] += delta;
+    }
+  }
+
+  private void rebuildTree() {
+    Arrays.fill(tree, 0);
+    total = 0;
+    for (int i = 1; i <= count; i++) {
+      tree[i] += sizes[i - 1];
+      total += sizes[i - 1];
+      int parent = i + (i & -i);
+      if (parent <= count) {
+        tree[parent] += tree[i];
+      }
+    }
+  }
+
+  private void ensureCapacity(int required) {
+    if (required <= keys.length) {
+      return;
+    }
+    int capacity = Math.max(required, keys.length * 2);
+    keys = Arrays.copyOf(keys, capacity);
+    sizes = Arrays.copyOf(sizes, capacity);
+    tree = Arrays.copyOf(tree, capacity + 1);
+    rebuildTree();
+  }
+
+  private record Key(Instant createdAt, Long commentId) {}
+}
@@ -0,0 +1,302 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.dto.BulkCommentItem;
+import com.teambind.commentserver.dto.BulkCreateCommentsResponse;
+import com.teambind.commentserver.dto.BulkItemResult;
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.event.invalidation.CacheInvalidationBus;
+import com.teambind.commentserver.exceptions.CustomException;
+import com.teambind.commentserver.exceptions.ErrorCode;
+import com.teambind.commentserver.repository.CommentBatchRepository;
+import com.teambind.commentserver.repository.CommentRepository;
+import com.teambind.commentserver.service.ArticleCommentCountService;
+import com.teambind.commentserver.service.CommentBulkIngestService;
+import com.teambind.commentserver.utils.primarykey.PrimaryKeyProvider;
+import com.teambind.commentserver.utils.primarykey.Snowflake;
+import com.teambind.commentserver.utils.transaction.AfterCommit;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * 댓글 벌크 등록 구현체
+ *
+ * <p>처리 순서:
+ * - 항목 검증 + 기존 부모 일괄 조회(findAllById) + id 블록 예약(reserveLongKeys)으로 저장할 행을 먼저 만든다
+ * - chunk-size 단위로 트랜잭션을 나눠 JDBC batch INSERT, 부모별 reply_count 합산 UPDATE, 아티클별 댓글 수 upsert 를 1회씩 실행
+ * - 청크 저장이 실패하면 그 청크만 항목 단위로 재시도하여 실패 항목을 골라낸다 (부모가 실패한 답글도 실패 처리)
+ *
+ * <p>마이그레이션/재적재 용도이므로 첫 댓글 이벤트는 발행하지 않으며, 페이지 인덱스는 커밋 이후 아티클 단위로 폐기하고 조회
+ * 버전(아티클, 답글이 추가된 스레드)은 한 번에 올린 뒤 다른 노드에 캐시 무효화를 알립니다.
+ */
+@Slf4j
+@Service
+public class CommentBulkIngestServiceImpl implements CommentBulkIngestService {
+
+  // 답글 최대 깊이 (0: 루트, 1: 1뎁스, 2: 2뎁스)
+  private static final int MAX_DEPTH = 2;
+
+  private final CommentRepository commentRepository;
+  private final CommentBatchRepository commentBatchRepository;
+  private final PrimaryKeyProvider primaryKeyProvider;
+  private final ArticleCommentCountService articleCommentCountService;
+  private final ArticlePageIndex articlePageIndex;
+  private final CommentReadVersions commentReadVersions;
+  private final CacheInvalidationBus cacheInvalidationBus;
+  private final TransactionTemplate transactionTemplate;
+  private final int maxItems;
+  private final int chunkSize;
+
+  public CommentBulkIngestServiceImpl(
+      CommentRepository commentRepository,
+      CommentBatchRepository commentBatchRepository,
+      PrimaryKeyProvider primaryKeyProvider,
+      ArticleCommentCountService articleCommentCountService,
+      ArticlePageIndex articlePageIndex,
+      CommentReadVersions commentReadVersions,
+      CacheInvalidationBus cacheInvalidationBus,
+      PlatformTransactionManager transactionManager,
+      @Value("${comment.bulk.max-items:5000}") int maxItems,
+      @Value("${comment.bulk.chunk-size:500}") int chunkSize) {
+    this.commentRepository = commentRepository;
+    this.commentBatchRepository = commentBatchRepository;
+    this.primaryKeyProvider = primaryKeyProvider;
+    this.articleCommentCountService = articleCommentCountService;
+    this.articlePageIndex = articlePageIndex;
+    this.commentReadVersions = commentReadVersions;
+    this.cacheInvalidationBus = cacheInvalidationBus;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxItems = maxItems;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public BulkCreateCommentsResponse ingest(List<BulkCommentItem> items) {
+    if (items.size() > maxItems) {
+      throw new CustomException(ErrorCode.BULK_TOO_LARGE);
+    }
+    BulkItemResult[] results = new BulkItemResult[items.size()];
+    List<PlannedRow> planned = plan(items, results);
+
+    Set<Long> failedIds = new HashSet<>();
+    for (int from = 0; from < planned.size(); from += chunkSize) {
+      writeChunk(
+          planned.subList(from, Math.min(from + chunkSize, planned.size())), results, failedIds);
+    }
+
+    int succeeded = (int) Arrays.stream(results).filter(BulkItemResult::isSuccess).count();
+    return BulkCreateCommentsResponse.builder()
+        .requested(items.size())
+        .succeeded(succeeded)
+        .failed(items.size() - succeeded)
+        .results(List.of(results))
+        .build();
+  }
+
+  /** 항목을 검증하고 저장할 행을 만든다. 검증에 실패한 항목은 results 에 바로 기록한다. */
+  private List<PlannedRow> plan(List<BulkCommentItem> items, BulkItemResult[] results) {
+    Map<Long, Comment> existingParents = loadExistingParents(items);
+    long[] ids = reserveIds(items.size());
+    Instant now = Instant.now();
+
+    Set<String> seenRefs = new HashSet<>();
+    Map<String, Comment> plannedByRef = new HashMap<>();
+    List<PlannedRow> planned = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      BulkCommentItem item = items.get(i);
+      String ref = item == null ? null : item.getClientRef();
+      try {
+        if (ref != null && !seenRefs.add(ref)) {
+          throw new CustomException(ErrorCode.INVALID_BULK_ITEM); // clientRef 중복
+        }
+        Comment comment = buildRow(ids[i], item, existingParents, plannedByRef, now);
+        if (ref != null) {
+          plannedByRef.put(ref, comment);
+        }
+        planned.add(new PlannedRow(i, ref, comment));
+      } catch (CustomException e) {
+        results[i] = BulkItemResult.failure(i, ref, e.getErrorcode());
+      }
+    }
+    return planned;
+  }
+
+  private Comment buildRow(
+      long id,
+      BulkCommentItem item,
+      Map<Long, Comment> existingParents,
+      Map<String, Comment> plannedByRef,
+      Instant now) {
+    if (item == null) {
+      throw new CustomException(ErrorCode.INVALID_BULK_ITEM);
+    }
+    long targets =
+        Stream.of(item.getArticleId(), item.getParentCommentId(), item.getParentClientRef())
+            .filter(StringUtils::hasText)
+            .count();
+    if (targets != 1 || !StringUtils.hasText(item.getWriterId())) {
+      throw new CustomException(ErrorCode.INVALID_BULK_ITEM);
+    }
+    if (!StringUtils.hasText(item.getContents())) {
+      throw new CustomException(ErrorCode.CONTENTS_REQUIRED);
+    }
+
+    Comment row;
+    if (StringUtils.hasText(item.getArticleId())) {
+      row = Comment.createRoot(id, item.getArticleId(), item.getWriterId(), item.getContents());
+    } else {
+      Comment parent =
+          StringUtils.hasText(item.getParentCommentId())
+              ? existingParents.get(parseId(item.getParentCommentId()))
+              : plannedByRef.get(item.getParentClientRef());
+      if (parent == null) {
+        throw new CustomException(ErrorCode.PARENT_COMMENT_NOT_FOUND);
+      }
+      if (parent.getDepth() >= MAX_DEPTH) {
+        throw new CustomException(ErrorCode.REPLY_DEPTH_EXCEEDED);
+      }
+      row = Comment.createReply(id, parent, item.getWriterId(), item.getContents());
+    }
+
+    // JDBC 로 저장하므로 @PrePersist 대신 직접 시각을 채운다
+    Instant createdAt = item.getCreatedAt() != null ? item.getCreatedAt() : now;
+    row.setCreatedAt(createdAt);
+    row.setUpdatedAt(createdAt);
+    return row;
+  }
+
+  /** parentCommentId 로 지정된 기존 부모 댓글을 한 번에 조회한다. */
+  private Map<Long, Comment> loadExistingParents(List<BulkCommentItem> items) {
+    List<Long> parentIds =
+        items.stream()
+            .filter(Objects::nonNull)
+            .map(item -> parseId(item.getParentCommentId()))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    Map<Long, Comment> parents = new HashMap<>();
+    for (int from = 0; from < parentIds.size(); from += chunkSize) {
+      List<Long> ids = parentIds.subList(from, Math.min(from + chunkSize, parentIds.size()));
+      commentRepository.findAllById(ids).forEach(c -> parents.put(c.getCommentId(), c));
+    }
+    return parents;
+  }
+
+  /** 항목 수만큼 id 를 블록 단위로 예약한다. (검증 실패 항목의 id 는 버려지며 Snowflake id 의 빈틈으로 남는다) */
+  private long[] reserveIds(int count) {
+    long[] ids = new long[count];
+    for (int from = 0; from < count; from += Snowflake.MAX_RESERVE) {
+      int size = Math.min(Snowflake.MAX_RESERVE, count - from);
+      System.arraycopy(primaryKeyProvider.reserveLongKeys(size), 0, ids, from, size);
+    }
+    return ids;
+  }
+
+  private void writeChunk(List<PlannedRow> chunk, BulkItemResult[] results, Set<Long> failedIds) {
+    List<PlannedRow> rows = new ArrayList<>(chunk.size());
+    for (PlannedRow row : chunk) {
+      if (failedIds.contains(row.comment().getParentCommentId())) {
+        fail(row, ErrorCode.PARENT_COMMENT_NOT_FOUND, results, failedIds);
+      } else {
+        rows.add(row);
+      }
+    }
+    if (rows.isEmpty()) {
+      return;
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> write(rows));
+      rows.forEach(row -> succeed(row, results));
+      return;
+    } catch (RuntimeException ex) {
+      log.warn("[Bulk] 청크 저장 실패, 항목 단위로 재시도 size={}, err={}", rows.size(), ex.getMessage());
+    }
+
+    for (PlannedRow row : rows) {
+      if (failedIds.contains(row.comment().getParentCommentId())) {
+        fail(row, ErrorCode.PARENT_COMMENT_NOT_FOUND, results, failedIds);
+        continue;
+      }
+      try {
+        transactionTemplate.executeWithoutResult(status -> write(List.of(row)));
+        succeed(row, results);
+      } catch (RuntimeException ex) {
+        log.warn("[Bulk] 항목 저장 실패 index={}, err={}", row.index(), ex.getMessage());
+        fail(row, ErrorCode.BULK_WRITE_FAILED, results, failedIds);
+      }
+    }
+  }
+
+  /** 행 INSERT 와 파생 카운터 반영을 한 트랜잭션에서 부모/아티클별로 합산해 1회씩 실행한다. */
+  private void write(List<PlannedRow> rows) {
+    List<Comment> comments = rows.stream().map(PlannedRow::comment).toList();
+    commentBatchRepository.insertAll(comments);
+
+    Map<Long, Integer> replyDeltas = new HashMap<>();
+    Map<String, Integer> articleDeltas = new LinkedHashMap<>();
+    Set<Long> rootIds = new HashSet<>();
+    Map<String, Set<Long>> rootIdsByArticle = new HashMap<>();
+    for (Comment c : comments) {
+      Set<Long> articleRootIds =
+          rootIdsByArticle.computeIfAbsent(c.getArticleId(), id -> new HashSet<>());
+      if (c.getParentCommentId() != null) {
+        replyDeltas.merge(c.getParentCommentId(), 1, Integer::sum);
+        rootIds.add(c.getRootCommentId());
+        articleRootIds.add(c.getRootCommentId());
+      }
+      articleDeltas.merge(c.getArticleId(), 1, Integer::sum);
+    }
+    commentBatchRepository.addReplyCounts(replyDeltas);
+    articleDeltas.forEach(articleCommentCountService::upsertAndAdd);
+
+    // 루트 추가/답글 수 변경이 한꺼번에 일어나므로 증분 반영 대신 아티클 인덱스를 폐기 (커밋 이후)
+    AfterCommit.run(() -> articleDeltas.keySet().forEach(articlePageIndex::invalidate));
+    AfterCommit.run(() -> commentReadVersions.bumpAll(articleDeltas.keySet(), rootIds));
+    AfterCommit.run(
+        () -> {
+          long version = System.currentTimeMillis();
+          rootIdsByArticle.forEach(
+              (articleId, ids) -> cacheInvalidationBus.publish(articleId, ids, version));
+        });
+  }
+
+  private static void succeed(PlannedRow row, BulkItemResult[] results) {
+    results[row.index()] =
+        BulkItemResult.success(row.index(), row.clientRef(), row.comment().getCommentId());
+  }
+
+  private static void fail(
+      PlannedRow row, ErrorCode errorCode, BulkItemResult[] results, Set<Long> failedIds) {
+    failedIds.add(row.comment().getCommentId());
+    results[row.index()] = BulkItemResult.failure(row.index(), row.clientRef(), errorCode);
+  }
+
+  /** 문자열 댓글 id 를 BIGINT 키로 변환한다. 비어 있거나 숫자가 아니면 null */
+  private static Long parseId(String commentId) {
+    if (!StringUtils.hasText(commentId)) {
+      return null;
+    }
+    try {
+      return Long.parseLong(commentId);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private record PlannedRow(int index, String clientRef, Comment comment) {}
+}
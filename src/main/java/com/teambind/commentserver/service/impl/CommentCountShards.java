@@ -0,0 +1,187 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.repository.ArticleCommentCountRepository;
+import com.teambind.commentserver.repository.ArticleCommentCountShardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 핫 아티클 댓글 수 샤딩 (article_comment_count_shards)
+ *
+ * <p>동작:
+ * - 작성/삭제마다 shardFor 로 쓸 행을 고른다. 0 이면 기본 행(article_comment_counts), 1..N 이면 샤드 행
+ * - 설정(articles)에 샤드 수가 지정된 아티클은 항상 샤딩, 그 외는 노드 로컬 쓰기 속도가 hot-writes-per-second 이상이면
+ *   cool-down 동안 샤딩 (샤드 수 = 속도 / writes-per-shard-per-second, 최대 max-shards)
+ * - 모든 샤드가 cool-down 동안 갱신되지 않은 아티클은 샤드 합계를 기본 행에 더하고 샤드를 삭제 (collapse)
+ *
+ * <p>조회는 샤딩 여부와 관계없이 기본 행 + 샤드 합계를 사용하므로, 핫 판단은 노드마다 달라도 된다.
+ */
+@Slf4j
+public class CommentCountShards {
+
+  private final ArticleCommentCountShardRepository shardRepository;
+  private final ArticleCommentCountRepository countRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final Map<String, Integer> fixedShards;
+  private final double hotWritesPerSecond;
+  private final double writesPerShardPerSecond;
+  private final int maxShards;
+  private final Duration coolDown;
+  private final int collapseBatchSize;
+  private final ConcurrentHashMap<String, LongAdder> writesInWindow = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, HotState> hot = new ConcurrentHashMap<>();
+  private final Counter collapsedCounter;
+  private volatile long windowStartNanos = System.nanoTime();
+
+  public CommentCountShards(
+      ArticleCommentCountShardRepository shardRepository,
+      ArticleCommentCountRepository countRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      boolean enabled,
+      Map<String, Integer> fixedShards,
+      double hotWritesPerSecond,
+      double writesPerShardPerSecond,
+      int maxShards,
+      Duration coolDown,
+      int collapseBatchSize) {
+    this.shardRepository = shardRepository;
+    this.countRepository = countRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.fixedShards = Map.copyOf(fixedShards);
+    this.hotWritesPerSecond = hotWritesPerSecond;
+    this.writesPerShardPerSecond = writesPerShardPerSecond;
+    this.maxShards = Math.max(1, maxShards);
+    this.coolDown = coolDown;
+    this.collapseBatchSize = collapseBatchSize;
+    this.collapsedCounter =
+        Counter.builder("comment.count.sharding.collapsed")
+            .description("샤드를 기본 행으로 합친 아티클 수")
+            .register(meterRegistry);
+    Gauge.builder("comment.count.sharding.hot_articles", hot, Map::size)
+        .description("이 노드에서 샤딩 중인(쓰기 속도 기준) 아티클 수")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 이번 쓰기가 사용할 행을 고르고 쓰기 속도를 기록합니다.
+   *
+   * @return 0 이면 기본 행, 1..N 이면 샤드
+   */
+  public int shardFor(String articleId) {
+    if (!enabled) {
+      return 0;
+    }
+    Integer fixed = fixedShards.get(articleId);
+    if (fixed != null && fixed > 1) {
+      return randomShard(fixed);
+    }
+    writesInWindow.computeIfAbsent(articleId, k -> new LongAdder()).increment();
+    HotState state = hot.get(articleId);
+    if (state == null || state.isExpired()) {
+      return 0;
+    }
+    return randomShard(state.shards());
+  }
+
+  /** 지난 창의 쓰기 속도로 핫 아티클과 샤드 수를 갱신합니다. */
+  @Scheduled(fixedDelayString = "${comment.count.sharding.window-ms:10000}")
+  public void evaluateWriteRates() {
+    if (!enabled) {
+      return;
+    }
+    long now = System.nanoTime();
+    double seconds = Math.max((now - windowStartNanos) / 1e9, 0.001);
+    windowStartNanos = now;
+    for (Map.Entry<String, LongAdder> e : writesInWindow.entrySet()) {
+      // 창 경계에서 더해진 소수의 쓰기는 다음 창으로 넘어가지 않아도 무방 (속도 추정용)
+      writesInWindow.remove(e.getKey(), e.getValue());
+      double rate = e.getValue().sum() / seconds;
+      if (rate >= hotWritesPerSecond) {
+        int shards =
+            (int) Math.min(maxShards, Math.max(2, Math.ceil(rate / writesPerShardPerSecond)));
+        HotState previous = hot.put(e.getKey(), new HotState(shards, now + coolDown.toNanos()));
+        if (previous == null) {
+          log.info(
+              "[CountShard] 샤딩 시작 articleId={}, rate={}/s, shards={}", e.getKey(), rate, shards);
+        }
+      }
+    }
+    hot.entrySet().removeIf(e -> e.getValue().isExpired());
+  }
+
+  /** 식은 아티클의 샤드를 기본 행으로 합칩니다. */
+  @Scheduled(fixedDelayString = "${comment.count.sharding.collapse-interval-ms:60000}")
+  public void collapseCooledArticles() {
+    List<String> articleIds =
+        shardRepository.findIdleArticleIds(
+            Instant.now().minus(coolDown), PageRequest.ofSize(collapseBatchSize));
+    for (String articleId : articleIds) {
+      if (fixedShards.containsKey(articleId) || hot.containsKey(articleId)) {
+        continue;
+      }
+      try {
+        collapse(articleId);
+      } catch (Exception ex) {
+        log.warn("[CountShard] collapse 실패 articleId={}, err={}", articleId, ex.getMessage());
+      }
+    }
+  }
+
+  /**
+   * 샤드 합계를 기본 행에 더하고 샤드를 삭제합니다. 샤드 행을 잠그므로 진행 중인 샤드 쓰기는 끝난 뒤 반영되며, 삭제 이후의 쓰기는 샤드
+   * 행을 새로 만듭니다 (합계 유실 없음).
+   *
+   * <p>댓글 삭제(decrementAndGetRemaining)와 같은 순서로 기본 행, 샤드 행 순으로 잠가 교착을 피합니다.
+   *
+   * @return 합친 delta
+   */
+  public long collapse(String articleId) {
+    Long merged =
+        transactionTemplate.execute(
+            status -> {
+              if (countRepository.findCommentCountForUpdate(articleId).isEmpty()) {
+                // 샤드로만 집계된 아티클: 기본 행을 먼저 만들어 잠근다 (삭제 경로와 동일)
+                countRepository.upsertAndAdd(articleId, 0);
+              }
+              long sum =
+                  shardRepository.findCountsForUpdate(articleId).stream()
+                      .mapToLong(Integer::longValue)
+                      .sum();
+              countRepository.upsertAndAdd(articleId, (int) sum);
+              shardRepository.deleteByArticleId(articleId);
+              return sum;
+            });
+    collapsedCounter.increment();
+    return merged == null ? 0 : merged;
+  }
+
+  private static int randomShard(int shards) {
+    return 1 + ThreadLocalRandom.current().nextInt(shards);
+  }
+
+  private record HotState(int shards, long untilNanos) {
+    boolean isExpired() {
+      return untilNanos - System.nanoTime() <= 0;
+    }
+  }
+}
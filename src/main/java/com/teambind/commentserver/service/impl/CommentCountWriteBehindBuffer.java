@@ -0,0 +1,169 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.repository.ArticleCommentCountBatchRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * article_comment_counts write-behind 버퍼.
+ *
+ * <p>동작:
+ * - 댓글 수 delta를 articleId 별 LongAdder 에 누적 (요청 트랜잭션에서 카운터 row 락을 잡지 않음)
+ * - 스케줄러가 주기적으로 누적분을 꺼내 multi-row INSERT ... ON DUPLICATE KEY UPDATE 로 일괄 반영
+ * - 반영 실패 시 delta를 버퍼로 되돌려 다음 주기에 재시도
+ * - 종료 시(@PreDestroy) 남은 delta를 모두 반영
+ *
+ * <p>flush 는 슬롯을 맵에서 떼어낸 뒤 retired 로 표시하고 합계를 회수합니다. 떼어낸 슬롯에 뒤늦게 더한 writer 는 retired 를 보고 자신이
+ * 더한 값을 새 슬롯으로 옮기므로 유실이나 중복 반영이 없습니다.
+ */
+@Slf4j
+@Component
+public class CommentCountWriteBehindBuffer {
+
+  private final ConcurrentHashMap<String, Slot> pending = new ConcurrentHashMap<>();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final ArticleCommentCountBatchRepository batchRepository;
+  private final boolean enabled;
+  private final int batchSize;
+
+  // flush 중(버퍼에서는 빠졌지만 아직 DB에 반영되지 않은) delta. 조회 시 보정용
+  // 청크를 반영하거나 버퍼로 되돌리는 즉시 해당 키를 빼서 DB/버퍼와 이중으로 세지 않는다
+  private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+
+  public CommentCountWriteBehindBuffer(
+      ArticleCommentCountBatchRepository batchRepository,
+      MeterRegistry meterRegistry,
+      @Value("${comment.count.write-behind.enabled:false}") boolean enabled,
+      @Value("${comment.count.write-behind.batch-size:500}") int batchSize) {
+    this.batchRepository = batchRepository;
+    this.enabled = enabled;
+    this.batchSize = Math.max(1, batchSize);
+
+    Gauge.builder(
+            "comment.count.write_behind.pending", this, CommentCountWriteBehindBuffer::pendingSize)
+        .description("DB 반영 대기 중인 article 수")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** articleId 에 delta 를 누적합니다. */
+  public void add(String articleId, long delta) {
+    if (delta == 0) {
+      return;
+    }
+    Slot slot = pending.computeIfAbsent(articleId, k -> new Slot());
+    slot.adder.add(delta);
+    if (slot.retired) {
+      // flush 가 이미 떼어낸 슬롯에 더한 경우: 남은 값을 회수해 새 슬롯으로 옮긴다
+      long orphan = slot.adder.sumThenReset();
+      if (orphan != 0) {
+        add(articleId, orphan);
+      }
+    }
+  }
+
+  /** 아직 DB에 반영되지 않은 articleId 의 delta 합 (조회 결과 보정용) */
+  public long pendingDelta(String articleId) {
+    Slot slot = pending.get(articleId);
+    long buffered = slot == null ? 0 : slot.adder.sum();
+    return buffered + inFlight.getOrDefault(articleId, 0L);
+  }
+
+  /** 반영 대기 중인 article 수 (backlog 크기) */
+  public int pendingSize() {
+    return pending.size() + inFlight.size();
+  }
+
+  @Scheduled(fixedDelayString = "${comment.count.write-behind.flush-interval-ms:1000}")
+  public void scheduledFlush() {
+    if (enabled) {
+      flush();
+    }
+  }
+
+  /** 버퍼에 누적된 delta를 batchSize 단위의 multi-row upsert 로 반영합니다. */
+  public void flush() {
+    flushLock.lock();
+    try {
+      Map<String, Long> drained = drain();
+      if (drained.isEmpty()) {
+        return;
+      }
+      inFlight.putAll(drained);
+
+      Map<String, Long> chunk = new LinkedHashMap<>();
+      for (Map.Entry<String, Long> e : drained.entrySet()) {
+        chunk.put(e.getKey(), e.getValue());
+        if (chunk.size() >= batchSize) {
+          write(chunk);
+          chunk = new LinkedHashMap<>();
+        }
+      }
+      write(chunk);
+    } finally {
+      inFlight.clear();
+      flushLock.unlock();
+    }
+  }
+
+  @PreDestroy
+  public void drainOnShutdown() {
+    if (!enabled) {
+      return;
+    }
+    flush();
+    if (!pending.isEmpty()) {
+      log.error("[WriteBehind] 종료 중 반영하지 못한 카운트가 남았습니다 articles={}", pending.size());
+    }
+  }
+
+  private Map<String, Long> drain() {
+    Map<String, Long> drained = new HashMap<>();
+    for (String articleId : pending.keySet()) {
+      Slot slot = pending.remove(articleId);
+      if (slot == null) {
+        continue;
+      }
+      slot.retired = true;
+      long delta = slot.adder.sumThenReset();
+      if (delta != 0) {
+        drained.merge(articleId, delta, Long::sum);
+      }
+    }
+    return drained;
+  }
+
+  private void write(Map<String, Long> chunk) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    try {
+      batchRepository.upsertAndAddAll(chunk);
+      inFlight.keySet().removeAll(chunk.keySet());
+    } catch (Exception ex) {
+      log.warn(
+          "[WriteBehind] 카운트 반영 실패, 다음 주기에 재시도 articles={} err={}", chunk.size(), ex.getMessage());
+      inFlight.keySet().removeAll(chunk.keySet());
+      chunk.forEach(this::add);
+    }
+  }
+
+  private static final class Slot {
+    private final LongAdder adder = new LongAdder();
+    private volatile boolean retired;
+  }
+}
@@ -0,0 +1,59 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.exceptions.CustomException;
+import com.teambind.commentserver.exceptions.ErrorCode;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * visibleCount 커서 페이지네이션의 커서.
+ *
+ * <p>마지막으로 내려준 루트의 (created_at, comment_id) 와 남은 표시 예산(slack)을 담습니다. slack 은 직전 페이지 한도 중 채우지 못한
+ * 칸 수로, 다음 페이지 예산(pageSize + slack)에 더해져 page/pageSize 모드와 같은 경계를 만듭니다.
+ *
+ * <p>클라이언트에는 Base64URL 로 인코딩된 불투명 문자열로만 노출합니다.
+ */
+record CommentPageCursor(Instant createdAt, long commentId, long slack) {
+
+  private static final String VERSION = "v1";
+  private static final String DELIMITER = "|";
+
+  String encode() {
+    String raw =
+        String.join(
+            DELIMITER,
+            VERSION,
+            String.valueOf(createdAt.getEpochSecond()),
+            String.valueOf(createdAt.getNano()),
+            String.valueOf(slack),
+            String.valueOf(commentId));
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 커서 문자열을 해석합니다.
+   *
+   * @throws CustomException 형식이 올바르지 않은 경우 (INVALID_CURSOR)
+   */
+  static CommentPageCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", 5);
+      if (parts.length != 5 || !VERSION.equals(parts[0])) {
+        throw new CustomException(ErrorCode.INVALID_CURSOR);
+      }
+      Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+      long slack = Long.parseLong(parts[3]);
+      if (slack < 0) {
+        throw new CustomException(ErrorCode.INVALID_CURSOR);
+      }
+      return new CommentPageCursor(createdAt, Long.parseLong(parts[4]), slack);
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new CustomException(ErrorCode.INVALID_CURSOR);
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package com.teambind.commentserver.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아티클/스레드별 조회 버전 (조건부 GET 의 ETag, Last-Modified 원본).
+ *
+ * <p>동작:
+ * - 키: c:ver:v1:a:{articleId}, c:ver:v1:t:{rootCommentId}, 값: 버전(epoch ms 기반 정수). TTL 은 쓰기 때만 갱신
+ * - 쓰기 커밋 이후 bump: max(현재 값 + 1, 현재 시각 ms) 로 올린다. 키가 만료된 뒤 다시 만들어져도 이전 버전을 재사용하지 않음
+ * - 조회: GET 한 번. 키가 없으면 (현재 시각 - settle) 로 채운다
+ *
+ * <p>조회는 읽기 복제본에서 할 수 있으므로 버전이 settle(복제 지연 상한) 안에 올라간 경우는 아직 데이터가 보이지 않을 수 있어
+ * empty 를 반환한다 (ETag 없이 응답). 같은 이유로 클라이언트가 받은 Last-Modified 는 항상 settle 이상 지난 시각이므로
+ * If-Modified-Since 의 초 단위 비교로도 이후 쓰기를 놓치지 않는다.
+ *
+ * <p>라우팅되는 복제본은 max-lag 보다 최대 1초(Seconds_Behind_Master 는 초 단위) + health-check-interval(지연 확인 주기)
+ * 더 뒤처질 수 있으므로, 복제본을 쓰면 settle 이 그보다 길어야 기동한다.
+ *
+ * <p>Redis 장애 시 조회는 empty(조건부 처리 생략)이고, bump 실패 시에는 키 삭제를 시도한다. 삭제도 실패하면 TTL 이 지날 때까지
+ * 304 가 오래된 내용을 가리킬 수 있다.
+ */
+@Slf4j
+@Component
+public class CommentReadVersions {
+
+  private static final String ARTICLE_KEY_PREFIX = "c:ver:v1:a:";
+  private static final String THREAD_KEY_PREFIX = "c:ver:v1:t:";
+
+  // KEYS 마다 max(현재 값 + 1, ARGV[1]) 로 올리고 TTL(ms) 갱신. 첫 키의 새 값을 반환
+  private static final RedisScript<Long> BUMP =
+      new DefaultRedisScript<>(
+          "local first = nil "
+              + "for i = 1, #KEYS do "
+              + "local v = tonumber(redis.call('GET', KEYS[i]) or '0') + 1 "
+              + "local now = tonumber(ARGV[1]) "
+              + "if v < now then v = now end "
+              + "redis.call('SET', KEYS[i], v, 'PX', ARGV[2]) "
+              + "if i == 1 then first = v end end "
+              + "return first",
+          Long.class);
+
+  // 키가 없으면 ARGV[1] 로 채운 뒤 반환
+  private static final RedisScript<Long> GET_OR_SEED =
+      new DefaultRedisScript<>(
+          "local v = redis.call('GET', KEYS[1]) "
+              + "if v then return tonumber(v) end "
+              + "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) "
+              + "return tonumber(ARGV[1])",
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final boolean enabled;
+  private final long ttlMillis;
+  private final long settleMillis;
+  private final Counter settledCounter;
+  private final Counter unsettledCounter;
+  private final Counter errorCounter;
+  private final Counter bumpFailedCounter;
+
+  public CommentReadVersions(
+      StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${comment.read-version.enabled:true}") boolean enabled,
+      @Value("${comment.read-version.ttl:PT1H}") Duration ttl,
+      @Value("${comment.read-version.settle:PT5S}") Duration settle,
+      @Value("${comment.datasource.replicas.enabled:false}") boolean replicasEnabled,
+      @Value("${comment.datasource.replicas.max-lag:PT2S}") Duration replicaMaxLag,
+      @Value("${comment.datasource.replicas.health-check-interval-ms:1000}")
+          long replicaHealthCheckIntervalMs) {
+    if (enabled && replicasEnabled) {
+      Duration staleness = maxReplicaStaleness(replicaMaxLag, replicaHealthCheckIntervalMs);
+      if (settle.compareTo(staleness) <= 0) {
+        throw new IllegalArgumentException(
+            "comment.read-version.settle 은 복제본 지연 상한(max-lag + health-check-interval + 1s = "
+                + staleness
+                + ") 보다 길어야 합니다: "
+                + settle);
+      }
+    }
+    this.redisTemplate = redisTemplate;
+    this.enabled = enabled;
+    this.ttlMillis = ttl.toMillis();
+    this.settleMillis = settle.toMillis();
+    this.settledCounter = lookupCounter(meterRegistry, "settled");
+    this.unsettledCounter = lookupCounter(meterRegistry, "unsettled");
+    this.errorCounter = lookupCounter(meterRegistry, "error");
+    this.bumpFailedCounter =
+        Counter.builder("comment.read_version.bump_failed")
+            .description("조회 버전을 올리지 못한 쓰기 수")
+            .register(meterRegistry);
+  }
+
+  /** 아티클 댓글 목록 버전. 비활성, Redis 장애, settle 이내 변경이면 empty */
+  public OptionalLong articleVersion(String articleId) {
+    return lookup(ARTICLE_KEY_PREFIX + articleId);
+  }
+
+  /** 루트 기준 스레드 버전. 비활성, Redis 장애, settle 이내 변경이면 empty */
+  public OptionalLong threadVersion(Long rootCommentId) {
+    return lookup(THREAD_KEY_PREFIX + rootCommentId);
+  }
+
+  /**
+   * 댓글 쓰기 반영 (커밋 이후 호출). rootCommentId 가 null 이면 아티클 버전만 올린다.
+   *
+   * @return 새 아티클 버전. 비활성이거나 Redis 장애면 empty
+   */
+  public OptionalLong bump(String articleId, Long rootCommentId) {
+    if (!enabled) {
+      return OptionalLong.empty();
+    }
+    List<String> keys = new ArrayList<>(2);
+    keys.add(ARTICLE_KEY_PREFIX + articleId);
+    if (rootCommentId != null) {
+      keys.add(THREAD_KEY_PREFIX + rootCommentId);
+    }
+    Long version = bumpKeys(keys);
+    return version == null ? OptionalLong.empty() : OptionalLong.of(version);
+  }
+
+  /** 여러 아티클/스레드 버전을 스크립트 1회로 올린다 (커밋 이후 호출). */
+  public void bumpAll(Collection<String> articleIds, Collection<Long> rootCommentIds) {
+    if (!enabled || (articleIds.isEmpty() && rootCommentIds.isEmpty())) {
+      return;
+    }
+    List<String> keys = new ArrayList<>(articleIds.size() + rootCommentIds.size());
+    articleIds.forEach(id -> keys.add(ARTICLE_KEY_PREFIX + id));
+    rootCommentIds.forEach(id -> keys.add(THREAD_KEY_PREFIX + id));
+    bumpKeys(keys);
+  }
+
+  /** @return 첫 키의 새 버전. 실패하면 null */
+  private Long bumpKeys(List<String> keys) {
+    try {
+      return redisTemplate.execute(
+          BUMP, keys, String.valueOf(System.currentTimeMillis()), String.valueOf(ttlMillis));
+    } catch (DataAccessException ex) {
+      bumpFailedCounter.increment();
+      log.warn("[ReadVersion] 버전 갱신 실패 keys={}, err={}", keys, ex.getMessage());
+      // 오래된 버전으로 304 를 돌려주지 않도록 키를 지운다 (다음 조회 때 새 값으로 채워짐)
+      try {
+        redisTemplate.delete(keys);
+      } catch (DataAccessException deleteEx) {
+        log.warn("[ReadVersion] 키 삭제 실패 keys={}, err={}", keys, deleteEx.getMessage());
+      }
+      return null;
+    }
+  }
+
+  private OptionalLong lookup(String key) {
+    if (!enabled) {
+      return OptionalLong.empty();
+    }
+    long settledBefore = System.currentTimeMillis() - settleMillis;
+    Long version;
+    try {
+      version =
+          redisTemplate.execute(
+              GET_OR_SEED, List.of(key), String.valueOf(settledBefore), String.valueOf(ttlMillis));
+    } catch (DataAccessException ex) {
+      errorCounter.increment();
+      log.debug("[ReadVersion] 버전 조회 실패 key={}, err={}", key, ex.getMessage());
+      return OptionalLong.empty();
+    }
+    if (version == null) {
+      errorCounter.increment();
+      return OptionalLong.empty();
+    }
+    if (version > settledBefore) {
+      unsettledCounter.increment();
+      return OptionalLong.empty();
+    }
+    settledCounter.increment();
+    return OptionalLong.of(version);
+  }
+
+  /**
+   * 라우팅되는 복제본이 뒤처질 수 있는 최대 시간. 지연은 초 단위로 잘려 보고되고(+1s), 라우팅 판단은 health-check-interval
+   * 마다만 갱신된다.
+   */
+  static Duration maxReplicaStaleness(Duration maxLag, long healthCheckIntervalMs) {
+    return maxLag.plusMillis(healthCheckIntervalMs).plusSeconds(1);
+  }
+
+  private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("comment.read_version.lookup")
+        .description("조회 버전 확인 결과 수 (settled 일 때만 ETag 발급)")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -1,22 +1,35 @@
 package com.teambind.commentserver.service.impl;
 
+import com.teambind.commentserver.dto.CommentCursorPageResponse;
 import com.teambind.commentserver.dto.CommentResponse;
 import com.teambind.commentserver.entity.Comment;
 import com.teambind.commentserver.entity.Comment.CommentStatus;
 import com.teambind.commentserver.event.events.CommentCreatedEvent;
 import com.teambind.commentserver.event.events.CommentDeletedEvent;
+import com.teambind.commentserver.event.invalidation.CacheInvalidationBus;
 import com.teambind.commentserver.event.publish.EventPublisher;
 import com.teambind.commentserver.exceptions.CustomException;
 import com.teambind.commentserver.exceptions.ErrorCode;
 import com.teambind.commentserver.repository.CommentRepository;
+import com.teambind.commentserver.repository.projection.CommentView;
+import com.teambind.commentserver.repository.projection.ParentCommentRef;
+import com.teambind.commentserver.repository.projection.RootPageEntry;
 import com.teambind.commentserver.service.ArticleCommentCountService;
 import com.teambind.commentserver.service.CommentService;
 import com.teambind.commentserver.service.FirstCommentGate;
+import com.teambind.commentserver.utils.datasource.ReadYourWrites;
 import com.teambind.commentserver.utils.primarykey.PrimaryKeyProvider;
+import com.teambind.commentserver.utils.transaction.AfterCommit;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,20 +41,31 @@ import org.springframework.transaction.annotation.Transactional;
  *
  */
 @Service
+@Timed(value = "comment.service", description = "댓글 서비스 메서드 실행 시간")
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
+  // 커서 페이지네이션에서 한 번에 읽는 루트 요약 최대 개수
+  private static final int MAX_ROOT_FETCH = 500;
+
   private final CommentRepository commentRepository; // 댓글 저장소 (JPA)
   private final PrimaryKeyProvider primaryKeyProvider; // 고유 키 발급기 (Snowflake)
   private final ArticleCommentCountService articleCommentCountService; // 추가: 아티클별 카운트 서비스
   private final EventPublisher eventPublisher; // 이벤트 퍼블리셔
   private final FirstCommentGate firstCommentGate; // 첫 댓글 이벤트 발행을 제어하는 Redis 게이트
+  private final ArticlePageIndex articlePageIndex; // 루트 페이지 인덱스 (deep history 아티클용)
+  private final ReadYourWrites readYourWrites; // 쓰기 직후 읽기를 primary 로 보내는 창
+  private final FirstCommentEventPipeline firstCommentEventPipeline; // 커밋 이후 첫 댓글 판정/기록
+  private final CommentReadVersions commentReadVersions; // 조건부 GET 용 아티클/스레드 버전
+  private final CacheInvalidationBus cacheInvalidationBus; // 다른 노드의 로컬 캐시 무효화
+
+  @PersistenceContext private EntityManager entityManager; // 스트리밍 조회 시 엔티티 분리용
 
   @Override
   @Transactional
   public Comment createRootComment(String articleId, String writerId, String contents) {
     // 루트 댓글 생성 팩토리 메서드 사용
-    String id = primaryKeyProvider.generateKey();
+    Long id = primaryKeyProvider.generateLongKey();
     Comment comment = Comment.createRoot(id, articleId, writerId, contents);
 
     Comment saved = commentRepository.save(comment);
@@ -49,6 +73,13 @@ public class CommentServiceImpl implements CommentService {
     // 게시글 댓글 수 증가
     articleCommentCountService.increment(articleId);
 
+    // 페이지 인덱스에 새 루트 반영 (커밋 이후)
+    AfterCommit.run(
+        () ->
+            articlePageIndex.onRootCreated(articleId, saved.getCommentId(), saved.getCreatedAt()));
+    AfterCommit.run(() -> readYourWrites.markWrite(writerId));
+    AfterCommit.run(() -> onCommentsChanged(articleId, null));
+
     // 첫 댓글 이벤트 발행 (필요 시)
     publishFirstCommentEventIfNeeded(articleId, writerId);
 
@@ -58,27 +89,34 @@ public class CommentServiceImpl implements CommentService {
   @Override
   @Transactional
   public Comment createReply(String parentCommentId, String writerId, String contents) {
-    // 부모 댓글 조회
-    Comment parent =
-        commentRepository
-            .findById(parentCommentId)
+    // 부모 위치(articleId, rootId, depth)만 조회 (본문 제외)
+    ParentCommentRef parent =
+        parseId(parentCommentId)
+            .flatMap(commentRepository::findParentRefById)
             .orElseThrow(() -> new CustomException(ErrorCode.PARENT_COMMENT_NOT_FOUND));
 
     // 답글 생성 팩토리 메서드 사용
-    String id = primaryKeyProvider.generateKey();
-    Comment reply = Comment.createReply(id, parent, writerId, contents);
-
-    // 부모의 답글 수를 증가시킨다 (연관관계 편의 메서드)
-    parent.addReply();
-    // parent는 JPA dirty checking으로 자동 업데이트됨
+    Long id = primaryKeyProvider.generateLongKey();
+    Comment reply = Comment.createReply(id, parent.asParent(), writerId, contents);
 
     Comment savedReply = commentRepository.save(reply);
 
+    // 부모의 답글 수를 원자적으로 증가 (동시 답글 간 갱신 유실 방지)
+    commentRepository.incrementReplyCount(parent.commentId());
+
     // 게시글 댓글 수 증가
-    articleCommentCountService.increment(parent.getArticleId());
+    articleCommentCountService.increment(parent.articleId());
+
+    // 루트의 reply_count 가 바뀐 경우 페이지 인덱스에 반영 (커밋 이후)
+    if (parent.depth() == 0) {
+      AfterCommit.run(
+          () -> articlePageIndex.onReplyCountChanged(parent.articleId(), parent.commentId(), 1));
+    }
+    AfterCommit.run(() -> readYourWrites.markWrite(writerId));
+    AfterCommit.run(() -> onCommentsChanged(parent.articleId(), parent.rootCommentId()));
 
     // 첫 댓글 이벤트 발행 (필요 시)
-    publishFirstCommentEventIfNeeded(parent.getArticleId(), writerId);
+    publishFirstCommentEventIfNeeded(parent.articleId(), writerId);
 
     return savedReply;
   }
@@ -90,33 +128,92 @@ public class CommentServiceImpl implements CommentService {
     return commentRepository.findByArticleIdAndIsDeletedFalseOrderByCreatedAtAsc(articleId);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public void streamAllCommentsByArticle(String articleId, Consumer<Comment> consumer) {
+    try (Stream<Comment> comments =
+        commentRepository.streamByArticleIdAndIsDeletedFalseOrderByCreatedAtAsc(articleId)) {
+      comments.forEach(
+          c -> {
+            consumer.accept(c);
+            // 처리한 엔티티는 분리해 영속성 컨텍스트가 댓글 수만큼 커지지 않게 한다
+            entityManager.detach(c);
+          });
+    }
+  }
+
   @Override
   @Transactional(readOnly = true)
   public List<Comment> getRepliesByParent(String parentCommentId) {
     // 특정 부모의 자식 댓글(대댓글)만 조회
-    return commentRepository.findByParentCommentIdOrderByCreatedAtAsc(parentCommentId);
+    return parseId(parentCommentId)
+        .map(commentRepository::findByParentCommentIdOrderByCreatedAtAsc)
+        .orElseGet(List::of);
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<Comment> getThreadByRoot(String rootCommentId) {
     // 루트 댓글 id 기준으로 스레드 전체를 조회
-    return commentRepository.findByRootCommentIdOrderByCreatedAtAsc(rootCommentId);
+    return parseId(rootCommentId)
+        .map(commentRepository::findByRootCommentIdOrderByCreatedAtAsc)
+        .orElseGet(List::of);
   }
 
   @Override
   @Transactional(readOnly = true)
   public Optional<Comment> getById(String commentId) {
-    return commentRepository.findById(commentId);
+    return parseId(commentId).flatMap(commentRepository::findById);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<CommentResponse> getReplyViewsByParent(String parentCommentId) {
+    return parseId(parentCommentId)
+        .map(commentRepository::findReplyViewsByParentId)
+        .orElseGet(List::of)
+        .stream()
+        .map(CommentResponse::from)
+        .toList();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<CommentResponse> getThreadViewByRoot(String rootCommentId) {
+    return parseId(rootCommentId)
+        .map(commentRepository::findThreadViewsByRootId)
+        .orElseGet(List::of)
+        .stream()
+        .map(CommentResponse::from)
+        .toList();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<CommentResponse> getViewById(String commentId) {
+    return parseId(commentId).flatMap(commentRepository::findViewById).map(CommentResponse::from);
+  }
+
+  @Override
+  public OptionalLong getArticleVersion(String articleId) {
+    return commentReadVersions.articleVersion(articleId);
+  }
+
+  @Override
+  public OptionalLong getThreadVersion(String rootCommentId) {
+    return parseId(rootCommentId)
+        .map(commentReadVersions::threadVersion)
+        .orElseGet(OptionalLong::empty);
   }
 
   @Override
   @Transactional
   public void softDelete(String commentId, String requesterId) {
     // 소프트 삭제: 작성자 본인만 가능
+    // 행을 잠가 읽어 같은 댓글의 동시 삭제가 둘 다 isDeleted=false 를 보고 카운터를 두 번 줄이지 않게 한다
     Comment comment =
-        commentRepository
-            .findById(commentId)
+        parseId(commentId)
+            .flatMap(commentRepository::findByIdForUpdate)
             .orElseThrow(() -> new CustomException(ErrorCode.COMMENT_NOT_FOUND));
 
     if (!comment.isOwnedBy(requesterId)) {
@@ -128,12 +225,36 @@ public class CommentServiceImpl implements CommentService {
     }
 
     comment.markDeleted();
-    // comment는 JPA dirty checking으로 자동 업데이트됨
+    // comment는 JPA dirty checking으로 자동 업데이트됨 (아래 벌크 UPDATE 전에 flush)
+
+    // 답글이면 부모의 답글 수를 원자적으로 감소
+    Long parentId = comment.getParentCommentId();
+    if (parentId != null) {
+      commentRepository.decrementReplyCount(parentId);
+      if (comment.getDepth() == 1) {
+        AfterCommit.run(
+            () -> articlePageIndex.onReplyCountChanged(comment.getArticleId(), parentId, -1));
+      }
+    }
+
+    // 삭제된 루트는 페이지에서 빠지므로 인덱스에 반영 (커밋 이후)
+    if (comment.getDepth() == 0) {
+      AfterCommit.run(
+          () -> articlePageIndex.onRootRemoved(comment.getArticleId(), comment.getCommentId()));
+    }
+    AfterCommit.run(() -> readYourWrites.markWrite(requesterId));
+    AfterCommit.run(() -> onCommentsChanged(comment.getArticleId(), comment.getRootCommentId()));
 
-    // 이벤트: 해당 게시글의 남은 활성 댓글 수가 0이면(마지막 댓글 삭제) 이벤트 발행
+    // 게시글 활성 댓글 수 감소. 남은 수가 0이면(마지막 댓글 삭제) 이벤트 발행
+    // 카운터를 쓸 수 없을 때(write-behind 모드, 카운터 행 없음)만 COUNT 쿼리로 판단
     long remain =
-        commentRepository.countByArticleIdAndIsDeletedFalseAndStatus(
-            comment.getArticleId(), CommentStatus.ACTIVE);
+        articleCommentCountService
+            .decrementAndGetRemaining(comment.getArticleId())
+            .orElseGet(
+                () ->
+                    Math.toIntExact(
+                        commentRepository.countByArticleIdAndIsDeletedFalseAndStatus(
+                            comment.getArticleId(), CommentStatus.ACTIVE)));
     if (remain == 0) {
       eventPublisher.publishCommentDeleted(
           CommentDeletedEvent.builder()
@@ -148,8 +269,8 @@ public class CommentServiceImpl implements CommentService {
   public Comment updateContents(String commentId, String requesterId, String newContents) {
     // 댓글 내용을 갱신한다. 작성자 본인만 가능
     Comment comment =
-        commentRepository
-            .findById(commentId)
+        parseId(commentId)
+            .flatMap(commentRepository::findById)
             .orElseThrow(() -> new CustomException(ErrorCode.COMMENT_NOT_FOUND));
 
     if (!comment.isOwnedBy(requesterId)) {
@@ -161,20 +282,22 @@ public class CommentServiceImpl implements CommentService {
     } catch (IllegalArgumentException e) {
       throw new CustomException(ErrorCode.CONTENTS_REQUIRED);
     }
+    AfterCommit.run(() -> readYourWrites.markWrite(requesterId));
+    AfterCommit.run(() -> onCommentsChanged(comment.getArticleId(), comment.getRootCommentId()));
 
     return comment;
   }
 
   // (선택) 간단한 스레드 정렬 유틸: 부모가 먼저, 자식이 뒤에 오도록 정렬
   private List<Comment> orderAsThread(List<Comment> comments) {
-    Map<String, Comment> map =
+    Map<Long, Comment> map =
         comments.stream().collect(Collectors.toMap(Comment::getCommentId, Function.identity()));
 
     // createdAt, depth 순으로 결정적 정렬을 보장한다.
     return comments.stream()
         .sorted(
             Comparator.comparing(
-                    Comment::getRootCommentId, Comparator.nullsFirst(String::compareTo))
+                    Comment::getRootCommentId, Comparator.nullsFirst(Long::compareTo))
                 .thenComparing(Comment::getCreatedAt))
         .toList();
   }
@@ -188,33 +311,112 @@ public class CommentServiceImpl implements CommentService {
     long prevLimit = (long) page * pageSize;
     long currLimit = (long) (page + 1) * pageSize;
 
-    List<String> rootIds = commentRepository.findRootIdsForPage(articleId, prevLimit, currLimit);
+    // deep history 아티클은 페이지 인덱스로 경계를 계산하고, 사용할 수 없으면 윈도우 쿼리로 폴백
+    List<Long> rootIds =
+        articlePageIndex
+            .findRootIdsForPage(articleId, page, pageSize)
+            .orElseGet(
+                () -> commentRepository.findRootIdsForPage(articleId, prevLimit, currLimit));
+    return assembleTree(articleId, rootIds);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CommentCursorPageResponse getCommentsByArticleByCursor(
+      String articleId, String cursor, int pageSize) {
+    if (pageSize <= 0) {
+      throw new CustomException(ErrorCode.INVALID_PAGE_SIZE);
+    }
+    CommentPageCursor after =
+        (cursor == null || cursor.isBlank()) ? null : CommentPageCursor.decode(cursor);
+
+    // 이번 페이지 예산: pageSize + 직전 페이지에서 남긴 칸 (page/pageSize 모드의 누적 경계와 일치)
+    long budget = pageSize + (after == null ? 0 : Math.min(after.slack(), pageSize - 1L));
+    long used = 0;
+    List<RootPageEntry> selected = new ArrayList<>();
+    RootPageEntry last = null;
+    boolean hasNext = false;
+
+    fetch:
+    while (true) {
+      int limit = (int) Math.min(Math.max(budget - used, 1), MAX_ROOT_FETCH);
+      List<RootPageEntry> chunk = fetchRootEntries(articleId, after, last, limit);
+      for (RootPageEntry entry : chunk) {
+        long size = entry.visibleSize();
+        if (used + size > budget) {
+          if (!selected.isEmpty()) {
+            hasNext = true;
+            break fetch;
+          }
+          // 루트 하나가 남은 예산보다 크면 그 루트가 들어가는 페이지 경계까지 예산을 늘린다 (빈 페이지 생략)
+          long overflow = used + size - budget;
+          budget += ((overflow + pageSize - 1) / pageSize) * pageSize;
+        }
+        selected.add(entry);
+        used += size;
+        last = entry;
+      }
+      if (chunk.size() < limit) {
+        break;
+      }
+    }
+
+    List<Long> rootIds = selected.stream().map(RootPageEntry::commentId).toList();
+    String nextCursor =
+        hasNext
+            ? new CommentPageCursor(last.createdAt(), last.commentId(), budget - used).encode()
+            : null;
+    return CommentCursorPageResponse.builder()
+        .comments(assembleTree(articleId, rootIds))
+        .nextCursor(nextCursor)
+        .hasNext(hasNext)
+        .build();
+  }
+
+  /** 커서(또는 이번 요청에서 마지막으로 읽은 루트) 이후의 루트 요약을 limit 개 조회한다. */
+  private List<RootPageEntry> fetchRootEntries(
+      String articleId, CommentPageCursor after, RootPageEntry last, int limit) {
+    PageRequest page = PageRequest.ofSize(limit);
+    if (last != null) {
+      return commentRepository.findRootEntriesAfter(
+          articleId, last.createdAt(), last.commentId(), page);
+    }
+    if (after != null) {
+      return commentRepository.findRootEntriesAfter(
+          articleId, after.createdAt(), after.commentId(), page);
+    }
+    return commentRepository.findFirstRootEntries(articleId, page);
+  }
+
+  /** 루트 id 목록(표시 순서)으로 루트 + 자식들을 한 번에 조회해 트리 형태의 응답으로 조립한다. */
+  private List<CommentResponse> assembleTree(String articleId, List<Long> rootIds) {
     if (rootIds == null || rootIds.isEmpty()) {
       return Collections.emptyList();
     }
 
-    // 루트 + 자식들을 한 번에 조회
-    List<Comment> rows = commentRepository.findRootsAndChildrenByRootIds(articleId, rootIds);
+    // 루트 + 자식들을 한 번에 조회 (프로젝션: 관리 엔티티/스냅샷 없이 바로 DTO 로 변환)
+    List<CommentView> rows =
+        commentRepository.findRootsAndChildrenViewsByRootIds(articleId, rootIds);
 
     // 먼저 모든 댓글을 Map으로 변환 (O(1) 조회를 위해)
-    Map<String, Comment> commentMap =
-        rows.stream().collect(Collectors.toMap(Comment::getCommentId, Function.identity()));
+    Map<Long, CommentView> commentMap =
+        rows.stream().collect(Collectors.toMap(CommentView::commentId, Function.identity()));
 
     // 루트 순서를 보장하기 위해 LinkedHashMap 사용
-    Map<String, CommentResponse> rootMap = new LinkedHashMap<>();
-    for (String rootId : rootIds) {
+    Map<Long, CommentResponse> rootMap = new LinkedHashMap<>();
+    for (Long rootId : rootIds) {
       rootMap.put(rootId, null); // placeholder to preserve order
     }
 
-    for (Comment c : rows) {
-      if (c.getDepth() == 0) {
-        rootMap.put(c.getCommentId(), CommentResponse.from(c));
+    for (CommentView c : rows) {
+      if (c.depth() == 0) {
+        rootMap.put(c.commentId(), CommentResponse.from(c));
       } else {
-        String rootId = c.getRootCommentId();
+        Long rootId = c.rootCommentId();
         CommentResponse rootDto = rootMap.get(rootId);
         if (rootDto == null) {
           // 루트 DTO가 아직 placeholder인 경우, commentMap에서 조회 (N+1 문제 해결)
-          Comment rootComment = commentMap.get(rootId);
+          CommentView rootComment = commentMap.get(rootId);
           if (rootComment != null) {
             rootDto = CommentResponse.from(rootComment);
             rootMap.put(rootId, rootDto);
@@ -231,6 +433,26 @@ public class CommentServiceImpl implements CommentService {
     return rootMap.values().stream().filter(Objects::nonNull).collect(Collectors.toList());
   }
 
+  /** API 로 받은 문자열 댓글 id 를 BIGINT 키로 변환한다. 숫자가 아니면 존재하지 않는 댓글로 취급한다. */
+  private static Optional<Long> parseId(String commentId) {
+    if (commentId == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Long.parseLong(commentId));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** 커밋 이후: 조회 버전을 올리고 다른 노드에 로컬 캐시 무효화를 알린다 (버전을 모르면 현재 시각) */
+  private void onCommentsChanged(String articleId, Long rootCommentId) {
+    long version =
+        commentReadVersions.bump(articleId, rootCommentId).orElseGet(System::currentTimeMillis);
+    cacheInvalidationBus.publish(
+        articleId, rootCommentId == null ? List.of() : List.of(rootCommentId), version);
+  }
+
   /**
    * 첫 댓글 생성 이벤트를 발행합니다. (필요한 경우에만)
    *
@@ -238,6 +460,11 @@ public class CommentServiceImpl implements CommentService {
    * @param writerId 작성자 ID
    */
   private void publishFirstCommentEventIfNeeded(String articleId, String writerId) {
+    if (firstCommentEventPipeline.isEnabled()) {
+      // 커밋 이후 파이프라인에서 판정/기록 (응답 지연에 Redis 왕복이 포함되지 않음)
+      AfterCommit.run(() -> firstCommentEventPipeline.submit(articleId, writerId));
+      return;
+    }
     // 이벤트: 해당 사용자가 해당 게시글에 단 첫 댓글인지(2일 윈도우) Redis로 판단하여 발행
     if (firstCommentGate.isFirstWithinWindow(articleId, writerId)) {
       eventPublisher.publishCommentCreated(
@@ -0,0 +1,218 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.event.events.CommentCreatedEvent;
+import com.teambind.commentserver.event.publish.EventPublisher;
+import com.teambind.commentserver.service.FirstCommentGate;
+import com.teambind.commentserver.service.FirstCommentGate.Candidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 커밋 이후 "첫 댓글" 판정과 이벤트 기록을 요청 경로 밖에서 처리하는 파이프라인 (노드 로컬).
+ *
+ * <p>동작:
+ * - 댓글 생성 트랜잭션이 커밋되면 (articleId, writerId) 를 articleId 해시로 고른 레인의 큐에 넣는다. 레인마다 워커 스레드가
+ *   하나라서 같은 아티클의 작업은 들어온 순서대로 처리된다
+ * - 워커는 큐에서 최대 batch-size 건을 꺼내 게이트로 한 번에 판정하고(Redis 파이프라인), 첫 댓글만 새 트랜잭션에서 아웃박스에
+ *   기록한다
+ * - 큐가 가득 차면 enqueue-timeout 만큼 기다린 뒤(역압), 그래도 자리가 없으면 호출 스레드에서 직접 처리한다 (유실 없음)
+ *
+ * <p>커밋과 아웃박스 기록이 다른 트랜잭션이므로, 큐에 남은 작업은 노드가 비정상 종료되면 사라진다 (첫 댓글 알림은 최선 노력).
+ * 정상 종료 시에는 drain-timeout 동안 남은 작업을 처리한다.
+ *
+ * <p>지표:
+ * - comment.first_event.pipeline.queue: 대기 중인 작업 수
+ * - comment.first_event.pipeline.rejected: 큐가 가득 차 호출 스레드에서 처리한 수
+ * - comment.first_event.pipeline.lag: 커밋 이후 큐 진입부터 처리 완료까지 걸린 시간
+ * - comment.first_event.pipeline.batch: 배치 크기
+ * - comment.first_event.pipeline.failed: 예외로 처리하지 못한 작업 수
+ */
+@Slf4j
+@Component
+public class FirstCommentEventPipeline implements AutoCloseable {
+
+  private final FirstCommentGate firstCommentGate;
+  private final EventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int batchSize;
+  private final long enqueueTimeoutNanos;
+  private final Duration drainTimeout;
+  private final List<BlockingQueue<Task>> lanes = new ArrayList<>();
+  private final List<Thread> workers = new ArrayList<>();
+  private final Counter rejectedCounter;
+  private final Counter failedCounter;
+  private final Timer lagTimer;
+  private final DistributionSummary batchSummary;
+  private volatile boolean running = true;
+
+  public FirstCommentEventPipeline(
+      FirstCommentGate firstCommentGate,
+      EventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${comment.first-event.pipeline.enabled:true}") boolean enabled,
+      @Value("${comment.first-event.pipeline.lanes:4}") int laneCount,
+      @Value("${comment.first-event.pipeline.queue-capacity:10000}") int queueCapacity,
+      @Value("${comment.first-event.pipeline.batch-size:100}") int batchSize,
+      @Value("${comment.first-event.pipeline.enqueue-timeout:PT0.01S}") Duration enqueueTimeout,
+      @Value("${comment.first-event.pipeline.drain-timeout:PT5S}") Duration drainTimeout) {
+    this.firstCommentGate = firstCommentGate;
+    this.eventPublisher = eventPublisher;
+    // 커밋 이후(afterCommit) 호출 스레드에서 처리할 때도 끝난 트랜잭션에 참여하지 않도록 항상 새 트랜잭션
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.enabled = enabled;
+    this.batchSize = Math.max(1, batchSize);
+    this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+    this.drainTimeout = drainTimeout;
+    this.rejectedCounter =
+        Counter.builder("comment.first_event.pipeline.rejected")
+            .description("큐가 가득 차 호출 스레드에서 처리한 첫 댓글 판정 수")
+            .register(meterRegistry);
+    this.failedCounter =
+        Counter.builder("comment.first_event.pipeline.failed")
+            .description("예외로 처리하지 못한 첫 댓글 판정 수")
+            .register(meterRegistry);
+    this.lagTimer =
+        Timer.builder("comment.first_event.pipeline.lag")
+            .description("커밋 이후 큐 진입부터 첫 댓글 판정/기록 완료까지 걸린 시간")
+            .register(meterRegistry);
+    this.batchSummary =
+        DistributionSummary.builder("comment.first_event.pipeline.batch")
+            .description("한 번에 판정한 작업 수")
+            .register(meterRegistry);
+    if (!enabled) {
+      return;
+    }
+    for (int i = 0; i < Math.max(1, laneCount); i++) {
+      BlockingQueue<Task> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+      lanes.add(queue);
+      Thread worker =
+          Thread.ofPlatform()
+              .name("first-comment-event-" + i)
+              .daemon(true)
+              .start(() -> runLane(queue));
+      workers.add(worker);
+    }
+    Gauge.builder("comment.first_event.pipeline.queue", this, FirstCommentEventPipeline::queued)
+        .description("대기 중인 첫 댓글 판정 작업 수")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** 커밋 이후 호출. 같은 articleId 는 같은 레인에서 순서대로 처리된다. */
+  public void submit(String articleId, String writerId) {
+    Task task = new Task(new Candidate(articleId, writerId), System.nanoTime());
+    if (running && !lanes.isEmpty()) {
+      BlockingQueue<Task> lane = lanes.get(Math.floorMod(articleId.hashCode(), lanes.size()));
+      try {
+        if (lane.offer(task, enqueueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+          return;
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    rejectedCounter.increment();
+    process(List.of(task));
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    long deadline = System.nanoTime() + drainTimeout.toNanos();
+    for (Thread worker : workers) {
+      try {
+        worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    workers.forEach(Thread::interrupt);
+    int dropped = queued();
+    if (dropped > 0) {
+      log.warn("[FirstCommentPipeline] 종료 시 처리하지 못한 작업 수={}", dropped);
+    }
+  }
+
+  int queued() {
+    return lanes.stream().mapToInt(BlockingQueue::size).sum();
+  }
+
+  private void runLane(BlockingQueue<Task> queue) {
+    List<Task> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        Task head = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (head == null) {
+          continue;
+        }
+        batch.add(head);
+        queue.drainTo(batch, batchSize - 1);
+        process(batch);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void process(List<Task> batch) {
+    batchSummary.record(batch.size());
+    try {
+      List<Candidate> candidates = batch.stream().map(Task::candidate).toList();
+      List<Boolean> decisions = firstCommentGate.isFirstWithinWindow(candidates);
+      List<Candidate> firsts = new ArrayList<>();
+      for (int i = 0; i < candidates.size(); i++) {
+        if (Boolean.TRUE.equals(decisions.get(i))) {
+          firsts.add(candidates.get(i));
+        }
+      }
+      if (!firsts.isEmpty()) {
+        transactionTemplate.executeWithoutResult(
+            status ->
+                firsts.forEach(
+                    c ->
+                        eventPublisher.publishCommentCreated(
+                            CommentCreatedEvent.builder()
+                                .writerId(c.writerId())
+                                .articleId(c.articleId())
+                                .build())));
+      }
+    } catch (RuntimeException ex) {
+      failedCounter.increment(batch.size());
+      log.warn(
+          "[FirstCommentPipeline] 첫 댓글 판정/기록 실패 size={}, err={}",
+          batch.size(),
+          ex.getMessage());
+    } finally {
+      long now = System.nanoTime();
+      batch.forEach(t -> lagTimer.record(now - t.enqueuedAtNanos(), TimeUnit.NANOSECONDS));
+    }
+  }
+
+  private record Task(Candidate candidate, long enqueuedAtNanos) {}
+}
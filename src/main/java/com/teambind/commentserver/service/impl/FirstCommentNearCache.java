@@ -0,0 +1,69 @@
+package com.teambind.commentserver.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 첫 댓글 게이트 near cache (노드 로컬)
+ *
+ * <p>Redis 에 키가 있다고 확인된 (articleId, writerId) 만 Redis 키 만료 시각까지 기억합니다. 여기 있으면 "첫 댓글 아님"이
+ * 확실하므로 SETNX 를 생략할 수 있고, 없으면 반드시 Redis 에 물어야 합니다 (이 캐시는 "첫 댓글"을 판단하지 않음).
+ *
+ * <p>최대 maxEntries 개를 LRU 로 유지합니다.
+ */
+class FirstCommentNearCache {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Long> expiresAtNanos;
+
+  FirstCommentNearCache(int maxEntries) {
+    this.expiresAtNanos =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  /** 만료되지 않은 키가 있으면 true (만료된 키는 제거) */
+  boolean contains(String key) {
+    lock.lock();
+    try {
+      Long expiresAt = expiresAtNanos.get(key);
+      if (expiresAt == null) {
+        return false;
+      }
+      if (expiresAt - System.nanoTime() <= 0) {
+        expiresAtNanos.remove(key);
+        return false;
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Redis 키가 남은 ttlNanos 동안 유지된다고 확인되었을 때 기록 */
+  void put(String key, long ttlNanos) {
+    if (ttlNanos <= 0) {
+      return;
+    }
+    lock.lock();
+    try {
+      expiresAtNanos.put(key, System.nanoTime() + ttlNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size() {
+    lock.lock();
+    try {
+      return expiresAtNanos.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
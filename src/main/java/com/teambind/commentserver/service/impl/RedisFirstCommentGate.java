@@ -1,12 +1,24 @@
 package com.teambind.commentserver.service.impl;
 
-import com.teambind.commentserver.repository.CommentRepository;
 import com.teambind.commentserver.service.FirstCommentGate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import lombok.RequiredArgsConstructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,36 +28,254 @@ import org.springframework.stereotype.Component;
  * - 키: c:first:v1:{articleId}:{userId}
  * - 연산: SETNX + EX 2일 (opsForValue().setIfAbsent)
  * - 성공(true)일 때만 "첫 댓글"로 간주하여 이벤트를 발행하도록 상위 레이어에서 처리
+ * - 여러 건을 한 번에 판정할 때는 SET NX EX 를 파이프라인으로 보낸다 (비동기 발행 파이프라인의 배치)
  *
- * <p>장애 시 폴백:
- * - Redis 예외 발생 시 안전하게 false 를 반환하여 이벤트 중복 발행을 방지하거나,
- *   필요시 DB 조회로 폴백하는 확장 포인트를 남겨두었다.
+ * <p>장애 시:
+ * - 단독으로 쓰이면 Redis 예외 시 false 를 반환하여 이벤트 중복 발행을 방지한다
+ * - 기본 빈은 {@link ResilientFirstCommentGate} 로 감싸져 있어, 제한 시간·서킷 브레이커·DB 폴백은 그쪽에서 처리한다
+ *
+ * <p>near cache (comment.first-gate.near-cache.enabled):
+ * - Redis 에 키가 있다고 확인된 조합을 Redis 키 만료 시각(- expiry-margin)까지 노드 로컬에 기억하고, 다시 오면 SETNX 없이
+ *   "첫 댓글 아님"으로 판정 (최대 max-entries 개, LRU)
+ * - SETNX 성공 시에는 TTL 전체, 실패 시에는 PTTL 로 조회한 남은 시간만큼 기억
+ * - 캐시는 "첫 댓글"을 스스로 판정하지 않는다. miss 이면 항상 Redis 에 묻는다
+ *
+ * <p>지표:
+ * - comment.first_gate.result{result=first|not_first|error}: 판정 결과 수
+ * - comment.first_gate.setnx: SETNX 지연 (파이프라인은 배치 단위)
+ * - comment.first_gate.near_cache{result=hit|miss}: near cache 조회 결과 (hit / (hit + miss) = 적중률)
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RedisFirstCommentGate implements FirstCommentGate {
 
   // 2일 TTL (요구사항에 맞춤)
   private static final Duration TTL = Duration.ofDays(2);
   private final StringRedisTemplate redisTemplate;
-  private final CommentRepository commentRepository; // 폴백 용도(현재는 사용하지 않지만 확장 포인트)
+  private final Timer setnxTimer;
+  private final Counter firstCounter;
+  private final Counter notFirstCounter;
+  private final Counter errorCounter;
+  private final FirstCommentNearCache nearCache; // null 이면 비활성
+  private final long expiryMarginNanos;
+  private final Counter nearCacheHitCounter;
+  private final Counter nearCacheMissCounter;
+
+  public RedisFirstCommentGate(
+      StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${comment.first-gate.near-cache.enabled:true}") boolean nearCacheEnabled,
+      @Value("${comment.first-gate.near-cache.max-entries:100000}") int nearCacheMaxEntries,
+      @Value("${comment.first-gate.near-cache.expiry-margin:PT1S}") Duration expiryMargin) {
+    this.redisTemplate = redisTemplate;
+    this.nearCache = nearCacheEnabled ? new FirstCommentNearCache(nearCacheMaxEntries) : null;
+    this.expiryMarginNanos = expiryMargin.toNanos();
+    this.setnxTimer =
+        Timer.builder("comment.first_gate.setnx")
+            .description("첫 댓글 게이트 Redis SETNX 지연 (예외 포함)")
+            .register(meterRegistry);
+    this.firstCounter = resultCounter(meterRegistry, "first");
+    this.notFirstCounter = resultCounter(meterRegistry, "not_first");
+    this.errorCounter = resultCounter(meterRegistry, "error");
+    this.nearCacheHitCounter = nearCacheCounter(meterRegistry, "hit");
+    this.nearCacheMissCounter = nearCacheCounter(meterRegistry, "miss");
+    if (nearCache != null) {
+      Gauge.builder("comment.first_gate.near_cache.size", nearCache, FirstCommentNearCache::size)
+          .description("near cache 에 기억 중인 (articleId, writerId) 수")
+          .register(meterRegistry);
+    }
+  }
 
   @Override
   public boolean isFirstWithinWindow(String articleId, String writerId) {
+    try {
+      return decide(articleId, writerId);
+    } catch (DataAccessException ex) {
+      //  Redis 장애 시 이벤트 중복 발행을 피하기 위해 false 반환
+      log.warn(
+          "[FirstCommentGate] Redis 예외 발생으로 스킵 articleId={}, writerId={}, err={}",
+          articleId,
+          writerId,
+          ex.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Redis 로 판정한다. 장애는 예외로 그대로 전달하여 호출자(ResilientFirstCommentGate)가 폴백을 고르게 한다.
+   *
+   * @throws DataAccessException Redis 예외
+   */
+  boolean decide(String articleId, String writerId) {
     //  유저×아티클 조합에 대해 2일 동안만 첫 댓글로 인정하기 위해 Redis SETNX 사용
     String key = buildKey(articleId, writerId);
+    if (nearCache != null) {
+      if (nearCache.contains(key)) {
+        nearCacheHitCounter.increment();
+        notFirstCounter.increment();
+        return false;
+      }
+      nearCacheMissCounter.increment();
+    }
+    Timer.Sample sample = Timer.start();
     try {
       Boolean success = redisTemplate.opsForValue().setIfAbsent(key, "1", TTL);
-      return Boolean.TRUE.equals(success);
+      boolean first = Boolean.TRUE.equals(success);
+      (first ? firstCounter : notFirstCounter).increment();
+      if (nearCache != null) {
+        rememberExisting(key, first);
+      }
+      return first;
     } catch (DataAccessException ex) {
-      //  Redis 장애 시 이벤트 중복 발행을 피하기 위해 기본은 false 반환
-      // 필요 시 아래 주석 해제하여 DB 폴백 로직 추가 가능
-      // long count = commentRepository.countByArticleIdAndWriterIdAndIsDeletedFalseAndStatus(articleId, writerId, com.teambind.commentserver.entity.Comment.CommentStatus.ACTIVE);
-      // return count == 0;
-      log.warn("[FirstCommentGate] Redis 예외 발생으로 스킵 articleId={}, writerId={}, err={}", articleId, writerId, ex.getMessage());
-      return false;
+      errorCounter.increment();
+      throw ex;
+    } finally {
+      sample.stop(setnxTimer);
+    }
+  }
+
+  @Override
+  public List<Boolean> isFirstWithinWindow(List<Candidate> candidates) {
+    try {
+      return decideAll(candidates);
+    } catch (DataAccessException ex) {
+      log.warn(
+          "[FirstCommentGate] Redis 파이프라인 예외 발생으로 스킵 size={}, err={}",
+          candidates.size(),
+          ex.getMessage());
+      return new ArrayList<>(Collections.nCopies(candidates.size(), Boolean.FALSE));
+    }
+  }
+
+  /**
+   * near cache 에 없는 조합만 SET NX EX 파이프라인으로 판정한다.
+   *
+   * @throws DataAccessException Redis 예외
+   */
+  List<Boolean> decideAll(List<Candidate> candidates) {
+    Boolean[] results = new Boolean[candidates.size()];
+    List<Integer> pending = new ArrayList<>();
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < candidates.size(); i++) {
+      String key = buildKey(candidates.get(i).articleId(), candidates.get(i).writerId());
+      if (nearCache != null && nearCache.contains(key)) {
+        nearCacheHitCounter.increment();
+        notFirstCounter.increment();
+        results[i] = Boolean.FALSE;
+        continue;
+      }
+      if (nearCache != null) {
+        nearCacheMissCounter.increment();
+      }
+      pending.add(i);
+      keys.add(key);
+    }
+    if (keys.isEmpty()) {
+      return Arrays.asList(results);
     }
+
+    Expiration expiration = Expiration.from(TTL);
+    List<Object> replies;
+    Timer.Sample sample = Timer.start();
+    try {
+      replies =
+          redisTemplate.executePipelined(
+              (RedisCallback<Object>)
+                  connection -> {
+                    for (String key : keys) {
+                      connection
+                          .stringCommands()
+                          .set(bytes(key), bytes("1"), expiration, SetOption.ifAbsent());
+                    }
+                    return null;
+                  });
+    } catch (DataAccessException ex) {
+      errorCounter.increment(keys.size());
+      throw ex;
+    } finally {
+      sample.stop(setnxTimer);
+    }
+
+    List<String> existing = new ArrayList<>();
+    for (int j = 0; j < keys.size(); j++) {
+      boolean first = Boolean.TRUE.equals(replies.get(j));
+      (first ? firstCounter : notFirstCounter).increment();
+      results[pending.get(j)] = first;
+      if (nearCache != null) {
+        if (first) {
+          nearCache.put(keys.get(j), TTL.toNanos() - expiryMarginNanos);
+        } else {
+          existing.add(keys.get(j));
+        }
+      }
+    }
+    rememberAllExisting(existing);
+    return Arrays.asList(results);
+  }
+
+  /** 이미 있던 키들의 남은 TTL 을 파이프라인 PTTL 로 읽어 near cache 에 기억한다. */
+  private void rememberAllExisting(List<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    List<Object> remaining;
+    try {
+      remaining =
+          redisTemplate.executePipelined(
+              (RedisCallback<Object>)
+                  connection -> {
+                    for (String key : keys) {
+                      connection.keyCommands().pTtl(bytes(key));
+                    }
+                    return null;
+                  });
+    } catch (DataAccessException ex) {
+      return; // 기억하지 않을 뿐 판정에는 영향 없음
+    }
+    for (int i = 0; i < keys.size(); i++) {
+      if (remaining.get(i) instanceof Long millis && millis > 0) {
+        nearCache.put(keys.get(i), TimeUnit.MILLISECONDS.toNanos(millis) - expiryMarginNanos);
+      }
+    }
+  }
+
+  /** Redis 키가 만료되기 전까지(margin 만큼 일찍) near cache 에 기억한다. */
+  private void rememberExisting(String key, boolean createdNow) {
+    long remainingNanos;
+    if (createdNow) {
+      remainingNanos = TTL.toNanos();
+    } else {
+      // 다른 요청/노드가 만든 키: 남은 TTL 만큼만 기억 (-1: 만료 없음, -2: 그 사이 사라짐)
+      Long remainingMillis;
+      try {
+        remainingMillis = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+      } catch (DataAccessException ex) {
+        return; // 기억하지 않을 뿐 판정에는 영향 없음
+      }
+      if (remainingMillis == null || remainingMillis <= 0) {
+        return;
+      }
+      remainingNanos = TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+    }
+    nearCache.put(key, remainingNanos - expiryMarginNanos);
+  }
+
+  private static Counter nearCacheCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("comment.first_gate.near_cache")
+        .description("첫 댓글 게이트 near cache 조회 결과 수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("comment.first_gate.result")
+        .description("첫 댓글 게이트 판정 결과 수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
   }
 
   private String buildKey(String articleId, String writerId) {
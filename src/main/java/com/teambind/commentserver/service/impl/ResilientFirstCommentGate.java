@@ -0,0 +1,218 @@
+package com.teambind.commentserver.service.impl;
+
+import com.teambind.commentserver.entity.Comment.CommentStatus;
+import com.teambind.commentserver.repository.CommentRepository;
+import com.teambind.commentserver.service.FirstCommentGate;
+import com.teambind.commentserver.utils.resilience.CircuitBreaker;
+import com.teambind.commentserver.utils.resilience.CircuitBreaker.State;
+import com.teambind.commentserver.utils.resilience.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * 제한 시간 + 서킷 브레이커 + DB 폴백을 적용한 첫 댓글 게이트 (RedisFirstCommentGate 데코레이터)
+ *
+ * <p>동작:
+ * - Redis 판정은 가상 스레드에서 실행하고 timeout 안에 끝나지 않으면 포기한다 (생성 트랜잭션이 Redis 클라이언트 타임아웃까지
+ *   묶이지 않음)
+ * - 시간 초과/예외는 서킷 브레이커에 실패로 기록. 실패율이 임계치를 넘으면 OPEN 되어 open-duration 동안 Redis 를 호출하지 않음
+ * - Redis 를 쓸 수 없을 때(OPEN, 시간 초과, 예외)는 작성자의 활성 댓글 수 COUNT 로 판정. 폴백은 토큰 버킷으로 제한하고,
+ *   토큰이 없으면 기존처럼 스킵(false)
+ *
+ * <p>폴백 판정은 방금 저장한(또는 커밋된) 댓글까지 세므로 활성 댓글이 1개 이하이면 첫 댓글로 본다. 2일 윈도우는 알 수
+ * 없으므로 "이 아티클에 남아 있는 댓글이 없었음"으로 근사하고, Redis 에 키를 남기지 못하므로 복구 직후 같은 작성자의 다음 댓글이
+ * 한 번 더 첫 댓글로 판정될 수 있다.
+ *
+ * <p>지표:
+ * - comment.first_gate.circuit.state{state}: 현재 상태면 1
+ * - comment.first_gate.circuit.transition{from,to}: 상태 전이 수
+ * - comment.first_gate.redis_call{outcome=success|timeout|error|short_circuited}: Redis 호출 결과 수
+ * - comment.first_gate.fallback{result=first|not_first|rate_limited|error}: DB 폴백 결과 수
+ */
+@Slf4j
+public class ResilientFirstCommentGate implements FirstCommentGate, AutoCloseable {
+
+  private final RedisFirstCommentGate redisGate;
+  private final CommentRepository commentRepository;
+  private final MeterRegistry meterRegistry;
+  private final long timeoutNanos;
+  private final CircuitBreaker circuitBreaker;
+  private final TokenBucket fallbackLimiter;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Counter successCounter;
+  private final Counter timeoutCounter;
+  private final Counter errorCounter;
+  private final Counter shortCircuitedCounter;
+  private final Counter fallbackFirstCounter;
+  private final Counter fallbackNotFirstCounter;
+  private final Counter fallbackRateLimitedCounter;
+  private final Counter fallbackErrorCounter;
+
+  public ResilientFirstCommentGate(
+      RedisFirstCommentGate redisGate,
+      CommentRepository commentRepository,
+      MeterRegistry meterRegistry,
+      Duration timeout,
+      int windowSize,
+      int minimumCalls,
+      double failureRateThreshold,
+      Duration openDuration,
+      int halfOpenCalls,
+      double fallbackPermitsPerSecond,
+      int fallbackBurst) {
+    this.redisGate = redisGate;
+    this.commentRepository = commentRepository;
+    this.meterRegistry = meterRegistry;
+    this.timeoutNanos = timeout.toNanos();
+    this.circuitBreaker =
+        new CircuitBreaker(
+            windowSize,
+            minimumCalls,
+            failureRateThreshold,
+            openDuration,
+            halfOpenCalls,
+            this::onTransition);
+    this.fallbackLimiter = new TokenBucket(fallbackPermitsPerSecond, fallbackBurst);
+    this.successCounter = callCounter("success");
+    this.timeoutCounter = callCounter("timeout");
+    this.errorCounter = callCounter("error");
+    this.shortCircuitedCounter = callCounter("short_circuited");
+    this.fallbackFirstCounter = fallbackCounter("first");
+    this.fallbackNotFirstCounter = fallbackCounter("not_first");
+    this.fallbackRateLimitedCounter = fallbackCounter("rate_limited");
+    this.fallbackErrorCounter = fallbackCounter("error");
+    for (State state : State.values()) {
+      Gauge.builder(
+              "comment.first_gate.circuit.state",
+              circuitBreaker,
+              cb -> cb.state() == state ? 1 : 0)
+          .description("첫 댓글 게이트 서킷 브레이커 상태 (현재 상태면 1)")
+          .tag("state", state.name().toLowerCase())
+          .register(meterRegistry);
+    }
+  }
+
+  @Override
+  public boolean isFirstWithinWindow(String articleId, String writerId) {
+    return call(
+        () -> redisGate.decide(articleId, writerId),
+        () -> fallback(articleId, writerId),
+        false);
+  }
+
+  /** 배치는 Redis 파이프라인 한 번을 호출 1건으로 보고 같은 제한 시간을 적용한다. */
+  @Override
+  public List<Boolean> isFirstWithinWindow(List<Candidate> candidates) {
+    return call(
+        () -> redisGate.decideAll(candidates),
+        () -> candidates.stream().map(c -> fallback(c.articleId(), c.writerId())).toList(),
+        Collections.nCopies(candidates.size(), Boolean.FALSE));
+  }
+
+  private <T> T call(Callable<T> redisCall, Supplier<T> fallback, T skipped) {
+    if (!circuitBreaker.tryAcquire()) {
+      shortCircuitedCounter.increment();
+      return fallback.get();
+    }
+    Future<T> call;
+    try {
+      call = executor.submit(redisCall);
+    } catch (RejectedExecutionException ex) {
+      // 종료 중: Redis 를 판정하지 못했으므로 HALF_OPEN 시험 호출 슬롯을 돌려준다
+      circuitBreaker.release();
+      return skipped;
+    }
+    try {
+      T result = call.get(timeoutNanos, TimeUnit.NANOSECONDS);
+      circuitBreaker.onSuccess();
+      successCounter.increment();
+      return result;
+    } catch (TimeoutException ex) {
+      call.cancel(true);
+      circuitBreaker.onFailure();
+      timeoutCounter.increment();
+    } catch (ExecutionException ex) {
+      circuitBreaker.onFailure();
+      errorCounter.increment();
+      log.debug("[FirstCommentGate] Redis 판정 실패 err={}", ex.getCause().getMessage());
+    } catch (InterruptedException ex) {
+      call.cancel(true);
+      circuitBreaker.release();
+      Thread.currentThread().interrupt();
+      return skipped;
+    }
+    return fallback.get();
+  }
+
+  State circuitState() {
+    return circuitBreaker.state();
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /** 호출 스레드(생성 트랜잭션 또는 발행 파이프라인)에서 활성 댓글 수로 판정. 토큰이 없거나 DB 도 실패하면 스킵 */
+  private boolean fallback(String articleId, String writerId) {
+    if (!fallbackLimiter.tryAcquire()) {
+      fallbackRateLimitedCounter.increment();
+      return false;
+    }
+    try {
+      long active =
+          commentRepository.countByArticleIdAndWriterIdAndIsDeletedFalseAndStatus(
+              articleId, writerId, CommentStatus.ACTIVE);
+      boolean first = active <= 1;
+      (first ? fallbackFirstCounter : fallbackNotFirstCounter).increment();
+      return first;
+    } catch (DataAccessException ex) {
+      fallbackErrorCounter.increment();
+      log.warn(
+          "[FirstCommentGate] DB 폴백 실패로 스킵 articleId={}, writerId={}, err={}",
+          articleId,
+          writerId,
+          ex.getMessage());
+      return false;
+    }
+  }
+
+  private void onTransition(State from, State to) {
+    log.warn("[FirstCommentGate] 서킷 브레이커 {} -> {}", from, to);
+    Counter.builder("comment.first_gate.circuit.transition")
+        .description("첫 댓글 게이트 서킷 브레이커 상태 전이 수")
+        .tag("from", from.name().toLowerCase())
+        .tag("to", to.name().toLowerCase())
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private Counter callCounter(String outcome) {
+    return Counter.builder("comment.first_gate.redis_call")
+        .description("첫 댓글 게이트 Redis 호출 결과 수")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private Counter fallbackCounter(String result) {
+    return Counter.builder("comment.first_gate.fallback")
+        .description("첫 댓글 게이트 DB 폴백 결과 수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
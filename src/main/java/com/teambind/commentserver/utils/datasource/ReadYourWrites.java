@@ -0,0 +1,142 @@
+package com.teambind.commentserver.utils.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * read-your-writes 창 관리
+ *
+ * <p>작성/수정/삭제를 커밋한 사용자는 window 동안 읽기도 primary 에서 처리하여 복제 지연으로 자기 변경이 안 보이는 일을 막는다.
+ *
+ * <p>동작:
+ * - 쓰기 커밋 이후 markWrite(writerId) 로 창을 연다. 노드 로컬 맵과 Redis(c:ryw:v1:{writerId}, TTL = window) 에 함께 기록
+ * - 요청 스레드의 사용자는 필터가 setRequester 로 지정한다 (X-Writer-Id 헤더 또는 writerId 파라미터)
+ * - 비동기 디스패치에서는 필터가 다시 돌지 않으므로, 다른 스레드에서 읽는 쪽이 getRequester 로 받아 직접 지정한다
+ * - ReplicaRoutingDataSource 는 requiresPrimary() 가 true 이면 readOnly 트랜잭션도 primary 로 보낸다
+ * - requiresPrimary 는 로컬 맵을 먼저 보고, 없으면 Redis 를 요청당 한 번만 조회한다
+ *
+ * <p>nginx 라운드 로빈 뒤에서는 쓰기 다음 읽기가 대개 다른 노드로 가므로 창은 Redis 로 공유한다 (shared). 복제본을 쓰지 않으면
+ * Redis 를 호출하지 않고, Redis 장애 시에는 노드 로컬 창으로만 판단한다.
+ */
+@Slf4j
+@Component
+public class ReadYourWrites {
+
+  private static final String KEY_PREFIX = "c:ryw:v1:";
+
+  private final StringRedisTemplate redisTemplate;
+  private final ThreadLocal<Requester> requester = new ThreadLocal<>();
+  private final ConcurrentHashMap<String, Long> openUntilNanos = new ConcurrentHashMap<>();
+  private final boolean enabled;
+  private final boolean shared;
+  private final Duration window;
+
+  public ReadYourWrites(
+      StringRedisTemplate redisTemplate,
+      @Value("${comment.datasource.read-your-writes.enabled:true}") boolean enabled,
+      @Value("${comment.datasource.read-your-writes.shared:true}") boolean shared,
+      @Value("${comment.datasource.replicas.enabled:false}") boolean replicasEnabled,
+      @Value("${comment.datasource.read-your-writes.window:PT5S}") Duration window) {
+    this.redisTemplate = redisTemplate;
+    this.enabled = enabled;
+    this.shared = enabled && shared && replicasEnabled;
+    this.window = window;
+  }
+
+  /** writerId 의 read-your-writes 창을 (다시) 연다. */
+  public void markWrite(String writerId) {
+    if (!enabled || writerId == null) {
+      return;
+    }
+    openUntilNanos.put(writerId, System.nanoTime() + window.toNanos());
+    if (!shared) {
+      return;
+    }
+    try {
+      redisTemplate.opsForValue().set(KEY_PREFIX + writerId, "1", window);
+    } catch (DataAccessException ex) {
+      log.warn(
+          "[ReadYourWrites] 창 공유 실패(노드 로컬만 적용) writerId={}, err={}", writerId, ex.getMessage());
+    }
+  }
+
+  /** 현재 요청 사용자의 창이 (이 노드 또는 다른 노드에서) 열려 있으면 true */
+  public boolean requiresPrimary() {
+    Requester current = requester.get();
+    if (!enabled || current == null) {
+      return false;
+    }
+    if (openLocally(current.writerId)) {
+      return true;
+    }
+    if (!shared) {
+      return false;
+    }
+    if (current.sharedOpen == null) {
+      current.sharedOpen = openShared(current.writerId);
+    }
+    return current.sharedOpen;
+  }
+
+  public void setRequester(String writerId) {
+    if (writerId == null) {
+      requester.remove();
+      return;
+    }
+    requester.set(new Requester(writerId));
+  }
+
+  /** 현재 스레드에 지정된 요청 사용자. 요청 스레드 밖(비동기 응답 등)으로 넘길 때 쓴다. 없으면 null */
+  public String getRequester() {
+    Requester current = requester.get();
+    return current == null ? null : current.writerId;
+  }
+
+  public void clearRequester() {
+    requester.remove();
+  }
+
+  /** 만료된 창 정리 */
+  @Scheduled(fixedDelayString = "${comment.datasource.read-your-writes.cleanup-interval-ms:60000}")
+  public void evictExpired() {
+    long now = System.nanoTime();
+    openUntilNanos.entrySet().removeIf(e -> e.getValue() - now <= 0);
+  }
+
+  private boolean openLocally(String writerId) {
+    Long until = openUntilNanos.get(writerId);
+    if (until == null) {
+      return false;
+    }
+    if (until - System.nanoTime() <= 0) {
+      openUntilNanos.remove(writerId, until);
+      return false;
+    }
+    return true;
+  }
+
+  private boolean openShared(String writerId) {
+    try {
+      return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + writerId));
+    } catch (DataAccessException ex) {
+      log.debug("[ReadYourWrites] 공유 창 조회 실패 writerId={}, err={}", writerId, ex.getMessage());
+      return false;
+    }
+  }
+
+  /** 요청 사용자. 공유 창 조회 결과는 요청 동안 재사용한다 (조회 트랜잭션마다 Redis 를 부르지 않도록). */
+  private static final class Requester {
+    private final String writerId;
+    private Boolean sharedOpen;
+
+    private Requester(String writerId) {
+      this.writerId = writerId;
+    }
+  }
+}
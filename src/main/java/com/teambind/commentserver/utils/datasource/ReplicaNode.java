@@ -0,0 +1,112 @@
+package com.teambind.commentserver.utils.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 읽기 복제본 하나와 그 상태
+ *
+ * <p>상태는 check() 가 갱신하며, 처음 확인되기 전과 연결 실패/지연 초과 시에는 unhealthy 로 보고 라우팅에서 제외한다.
+ */
+@Slf4j
+public final class ReplicaNode {
+
+  private final String name;
+  private final DataSource dataSource;
+  private volatile boolean healthy;
+  private volatile double lagSeconds = Double.NaN;
+
+  public ReplicaNode(String name, DataSource dataSource) {
+    this.name = name;
+    this.dataSource = dataSource;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public DataSource dataSource() {
+    return dataSource;
+  }
+
+  public boolean isHealthy() {
+    return healthy;
+  }
+
+  public double lagSeconds() {
+    return lagSeconds;
+  }
+
+  Connection getConnection() throws SQLException {
+    return dataSource.getConnection();
+  }
+
+  int activeConnections() {
+    if (dataSource instanceof HikariDataSource hikari) {
+      HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+      return pool == null ? 0 : pool.getActiveConnections();
+    }
+    return 0;
+  }
+
+  /** 연결 실패 시 다음 확인까지 라우팅에서 제외 */
+  void markDown(SQLException cause) {
+    if (healthy) {
+      log.warn("[Replica] {} 연결 실패로 제외 err={}", name, cause.getMessage());
+    }
+    healthy = false;
+  }
+
+  /**
+   * 연결 가능 여부와 복제 지연을 확인한다.
+   *
+   * @param lagQuery 지연(초) 한 값을 돌려주는 쿼리. null 이면 SHOW SLAVE STATUS 의 Seconds_Behind_Master
+   */
+  void check(String lagQuery, Duration maxLag) {
+    boolean ok;
+    try (Connection con = dataSource.getConnection();
+        Statement st = con.createStatement()) {
+      Double lag = lagQuery == null ? secondsBehindMaster(st) : queryLag(st, lagQuery);
+      lagSeconds = lag == null ? Double.POSITIVE_INFINITY : lag;
+      ok = lag != null && lag * 1000 <= maxLag.toMillis();
+    } catch (SQLException e) {
+      lagSeconds = Double.NaN;
+      ok = false;
+      if (healthy) {
+        log.warn("[Replica] {} 상태 확인 실패 err={}", name, e.getMessage());
+      }
+    }
+    if (ok != healthy) {
+      log.info("[Replica] {} healthy={} lagSeconds={}", name, ok, lagSeconds);
+    }
+    healthy = ok;
+  }
+
+  /** 복제가 멈췄거나 복제본이 아니면(상태 행 없음: 잘못된 URL, 복제 초기화) null */
+  private static Double secondsBehindMaster(Statement st) throws SQLException {
+    try (ResultSet rs = st.executeQuery("SHOW SLAVE STATUS")) {
+      if (!rs.next()) {
+        return null;
+      }
+      Object value = rs.getObject("Seconds_Behind_Master");
+      return value == null ? null : ((Number) value).doubleValue();
+    }
+  }
+
+  private static Double queryLag(Statement st, String lagQuery) throws SQLException {
+    try (ResultSet rs = st.executeQuery(lagQuery)) {
+      if (!rs.next()) {
+        return null;
+      }
+      double lag = rs.getDouble(1);
+      return rs.wasNull() ? null : lag;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.teambind.commentserver.utils.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션을 읽기 복제본으로 보내는 라우팅 DataSource
+ *
+ * <p>라우팅 기준:
+ * - @Transactional(readOnly = true) 트랜잭션이면 건강한 복제본 중 하나
+ *   (selection: round-robin | least-connections)
+ * - 쓰기 트랜잭션, 트랜잭션 밖, read-your-writes 창이 열린 사용자는 primary
+ * - 건강한 복제본이 없거나 복제본 연결에 실패하면 primary 로 폴백 (실패한 복제본은 다음 상태 확인까지 제외)
+ *
+ * <p>readOnly 플래그는 트랜잭션 매니저가 커넥션을 얻은 뒤에 설정되므로, 반드시 LazyConnectionDataSourceProxy 로 감싸 첫
+ * 문장 실행 시점에 커넥션을 고르게 해야 한다. 복제본 상태는 checkReplicas() 가 주기적으로 갱신한다 (연결 가능 + 복제 지연 ≤
+ * max-lag).
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private final DataSource primary;
+  private final List<ReplicaNode> replicas;
+  private final ReplicaSelection selection;
+  private final ReadYourWrites readYourWrites;
+  private final Duration maxLag;
+  private final String lagQuery;
+  private final AtomicInteger cursor = new AtomicInteger();
+  private final Counter replicaRoutes;
+  private final Counter readYourWritesRoutes;
+  private final Counter fallbackRoutes;
+
+  /**
+   * @param lagQuery 복제 지연(초)을 돌려주는 쿼리. null 이면 SHOW SLAVE STATUS 의 Seconds_Behind_Master
+   */
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<ReplicaNode> replicas,
+      ReplicaSelection selection,
+      ReadYourWrites readYourWrites,
+      Duration maxLag,
+      String lagQuery,
+      MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.selection = selection;
+    this.readYourWrites = readYourWrites;
+    this.maxLag = maxLag;
+    this.lagQuery = lagQuery;
+    this.replicaRoutes = routeCounter(meterRegistry, "replica");
+    this.readYourWritesRoutes = routeCounter(meterRegistry, "read_your_writes");
+    this.fallbackRoutes = routeCounter(meterRegistry, "fallback");
+    for (ReplicaNode node : this.replicas) {
+      Gauge.builder("comment.datasource.replica.healthy", node, n -> n.isHealthy() ? 1 : 0)
+          .description("복제본 라우팅 대상 여부 (1=healthy)")
+          .tag("replica", node.name())
+          .register(meterRegistry);
+      Gauge.builder("comment.datasource.replica.lag", node, ReplicaNode::lagSeconds)
+          .description("마지막 상태 확인 시 복제 지연(초)")
+          .baseUnit("seconds")
+          .tag("replica", node.name())
+          .register(meterRegistry);
+    }
+  }
+
+  private static Counter routeCounter(MeterRegistry meterRegistry, String target) {
+    return Counter.builder("comment.datasource.read_route")
+        .description("readOnly 트랜잭션 커넥션 라우팅 결과")
+        .tag("target", target)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!isReadOnlyTransaction()) {
+      return primary.getConnection();
+    }
+    if (readYourWrites.requiresPrimary()) {
+      readYourWritesRoutes.increment();
+      return primary.getConnection();
+    }
+    List<ReplicaNode> healthy = replicas.stream().filter(ReplicaNode::isHealthy).toList();
+    if (!healthy.isEmpty()) {
+      ReplicaNode node = selection.select(healthy, cursor);
+      try {
+        Connection connection = node.getConnection();
+        replicaRoutes.increment();
+        return connection;
+      } catch (SQLException e) {
+        node.markDown(e);
+      }
+    }
+    fallbackRoutes.increment();
+    return primary.getConnection();
+  }
+
+  /** 계정별 커넥션은 라우팅하지 않고 primary 에서 연다. */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  private static boolean isReadOnlyTransaction() {
+    return TransactionSynchronizationManager.isActualTransactionActive()
+        && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+  }
+
+  /** 복제본 연결 가능 여부와 복제 지연을 확인해 라우팅 대상을 갱신한다. */
+  @Scheduled(fixedDelayString = "${comment.datasource.replicas.health-check-interval-ms:1000}")
+  public void checkReplicas() {
+    for (ReplicaNode node : replicas) {
+      node.check(lagQuery, maxLag);
+    }
+  }
+
+  public List<ReplicaNode> getReplicas() {
+    return replicas;
+  }
+
+  /** 복제본 커넥션 풀을 닫는다 (primary 는 별도 빈으로 관리). */
+  @Override
+  public void close() {
+    for (ReplicaNode node : replicas) {
+      if (node.dataSource() instanceof AutoCloseable closeable) {
+        try {
+          closeable.close();
+        } catch (Exception e) {
+          log.warn("[Replica] {} 풀 종료 실패 err={}", node.name(), e.getMessage());
+        }
+      }
+    }
+  }
+}
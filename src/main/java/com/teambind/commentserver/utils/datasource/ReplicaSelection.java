@@ -0,0 +1,28 @@
+package com.teambind.commentserver.utils.datasource;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** 건강한 복제본 중 하나를 고르는 방식 */
+public enum ReplicaSelection {
+  /** 순서대로 돌아가며 선택 */
+  ROUND_ROBIN {
+    @Override
+    ReplicaNode select(List<ReplicaNode> healthy, AtomicInteger cursor) {
+      return healthy.get(Math.floorMod(cursor.getAndIncrement(), healthy.size()));
+    }
+  },
+  /** 사용 중인 커넥션이 가장 적은 복제본 선택 (Hikari 풀 기준) */
+  LEAST_CONNECTIONS {
+    @Override
+    ReplicaNode select(List<ReplicaNode> healthy, AtomicInteger cursor) {
+      return healthy.stream()
+          .min(Comparator.comparingInt(ReplicaNode::activeConnections))
+          .orElseThrow();
+    }
+  };
+
+  /** healthy 는 비어 있지 않다. */
+  abstract ReplicaNode select(List<ReplicaNode> healthy, AtomicInteger cursor);
+}
@@ -0,0 +1,56 @@
+package com.teambind.commentserver.utils.primarykey;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** 메모리 기반 노드 ID 임대 (테스트/단일 노드 로컬 실행용) */
+public class InMemoryNodeIdLeaseStore implements NodeIdLeaseStore {
+
+  private final Map<Integer, Lease> leases = new ConcurrentHashMap<>();
+  private final Clock clock;
+
+  public InMemoryNodeIdLeaseStore(Clock clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public boolean tryAcquire(int nodeId, String owner, Duration ttl) {
+    Instant now = clock.instant();
+    Lease next = new Lease(owner, now.plus(ttl));
+    Lease result =
+        leases.compute(
+            nodeId,
+            (id, current) ->
+                current == null
+                        || current.expiresAt().isBefore(now)
+                        || current.owner().equals(owner)
+                    ? next
+                    : current);
+    return result == next;
+  }
+
+  @Override
+  public boolean renew(int nodeId, String owner, Duration ttl) {
+    Lease next = new Lease(owner, clock.instant().plus(ttl));
+    return leases.computeIfPresent(
+            nodeId, (id, current) -> current.owner().equals(owner) ? next : current)
+        == next;
+  }
+
+  @Override
+  public void release(int nodeId, String owner) {
+    leases.computeIfPresent(
+        nodeId, (id, current) -> current.owner().equals(owner) ? null : current);
+  }
+
+  /** 현재 nodeId 의 소유자 (없으면 null) */
+  public String ownerOf(int nodeId) {
+    Lease lease = leases.get(nodeId);
+    return lease == null ? null : lease.owner();
+  }
+
+  private record Lease(String owner, Instant expiresAt) {}
+}
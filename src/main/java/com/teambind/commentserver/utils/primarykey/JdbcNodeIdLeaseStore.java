@@ -0,0 +1,69 @@
+package com.teambind.commentserver.utils.primarykey;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * DB 테이블(snowflake_node_leases) 기반 노드 ID 임대. redis 설정에서도 모든 임대가 기록되는 기준 저장소입니다.
+ *
+ * <p>만료 판단은 애플리케이션 시각 기준이므로 노드 간 시계 오차는 ttl 에 비해 충분히 작아야 합니다.
+ */
+public class JdbcNodeIdLeaseStore implements NodeIdLeaseStore {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Clock clock;
+
+  public JdbcNodeIdLeaseStore(JdbcTemplate jdbcTemplate, Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clock = clock;
+  }
+
+  @Override
+  public boolean tryAcquire(int nodeId, String owner, Duration ttl) {
+    Instant now = clock.instant();
+    // 만료되었거나 이미 내 것인 행을 가져온다
+    int updated =
+        jdbcTemplate.update(
+            "UPDATE snowflake_node_leases SET owner = ?, expires_at = ? "
+                + "WHERE node_id = ? AND (expires_at < ? OR owner = ?)",
+            owner,
+            Timestamp.from(now.plus(ttl)),
+            nodeId,
+            Timestamp.from(now),
+            owner);
+    if (updated == 1) {
+      return true;
+    }
+    try {
+      return jdbcTemplate.update(
+              "INSERT INTO snowflake_node_leases (node_id, owner, expires_at) VALUES (?, ?, ?)",
+              nodeId,
+              owner,
+              Timestamp.from(now.plus(ttl)))
+          == 1;
+    } catch (DuplicateKeyException e) {
+      // 다른 노드가 유효한 임대를 보유 중
+      return false;
+    }
+  }
+
+  @Override
+  public boolean renew(int nodeId, String owner, Duration ttl) {
+    return jdbcTemplate.update(
+            "UPDATE snowflake_node_leases SET expires_at = ? WHERE node_id = ? AND owner = ?",
+            Timestamp.from(clock.instant().plus(ttl)),
+            nodeId,
+            owner)
+        == 1;
+  }
+
+  @Override
+  public void release(int nodeId, String owner) {
+    jdbcTemplate.update(
+        "DELETE FROM snowflake_node_leases WHERE node_id = ? AND owner = ?", nodeId, owner);
+  }
+}
@@ -0,0 +1,196 @@
+package com.teambind.commentserver.utils.primarykey;
+
+import com.teambind.commentserver.exceptions.CustomException;
+import com.teambind.commentserver.exceptions.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Snowflake 노드 ID 임대 관리자.
+ *
+ * <p>동작:
+ * - 시작 시 임의 위치부터 0..1023 을 순회하며 비어 있는 노드 ID 를 임대 (모두 사용 중이면 기동 실패)
+ * - heartbeat 주기마다 임대를 연장. 연장 요청 직전 시각 + ttl 까지만 로컬에서 유효하다고 간주
+ * - 다른 소유자로 넘어갔거나(연장 거절) 저장소 장애로 로컬 유효 시간이 지나면 임대 상실로 보고 ID 발급을 거부,
+ *   다음 heartbeat 에서 재임대
+ *
+ * <p>저장소가 둘이면(redis 설정: 기준 = DB, 미러 = Redis) 두 저장소에 함께 임대한다.
+ * - 기준 저장소 임대는 필수. 장애면 임대/연장 실패로 처리한다 (댓글 INSERT 도 DB 가 필요하므로 DB 에 닿지 못하는 노드의 ID 는 쓰이지 않음)
+ * - 미러는 닿을 때만 기록/확인한다. 어느 저장소든 다른 소유자가 있으면 그 ID 는 쓰지 않고, 미러 장애 중에 임대했으면 복구 후
+ *   heartbeat 에서 미러에 다시 기록한다
+ * - 모든 임대가 기준 저장소에 있으므로 한 노드만 Redis 에 닿지 못해도 다른 노드가 쓰는 ID 를 가져가지 않는다
+ */
+@Slf4j
+public class NodeIdLeaseManager implements NodeIdProvider {
+
+  private static final int NODE_ID_COUNT = (int) Snowflake.MAX_NODE_ID + 1;
+
+  private final NodeIdLeaseStore store;
+  private final NodeIdLeaseStore mirror; // null 이면 단일 저장소
+  private final Duration ttl;
+  private final String owner;
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile Lease lease;
+
+  public NodeIdLeaseManager(NodeIdLeaseStore store, NodeIdLeaseStore mirror, Duration ttl) {
+    this.store = store;
+    this.mirror = mirror;
+    this.ttl = ttl;
+    this.owner = hostName() + ":" + UUID.randomUUID();
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!acquire()) {
+      throw new IllegalStateException("사용 가능한 Snowflake 노드 ID 가 없습니다.");
+    }
+  }
+
+  @Override
+  public long currentNodeId() {
+    Lease current = lease;
+    if (current == null || System.nanoTime() - current.validUntilNanos() > 0) {
+      throw new CustomException(ErrorCode.NODE_ID_LEASE_UNAVAILABLE);
+    }
+    return current.nodeId();
+  }
+
+  /** 임대를 연장하고, 상실했으면 다시 임대합니다. */
+  @Scheduled(fixedDelayString = "${comment.snowflake.lease.heartbeat-interval-ms:10000}")
+  public void heartbeat() {
+    lock.lock();
+    try {
+      Lease current = lease;
+      if (current == null) {
+        acquire();
+        return;
+      }
+      long begin = System.nanoTime();
+      try {
+        if (store.renew(current.nodeId(), owner, ttl) && renewMirror(current.nodeId())) {
+          lease = current.renewedAt(begin, ttl);
+          return;
+        }
+        log.error("[Snowflake] 노드 ID 임대 상실(다른 소유자) nodeId={}", current.nodeId());
+      } catch (DataAccessException ex) {
+        if (begin - current.validUntilNanos() < 0) {
+          log.warn(
+              "[Snowflake] 임대 연장 실패, 유효 시간 내 재시도 nodeId={}, err={}",
+              current.nodeId(),
+              ex.getMessage());
+          return;
+        }
+        log.error("[Snowflake] 임대 연장 실패로 노드 ID 임대 만료 nodeId={}", current.nodeId());
+      }
+      release();
+      acquire();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @PreDestroy
+  public void release() {
+    Lease current = lease;
+    lease = null;
+    if (current == null) {
+      return;
+    }
+    releaseQuietly(store, current.nodeId());
+    if (mirror != null) {
+      releaseQuietly(mirror, current.nodeId());
+    }
+  }
+
+  String owner() {
+    return owner;
+  }
+
+  private boolean acquire() {
+    lock.lock();
+    try {
+      int start = ThreadLocalRandom.current().nextInt(NODE_ID_COUNT);
+      for (int i = 0; i < NODE_ID_COUNT; i++) {
+        int nodeId = (start + i) % NODE_ID_COUNT;
+        long begin = System.nanoTime();
+        if (tryAcquire(nodeId)) {
+          lease = new Lease(nodeId, begin + ttl.toNanos());
+          log.info("[Snowflake] 노드 ID 임대 nodeId={}, owner={}", nodeId, owner);
+          return true;
+        }
+      }
+      log.error("[Snowflake] 모든 노드 ID 가 사용 중입니다.");
+      return false;
+    } catch (DataAccessException ex) {
+      log.error("[Snowflake] 노드 ID 임대 저장소 장애 err={}", ex.getMessage());
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** 기준 저장소와 (닿으면) 미러 모두에서 비어 있을 때만 임대합니다. */
+  private boolean tryAcquire(int nodeId) {
+    if (!store.tryAcquire(nodeId, owner, ttl)) {
+      return false;
+    }
+    if (mirror == null) {
+      return true;
+    }
+    try {
+      if (mirror.tryAcquire(nodeId, owner, ttl)) {
+        return true;
+      }
+    } catch (DataAccessException ex) {
+      log.warn("[Snowflake] 미러 임대 저장소 장애, 기준 저장소로만 임대 nodeId={}, err={}", nodeId, ex.getMessage());
+      return true;
+    }
+    // 미러에 다른 소유자가 있다
+    store.release(nodeId, owner);
+    return false;
+  }
+
+  /** 미러 임대를 연장합니다. 없으면(미러 장애 중 임대, 만료) 다시 기록하고, 다른 소유자가 있으면 false. */
+  private boolean renewMirror(int nodeId) {
+    if (mirror == null) {
+      return true;
+    }
+    try {
+      return mirror.renew(nodeId, owner, ttl) || mirror.tryAcquire(nodeId, owner, ttl);
+    } catch (DataAccessException ex) {
+      log.warn("[Snowflake] 미러 임대 연장 실패 nodeId={}, err={}", nodeId, ex.getMessage());
+      return true;
+    }
+  }
+
+  private void releaseQuietly(NodeIdLeaseStore target, int nodeId) {
+    try {
+      target.release(nodeId, owner);
+    } catch (DataAccessException ex) {
+      log.warn("[Snowflake] 노드 ID 반납 실패(만료로 정리됨) nodeId={}, err={}", nodeId, ex.getMessage());
+    }
+  }
+
+  private static String hostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (Exception e) {
+      return "unknown";
+    }
+  }
+
+  private record Lease(int nodeId, long validUntilNanos) {
+
+    Lease renewedAt(long begin, Duration ttl) {
+      return new Lease(nodeId, begin + ttl.toNanos());
+    }
+  }
+}
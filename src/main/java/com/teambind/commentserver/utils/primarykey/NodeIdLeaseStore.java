@@ -0,0 +1,20 @@
+package com.teambind.commentserver.utils.primarykey;
+
+import java.time.Duration;
+
+/**
+ * Snowflake 노드 ID 임대 저장소.
+ *
+ * <p>한 노드 ID 는 동시에 한 소유자(owner)만 가질 수 있습니다. 구현체는 저장소 장애 시 DataAccessException 을 던집니다.
+ */
+public interface NodeIdLeaseStore {
+
+  /** 비어 있거나 만료된 nodeId 를 owner 로 ttl 동안 임대합니다. 성공하면 true. */
+  boolean tryAcquire(int nodeId, String owner, Duration ttl);
+
+  /** owner 가 보유한 임대를 ttl 만큼 연장합니다. 다른 소유자로 넘어갔으면 false. */
+  boolean renew(int nodeId, String owner, Duration ttl);
+
+  /** owner 가 보유한 임대를 반납합니다. */
+  void release(int nodeId, String owner);
+}
@@ -0,0 +1,18 @@
+package com.teambind.commentserver.utils.primarykey;
+
+/** Snowflake 에 노드 ID 를 공급합니다. */
+public interface NodeIdProvider {
+
+  /**
+   * 현재 이 노드가 사용할 수 있는 노드 ID.
+   *
+   * @throws com.teambind.commentserver.exceptions.CustomException 노드 ID 를 사용할 수 없는 경우
+   *     (NODE_ID_LEASE_UNAVAILABLE)
+   */
+  long currentNodeId();
+
+  /** 고정 노드 ID (테스트/벤치마크용) */
+  static NodeIdProvider fixed(long nodeId) {
+    return () -> nodeId;
+  }
+}
@@ -1,7 +1,37 @@
 package com.teambind.commentserver.utils.primarykey;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface PrimaryKeyProvider {
   String generateKey();
 
   Long generateLongKey();
+
+  /**
+   * count 개의 키를 한 번에 발급합니다. (벌크 insert 용)
+   *
+   * <p>반환 순서는 발급 순서(오름차순)입니다. 기본 구현은 generateLongKey 를 반복 호출하며, 구현체는 한 번의 연산으로 블록을 예약하도록
+   * 재정의할 수 있습니다.
+   */
+  default long[] reserveLongKeys(int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be >= 0: " + count);
+    }
+    long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = generateLongKey();
+    }
+    return keys;
+  }
+
+  /** reserveLongKeys 의 문자열 버전 */
+  default List<String> reserveKeys(int count) {
+    long[] keys = reserveLongKeys(count);
+    List<String> result = new ArrayList<>(keys.length);
+    for (long key : keys) {
+      result.add(String.valueOf(key));
+    }
+    return result;
+  }
 }
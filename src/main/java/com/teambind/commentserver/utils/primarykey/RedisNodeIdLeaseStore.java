@@ -0,0 +1,56 @@
+package com.teambind.commentserver.utils.primarykey;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * Redis 기반 노드 ID 임대.
+ *
+ * <p>- 키: c:snowflake:node:v1:{nodeId}, 값: owner
+ * - 획득: SET NX PX ttl
+ * - 연장/반납: 값이 owner 일 때만 PEXPIRE / DEL (Lua 로 원자 처리)
+ */
+public class RedisNodeIdLeaseStore implements NodeIdLeaseStore {
+
+  private static final DefaultRedisScript<Long> RENEW =
+      new DefaultRedisScript<>(
+          "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+              + "return redis.call('PEXPIRE', KEYS[1], ARGV[2]) else return 0 end",
+          Long.class);
+
+  private static final DefaultRedisScript<Long> RELEASE =
+      new DefaultRedisScript<>(
+          "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+              + "return redis.call('DEL', KEYS[1]) else return 0 end",
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+
+  public RedisNodeIdLeaseStore(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  @Override
+  public boolean tryAcquire(int nodeId, String owner, Duration ttl) {
+    return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key(nodeId), owner, ttl));
+  }
+
+  @Override
+  public boolean renew(int nodeId, String owner, Duration ttl) {
+    Long result =
+        redisTemplate.execute(
+            RENEW, List.of(key(nodeId)), owner, String.valueOf(ttl.toMillis()));
+    return result != null && result == 1L;
+  }
+
+  @Override
+  public void release(int nodeId, String owner) {
+    redisTemplate.execute(RELEASE, List.of(key(nodeId)), owner);
+  }
+
+  private String key(int nodeId) {
+    return "c:snowflake:node:v1:" + nodeId;
+  }
+}
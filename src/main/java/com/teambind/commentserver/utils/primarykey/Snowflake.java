@@ -1,25 +1,30 @@
 package com.teambind.commentserver.utils.primarykey;
 
-import java.util.concurrent.ThreadLocalRandom;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 /**
  * Snowflake ID Generator - Time-ordered 64-bit unique ID - Custom epoch - Supports multiple nodes
  *
+ * <p>Lock-free: (timestamp, sequence) 를 하나의 AtomicLong 에 담아 CAS 로 갱신합니다. 같은 밀리초에서 sequence 가 넘치면 다음
+ * 밀리초를 미리 당겨 쓰고(busy-wait 없음), 시계가 MAX_BORROW_MILLIS 이상 앞서 나가면 잠시 park 합니다. 시계가 뒤로 가도 논리
+ * 시계는 계속 증가하므로 ID 는 단조 증가합니다.
+ *
+ * <p>노드 ID 는 NodeIdProvider(임대 관리자)에서 발급 시마다 읽습니다. 임대를 잃으면 발급을 거부합니다.
+ *
  * <p>Author: MyungJoo Date: 2025-06-17
  */
 @Component
 @Primary
-@RequiredArgsConstructor
 public class Snowflake implements PrimaryKeyProvider {
 
   // ===== Bit Allocation =====
   private static final int NODE_ID_BITS = 10;
   private static final int SEQUENCE_BITS = 12;
 
-  private static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+  static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
   private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
 
   private static final int NODE_ID_SHIFT = SEQUENCE_BITS;
@@ -27,47 +32,73 @@ public class Snowflake implements PrimaryKeyProvider {
 
   // ===== Custom Epoch: 2024-01-01T00:00:00Z =====
   private static final long CUSTOM_EPOCH = 1704067200000L;
-  private static final long maxNodeId = (1L << NODE_ID_BITS) - 1;
+
+  /** 논리 시계가 실제 시계보다 앞서도 되는 최대 밀리초 (버스트 흡수용) */
+  private static final long MAX_BORROW_MILLIS = 50;
+
+  /** 한 번에 예약할 수 있는 최대 키 수 (한 밀리초의 sequence 공간) */
+  public static final int MAX_RESERVE = (int) MAX_SEQUENCE + 1;
+
   // ===== Instance Variables =====
-  private final long nodeId = ThreadLocalRandom.current().nextLong(maxNodeId + 1);
-  private long lastTimestamp = -1L;
-  private long sequence = 0L;
+  private final NodeIdProvider nodeIdProvider;
+
+  // (timestamp - CUSTOM_EPOCH) << SEQUENCE_BITS | sequence : 마지막으로 발급한 상태
+  private final AtomicLong state = new AtomicLong(-1L);
+
+  public Snowflake(NodeIdProvider nodeIdProvider) {
+    this.nodeIdProvider = nodeIdProvider;
+  }
 
   /** Generate next unique ID */
-  public synchronized long nextId() {
-    long currentTimestamp = currentTime();
+  public long nextId() {
+    long nodeId = nodeIdProvider.currentNodeId();
+    return toId(advance(1), nodeId);
+  }
 
-    // Clock rollback handling
-    if (currentTimestamp < lastTimestamp) {
-      // Option 1: wait for time to catch up (soft fail)
-      currentTimestamp = waitNextMillis(lastTimestamp);
+  /**
+   * count 개의 ID 블록을 한 번의 CAS 로 예약합니다.
+   *
+   * <p>블록은 논리 시계상 연속이므로 밀리초 경계를 넘으면 ID 값 자체는 건너뛸 수 있지만 항상 오름차순입니다.
+   */
+  @Override
+  public long[] reserveLongKeys(int count) {
+    if (count < 0 || count > MAX_RESERVE) {
+      throw new IllegalArgumentException("count must be in [0, " + MAX_RESERVE + "]: " + count);
+    }
+    long[] ids = new long[count];
+    if (count == 0) {
+      return ids;
     }
+    long nodeId = nodeIdProvider.currentNodeId();
+    long first = advance(count) - count + 1;
+    for (int i = 0; i < count; i++) {
+      ids[i] = toId(first + i, nodeId);
+    }
+    return ids;
+  }
 
-    if (currentTimestamp == lastTimestamp) {
-      sequence = (sequence + 1) & MAX_SEQUENCE;
-      if (sequence == 0) {
-        // Sequence overflow: wait for next millisecond
-        currentTimestamp = waitNextMillis(currentTimestamp);
+  /** 상태를 count 만큼 전진시키고 예약한 마지막 상태를 반환합니다. */
+  private long advance(int count) {
+    while (true) {
+      long current = state.get();
+      long now = currentTime() - CUSTOM_EPOCH;
+      long next = Math.max(now << SEQUENCE_BITS, current + 1) + count - 1;
+      long borrowed = (next >>> SEQUENCE_BITS) - now;
+      if (borrowed > MAX_BORROW_MILLIS) {
+        // 시계가 따라올 때까지 잠시 양보 (sequence 고갈 또는 큰 시계 역행)
+        LockSupport.parkNanos(100_000L);
+        continue;
+      }
+      if (state.compareAndSet(current, next)) {
+        return next;
       }
-    } else {
-      sequence = 0;
     }
-
-    lastTimestamp = currentTimestamp;
-
-    return ((currentTimestamp - CUSTOM_EPOCH) << TIMESTAMP_SHIFT)
-        | (nodeId << NODE_ID_SHIFT)
-        | sequence;
   }
 
-  /** Busy-wait for next millisecond */
-  private long waitNextMillis(long lastTimestamp) {
-    long timestamp = currentTime();
-    while (timestamp <= lastTimestamp) {
-      Thread.yield(); // Reduce CPU waste
-      timestamp = currentTime();
-    }
-    return timestamp;
+  private long toId(long packed, long nodeId) {
+    long timestamp = packed >>> SEQUENCE_BITS;
+    long sequence = packed & MAX_SEQUENCE;
+    return (timestamp << TIMESTAMP_SHIFT) | (nodeId << NODE_ID_SHIFT) | sequence;
   }
 
   private long currentTime() {
@@ -0,0 +1,195 @@
+package com.teambind.commentserver.utils.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 호출 수 기반 서킷 브레이커
+ *
+ * <p>상태:
+ * - CLOSED: 최근 windowSize 건의 결과를 기록하고, minimumCalls 이상 쌓였을 때 실패율이 failureRateThreshold 이상이면 OPEN
+ * - OPEN: openDuration 동안 모든 호출을 거절 (tryAcquire == false)
+ * - HALF_OPEN: openDuration 이후 halfOpenCalls 건만 시험 호출을 허용. 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ *
+ * <p>호출자는 tryAcquire 가 true 일 때만 호출하고 결과를 onSuccess/onFailure 로 알려야 한다. 결과 없이 끝난 호출(인터럽트,
+ * 실행 거절)은 release 로 허가를 돌려준다.
+ */
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  /** 상태 전이 알림 (락을 잡은 채 호출되므로 가볍게 유지) */
+  @FunctionalInterface
+  public interface TransitionListener {
+    void onTransition(State from, State to);
+  }
+
+  private final int minimumCalls;
+  private final double failureRateThreshold;
+  private final long openNanos;
+  private final int halfOpenCalls;
+  private final LongSupplier nanoClock;
+  private final TransitionListener listener;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final boolean[] failures; // 최근 결과 링 버퍼 (true = 실패)
+  private int next;
+  private int recorded;
+  private int failureCount;
+  private State state = State.CLOSED;
+  private long openedAtNanos;
+  private int halfOpenPermitted;
+  private int halfOpenSucceeded;
+
+  public CircuitBreaker(
+      int windowSize,
+      int minimumCalls,
+      double failureRateThreshold,
+      Duration openDuration,
+      int halfOpenCalls,
+      TransitionListener listener) {
+    this(
+        windowSize,
+        minimumCalls,
+        failureRateThreshold,
+        openDuration,
+        halfOpenCalls,
+        listener,
+        System::nanoTime);
+  }
+
+  public CircuitBreaker(
+      int windowSize,
+      int minimumCalls,
+      double failureRateThreshold,
+      Duration openDuration,
+      int halfOpenCalls,
+      TransitionListener listener,
+      LongSupplier nanoClock) {
+    this.failures = new boolean[Math.max(1, windowSize)];
+    this.minimumCalls = Math.max(1, Math.min(minimumCalls, failures.length));
+    this.failureRateThreshold = failureRateThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    this.listener = listener;
+    this.nanoClock = nanoClock;
+  }
+
+  /** 호출 허용 여부. OPEN 상태에서 openDuration 이 지났으면 HALF_OPEN 으로 바꾸고 시험 호출을 허용한다. */
+  public boolean tryAcquire() {
+    lock.lock();
+    try {
+      if (state == State.OPEN) {
+        if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+          return false;
+        }
+        transitionTo(State.HALF_OPEN);
+      }
+      if (state == State.HALF_OPEN) {
+        if (halfOpenPermitted >= halfOpenCalls) {
+          return false;
+        }
+        halfOpenPermitted++;
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void onSuccess() {
+    lock.lock();
+    try {
+      switch (state) {
+        case CLOSED -> record(false);
+        case HALF_OPEN -> {
+          if (++halfOpenSucceeded >= halfOpenCalls) {
+            transitionTo(State.CLOSED);
+          }
+        }
+        case OPEN -> {} // OPEN 이전에 시작된 호출의 늦은 결과는 무시
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void onFailure() {
+    lock.lock();
+    try {
+      switch (state) {
+        case CLOSED -> {
+          record(true);
+          if (recorded >= minimumCalls
+              && (double) failureCount / recorded >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+          }
+        }
+        case HALF_OPEN -> transitionTo(State.OPEN);
+        case OPEN -> {}
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** 결과를 판정하지 못한 호출의 허가를 반환한다. HALF_OPEN 이면 시험 호출 슬롯을 돌려준다. */
+  public void release() {
+    lock.lock();
+    try {
+      if (state == State.HALF_OPEN && halfOpenPermitted > halfOpenSucceeded) {
+        halfOpenPermitted--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public State state() {
+    lock.lock();
+    try {
+      return state;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void record(boolean failure) {
+    if (recorded == failures.length) {
+      if (failures[next]) {
+        failureCount--;
+      }
+    } else {
+      recorded++;
+    }
+    failures[next] = failure;
+    if (failure) {
+      failureCount++;
+    }
+    next = (next + 1) % failures.length;
+  }
+
+  private void transitionTo(State to) {
+    State from = state;
+    state = to;
+    switch (to) {
+      case OPEN -> openedAtNanos = nanoClock.getAsLong();
+      case HALF_OPEN -> {
+        halfOpenPermitted = 0;
+        halfOpenSucceeded = 0;
+      }
+      case CLOSED -> {
+        next = 0;
+        recorded = 0;
+        failureCount = 0;
+      }
+    }
+    if (listener != null) {
+      listener.onTransition(from, to);
+    }
+  }
+}
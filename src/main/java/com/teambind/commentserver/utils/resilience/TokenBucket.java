@@ -0,0 +1,48 @@
+package com.teambind.commentserver.utils.resilience;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 비차단 토큰 버킷 (초당 permitsPerSecond 개 충전, 최대 burst 개 적립)
+ *
+ * <p>tryAcquire 는 기다리지 않고 토큰이 없으면 바로 false 를 반환한다. 폴백 경로가 장애 대상 대신 DB 로 몰리는 것을 막는 데
+ * 사용한다.
+ */
+public class TokenBucket {
+
+  private final double permitsPerNano;
+  private final double burst;
+  private final LongSupplier nanoClock;
+  private final ReentrantLock lock = new ReentrantLock();
+  private double tokens;
+  private long refilledAtNanos;
+
+  public TokenBucket(double permitsPerSecond, int burst) {
+    this(permitsPerSecond, burst, System::nanoTime);
+  }
+
+  public TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+    this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+    this.burst = Math.max(1, burst);
+    this.nanoClock = nanoClock;
+    this.tokens = this.burst;
+    this.refilledAtNanos = nanoClock.getAsLong();
+  }
+
+  public boolean tryAcquire() {
+    lock.lock();
+    try {
+      long now = nanoClock.getAsLong();
+      tokens = Math.min(burst, tokens + (now - refilledAtNanos) * permitsPerNano);
+      refilledAtNanos = now;
+      if (tokens < 1) {
+        return false;
+      }
+      tokens -= 1;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.teambind.commentserver.utils.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 커밋 이후에 실행할 작업을 등록하는 유틸리티.
+ *
+ * <p>활성 트랜잭션이 없으면 즉시 실행합니다. 롤백된 트랜잭션의 부수효과(카운터 반영, 캐시 갱신 등)가 남지 않도록 할 때 사용합니다.
+ */
+public final class AfterCommit {
+
+  private AfterCommit() {}
+
+  public static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
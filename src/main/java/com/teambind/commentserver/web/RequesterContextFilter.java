@@ -0,0 +1,46 @@
+package com.teambind.commentserver.web;
+
+import com.teambind.commentserver.utils.datasource.ReadYourWrites;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 요청 사용자를 read-your-writes 판단용으로 요청 스레드에 지정한다.
+ *
+ * <p>헤더(기본 X-Writer-Id)가 없으면 writerId 파라미터(수정/삭제 API)를 사용한다.
+ */
+@Component
+public class RequesterContextFilter extends OncePerRequestFilter {
+
+  private final ReadYourWrites readYourWrites;
+  private final String header;
+
+  public RequesterContextFilter(
+      ReadYourWrites readYourWrites,
+      @Value("${comment.datasource.read-your-writes.header:X-Writer-Id}") String header) {
+    this.readYourWrites = readYourWrites;
+    this.header = header;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String requester = request.getHeader(header);
+    if (requester == null || requester.isBlank()) {
+      requester = request.getParameter("writerId");
+    }
+    readYourWrites.setRequester(requester);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      readYourWrites.clearRequester();
+    }
+  }
+}
@@ -1,11 +1,11 @@
 -- sql
 CREATE TABLE comments
 (
-    comment_id        VARCHAR(100) PRIMARY KEY,               -- UUID 권장 (예: uuid_generate_v4() 결과를 문자열로 저장)
+    comment_id        BIGINT       PRIMARY KEY,               -- Snowflake id (API 에서는 문자열로 노출)
     article_id        VARCHAR(100) NOT NULL,                  -- 외부 Article 서비스 id (FK 미설정 권장)
     writer_id         VARCHAR(100) NOT NULL,                  -- 외부 User 서비스 id
-    parent_comment_id VARCHAR(100),                           -- 부모 댓글 id (NULL이면 최상위)
-    root_comment_id   VARCHAR(100),                           -- 스레드 루트 id (자기 자신 또는 최상위 id)
+    parent_comment_id BIGINT,                                 -- 부모 댓글 id (NULL이면 최상위)
+    root_comment_id   BIGINT,                                 -- 스레드 루트 id (자기 자신 또는 최상위 id)
     depth             SMALLINT     NOT NULL DEFAULT 0,        -- 0: 루트, 1: 1뎁스, 2: 2뎁스
     contents          TEXT         NOT NULL,                  -- 댓글 내용
     is_deleted        BOOLEAN      NOT NULL DEFAULT FALSE,    -- soft-delete flag
@@ -24,6 +24,7 @@ CREATE INDEX idx_comment_parent ON comments (parent_comment_id);
 CREATE INDEX idx_comment_root ON comments (root_comment_id);
 CREATE INDEX idx_comment_writer ON comments (writer_id);
 CREATE INDEX idx_comment_status ON comments (status);
+CREATE INDEX idx_comment_article_depth_created ON comments (article_id, depth, created_at, comment_id); -- 커서 페이지네이션
 
 CREATE TABLE article_comment_counts
 (
@@ -34,3 +35,40 @@ CREATE TABLE article_comment_counts
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_unicode_ci;
+
+-- 핫 아티클 댓글 수 샤드: 아티클 댓글 수 = article_comment_counts.comment_count + SUM(comment_count)
+-- 샤드 값은 delta 누적이라 음수일 수 있음. 증가마다 다시 쓰지 않도록 comment_count 보조 인덱스는 두지 않는다
+CREATE TABLE article_comment_count_shards
+(
+    article_id    VARCHAR(100) NOT NULL,
+    shard         INT          NOT NULL, -- 1..N
+    comment_count INT          NOT NULL DEFAULT 0,
+    updated_at    TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (article_id, shard)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci;
+
+-- 트랜잭셔널 아웃박스: 댓글 변경과 같은 트랜잭션에서 기록, OutboxRelay 가 발행 후 삭제
+CREATE TABLE comment_outbox
+(
+    id            BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    topic         VARCHAR(100) NOT NULL,
+    message_key   VARCHAR(100) NOT NULL, -- articleId (파티션 키)
+    payload       TEXT         NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    claimed_until TIMESTAMP(6) NULL,     -- 발행 중인 릴레이의 임대 만료 시각 (NULL 이면 대기)
+    INDEX idx_outbox_created (created_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci;
+
+-- Snowflake 노드 ID 임대 (기준 저장소. redis 설정에서는 Redis 에도 함께 기록)
+CREATE TABLE snowflake_node_leases
+(
+    node_id    INT          NOT NULL PRIMARY KEY, -- 0..1023
+    owner      VARCHAR(200) NOT NULL,             -- host:uuid
+    expires_at TIMESTAMP(6) NOT NULL
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci;
@@ -205,11 +205,11 @@ class CommentTest {
     @DisplayName("빌더가 필드를 설정하고 게터가 이를 반환한다")
     void builder_setsFields() {
         Comment c = Comment.builder()
-                .commentId("c1")
+                .commentId(1L)
                 .articleId("a1")
                 .writerId("w1")
-                .parentCommentId("p1")
-                .rootCommentId("r1")
+                .parentCommentId(2L)
+                .rootCommentId(3L)
                 .depth(1)
                 .contents("hello")
                 .isDeleted(false)
@@ -217,11 +217,11 @@ class CommentTest {
                 .replyCount(2)
                 .build();
 
-        assertEquals("c1", c.getCommentId());
+        assertEquals(1L, c.getCommentId());
         assertEquals("a1", c.getArticleId());
         assertEquals("w1", c.getWriterId());
-        assertEquals("p1", c.getParentCommentId());
-        assertEquals("r1", c.getRootCommentId());
+        assertEquals(2L, c.getParentCommentId());
+        assertEquals(3L, c.getRootCommentId());
         assertEquals(1, c.getDepth());
         assertEquals("hello", c.getContents());
         assertEquals(Boolean.FALSE, c.getIsDeleted());
@@ -261,16 +261,16 @@ class CommentTest {
     @DisplayName("ID들을 설정하고 조회할 수 있다")
     void ids_setGet() {
         Comment c = newEmpty();
-        c.setCommentId("cid");
+        c.setCommentId(10L);
         c.setArticleId("aid");
         c.setWriterId("wid");
-        c.setParentCommentId("pid");
-        c.setRootCommentId("rid");
-        assertEquals("cid", c.getCommentId());
+        c.setParentCommentId(20L);
+        c.setRootCommentId(30L);
+        assertEquals(10L, c.getCommentId());
         assertEquals("aid", c.getArticleId());
         assertEquals("wid", c.getWriterId());
-        assertEquals("pid", c.getParentCommentId());
-        assertEquals("rid", c.getRootCommentId());
+        assertEquals(20L, c.getParentCommentId());
+        assertEquals(30L, c.getRootCommentId());
     }
 
     @Test
@@ -413,11 +413,11 @@ class CommentTest {
     @DisplayName("삭제 표시가 root/parent ID를 변경하지 않는다")
     void deleteDoesNotChangeThreadIds() {
         Comment c = newEmpty();
-        c.setParentCommentId("pid");
-        c.setRootCommentId("rid");
+        c.setParentCommentId(20L);
+        c.setRootCommentId(30L);
         c.markDeleted();
-        assertEquals("pid", c.getParentCommentId());
-        assertEquals("rid", c.getRootCommentId());
+        assertEquals(20L, c.getParentCommentId());
+        assertEquals(30L, c.getRootCommentId());
     }
 
     @Test
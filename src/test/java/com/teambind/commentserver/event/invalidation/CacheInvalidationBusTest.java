@@ -0,0 +1,97 @@
+package com.teambind.commentserver.event.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+
+class CacheInvalidationBusTest {
+
+  @SuppressWarnings("unchecked")
+  private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final CacheInvalidationListener listener = mock(CacheInvalidationListener.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @DisplayName("같은 아티클의 무효화는 flush 까지 1건으로 병합된다 (루트 id 합집합, 버전 최댓값)")
+  @Test
+  void publish_coalescesPerArticle() throws Exception {
+    CacheInvalidationBus bus = bus(true);
+    when(kafkaTemplate.send(anyString(), anyString(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    bus.publish("a1", List.of(1L), 100L);
+    bus.publish("a1", List.of(2L), 300L);
+    bus.publish("a1", List.of(1L), 200L);
+    bus.publish("a2", List.of(), 150L);
+    bus.flush();
+    bus.flush();
+
+    ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+    verify(kafkaTemplate).send(eq("comment-cache-invalidation"), eq("a1"), payload.capture());
+    verify(kafkaTemplate).send(eq("comment-cache-invalidation"), eq("a2"), any());
+    CacheInvalidation sent =
+        objectMapper.readValue((String) payload.getValue(), CacheInvalidation.class);
+    assertThat(sent.rootCommentIds()).containsExactly(1L, 2L);
+    assertThat(sent.version()).isEqualTo(300L);
+    assertThat(sent.origin()).isEqualTo(bus.origin());
+    assertThat(meterRegistry.counter("comment.invalidation.coalesced").count()).isEqualTo(2);
+    assertThat(meterRegistry.counter("comment.invalidation.published").count()).isEqualTo(2);
+  }
+
+  @DisplayName("다른 노드의 메시지만 로컬 캐시에 전달하고, 자기 메시지와 해석할 수 없는 메시지는 무시한다")
+  @Test
+  void onMessage_appliesRemoteOnly() throws Exception {
+    CacheInvalidationBus bus = bus(true);
+    CacheInvalidation remote = new CacheInvalidation("a1", List.of(7L), 100L, "other-node");
+    CacheInvalidation self = new CacheInvalidation("a1", List.of(7L), 100L, bus.origin());
+
+    bus.onMessage(objectMapper.writeValueAsString(remote));
+    bus.onMessage(objectMapper.writeValueAsString(self));
+    bus.onMessage("not-json");
+
+    verify(listener, times(1)).onRemoteInvalidation(remote);
+    assertThat(received("applied")).isEqualTo(1);
+    assertThat(received("self")).isEqualTo(1);
+    assertThat(received("invalid")).isEqualTo(1);
+  }
+
+  @DisplayName("비활성이면 발행하지 않는다")
+  @Test
+  void disabled_doesNotPublish() {
+    CacheInvalidationBus bus = bus(false);
+
+    bus.publish("a1", List.of(1L), 100L);
+    bus.flush();
+
+    verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+  }
+
+  private CacheInvalidationBus bus(boolean enabled) {
+    return new CacheInvalidationBus(
+        kafkaTemplate,
+        objectMapper,
+        List.of(listener),
+        meterRegistry,
+        enabled,
+        "comment-cache-invalidation");
+  }
+
+  private double received(String result) {
+    return meterRegistry.counter("comment.invalidation.received", "result", result).count();
+  }
+}
@@ -0,0 +1,120 @@
+package com.teambind.commentserver.event.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teambind.commentserver.service.impl.ArticlePageIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+/** 캐시 무효화 버스 왕복 테스트 (임베디드 Kafka 브로커) */
+@SpringBootTest(
+    properties = {
+      "comment.invalidation.enabled=true",
+      "comment.invalidation.partitions=1",
+      "comment.invalidation.replicas=1"
+    })
+@ActiveProfiles("test")
+@EmbeddedKafka(
+    partitions = 1,
+    topics = "comment-cache-invalidation",
+    bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class CacheInvalidationKafkaTest {
+
+  @Autowired private CacheInvalidationBus bus;
+  @Autowired private KafkaTemplate<String, Object> kafkaTemplate;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private KafkaListenerEndpointRegistry listenerRegistry;
+  @Autowired private EmbeddedKafkaBroker embeddedKafka;
+  @Autowired private MeterRegistry meterRegistry;
+  @MockitoSpyBean private ArticlePageIndex articlePageIndex;
+
+  @BeforeEach
+  void waitForAssignment() {
+    // latest 부터 읽으므로 파티션을 할당받은 뒤에 발행해야 한다
+    ContainerTestUtils.waitForAssignment(
+        listenerRegistry.getListenerContainer(CacheInvalidationBus.LISTENER_ID),
+        embeddedKafka.getPartitionsPerTopic());
+  }
+
+  @DisplayName("다른 노드가 발행한 무효화를 받아 페이지 인덱스를 폐기한다")
+  @Test
+  void remoteInvalidation_evictsPageIndex() {
+    CacheInvalidationBus otherNode =
+        new CacheInvalidationBus(
+            kafkaTemplate,
+            objectMapper,
+            List.of(),
+            new SimpleMeterRegistry(),
+            true,
+            "comment-cache-invalidation");
+
+    otherNode.publish("kafka-article-1", List.of(1L), 100L);
+    otherNode.publish("kafka-article-1", List.of(2L), 200L);
+    otherNode.flush();
+
+    verify(articlePageIndex, timeout(10_000)).invalidate("kafka-article-1");
+  }
+
+  @DisplayName("자기 노드가 발행한 무효화는 소비하되 로컬 캐시에 적용하지 않는다")
+  @Test
+  void ownInvalidation_isIgnored() {
+    double before = received("self");
+
+    bus.publish("kafka-article-2", List.of(), 100L);
+    bus.flush();
+
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .untilAsserted(() -> assertThat(received("self")).isGreaterThan(before));
+  }
+
+  @DisplayName("소비한 뒤에도 노드별 컨슈머 그룹에 오프셋을 커밋하지 않는다")
+  @Test
+  void consumedInvalidations_commitNoOffsets() throws Exception {
+    double before = received("self");
+    bus.publish("kafka-article-3", List.of(), 100L);
+    bus.flush();
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .untilAsserted(() -> assertThat(received("self")).isGreaterThan(before));
+
+    String groupId =
+        listenerRegistry.getListenerContainer(CacheInvalidationBus.LISTENER_ID).getGroupId();
+    try (AdminClient admin =
+        AdminClient.create(
+            Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, embeddedKafka.getBrokersAsString()))) {
+      Map<TopicPartition, OffsetAndMetadata> offsets =
+          admin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata().get();
+      assertThat(offsets.values()).allMatch(Objects::isNull);
+    }
+  }
+
+  private double received(String result) {
+    return meterRegistry.counter("comment.invalidation.received", "result", result).count();
+  }
+}
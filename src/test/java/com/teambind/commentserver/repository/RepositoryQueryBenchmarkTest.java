@@ -0,0 +1,376 @@
+package com.teambind.commentserver.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.teambind.commentserver.entity.Comment.CommentStatus;
+import com.teambind.commentserver.repository.SyntheticCommentDataGenerator.Spec;
+import com.teambind.commentserver.repository.SyntheticCommentDataGenerator.ZipfSampler;
+import com.teambind.commentserver.repository.projection.RootPageEntry;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 리포지토리 쿼리 벤치마크 (H2 MySQL 모드 + 합성 데이터)
+ *
+ * <p>기본 테스트에서는 제외되며 ./gradlew queryBenchmark 로 실행한다. 데이터 규모와 분포는 -Pbench.* 로 조정한다. (예:
+ * -Pbench.comments=3000000 -Pbench.zipf-exponent=1.2 -Pbench.deleted-ratio=0.1)
+ *
+ * <p>쿼리마다 아티클을 인기도 분포대로 뽑는 zipf 시나리오와 가장 인기 있는 아티클만 조회하는 hottest 시나리오를 측정한다. 지연은
+ * p50/p95/p99/max, 호출당 할당량(KB), 읽은 행 수는 H2 EXPLAIN ANALYZE 의 scanCount 합계로 보고하며 실행 계획과 함께
+ * build/reports/query-bench/report.json 에 남긴다.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:commentbench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+          + "DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+      "spring.jpa.show-sql=false",
+      "logging.level.org.hibernate.SQL=info"
+    })
+@ActiveProfiles("test")
+class RepositoryQueryBenchmarkTest {
+
+  private static final Logger log = LoggerFactory.getLogger(RepositoryQueryBenchmarkTest.class);
+  private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+  private static final int PAGE_SIZE = 20;
+  private static final int DEEP_PAGE = 50;
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  @Autowired private CommentRepository commentRepository;
+  @Autowired private ArticleCommentCountRepository countRepository;
+  @Autowired private CommentBatchRepository commentBatchRepository;
+  @Autowired private ArticleCommentCountBatchRepository countBatchRepository;
+  @Autowired private NamedParameterJdbcTemplate jdbc;
+  @Autowired private ObjectMapper objectMapper;
+
+  @DisplayName("CommentRepository / ArticleCommentCountRepository 쿼리 지연, 읽은 행 수, 실행 계획 측정")
+  @Test
+  void benchmarkRepositoryQueries() throws Exception {
+    Spec spec = Spec.fromSystemProperties();
+    long started = System.nanoTime();
+    SyntheticCommentDataGenerator.Result data =
+        new SyntheticCommentDataGenerator(commentBatchRepository, countBatchRepository, spec)
+            .generate();
+    double generationSeconds = (System.nanoTime() - started) / 1e9;
+    jdbc.getJdbcTemplate().execute("ANALYZE"); // 선택도 통계 갱신
+    log.info(
+        "[QueryBench] {} comments / {} articles generated in {}s",
+        data.comments(),
+        data.articles(),
+        String.format("%.1f", generationSeconds));
+
+    int warmup = Integer.getInteger("bench.warmup", 20);
+    int iterations = Integer.getInteger("bench.iterations", 200);
+    ZipfSampler sampler = new ZipfSampler(spec.articles(), spec.zipfExponent());
+    Random random = new Random(spec.seed() + 1);
+    Map<String, Supplier<String>> scenarios = new LinkedHashMap<>();
+    scenarios.put(
+        "zipf", () -> SyntheticCommentDataGenerator.articleId(sampler.sample(random)));
+    scenarios.put("hottest", () -> SyntheticCommentDataGenerator.articleId(1));
+
+    List<Map<String, Object>> results = new ArrayList<>();
+    for (QueryCase queryCase : queryCases(sampler, random)) {
+      for (Map.Entry<String, Supplier<String>> scenario : scenarios.entrySet()) {
+        Map<String, Object> result =
+            measure(queryCase, scenario.getValue(), warmup, iterations);
+        result.put("query", queryCase.name());
+        result.put("scenario", scenario.getKey());
+        Invocation hottest = queryCase.prepare().apply(SyntheticCommentDataGenerator.articleId(1));
+        result.putAll(explain(queryCase.sql(), hottest.params()));
+        results.add(result);
+      }
+    }
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("spec", spec);
+    report.put("generationSeconds", generationSeconds);
+    report.put("warmup", warmup);
+    report.put("iterations", iterations);
+    report.put("results", results);
+    Path out = Path.of(System.getProperty("bench.report-dir", "build/reports/query-bench"));
+    Files.createDirectories(out);
+    objectMapper
+        .writer()
+        .with(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(out.resolve("report.json").toFile(), report);
+    logSummary(results);
+
+    assertThat(results).isNotEmpty();
+  }
+
+  private List<QueryCase> queryCases(ZipfSampler sampler, Random random) throws Exception {
+    String rootIdsForPageSql =
+        CommentRepository.class
+            .getMethod("findRootIdsForPage", String.class, long.class, long.class)
+            .getAnnotation(Query.class)
+            .value();
+    List<QueryCase> cases = new ArrayList<>();
+    cases.add(rootIdsForPage("findRootIdsForPage(page=0)", rootIdsForPageSql, 0));
+    cases.add(
+        rootIdsForPage(
+            "findRootIdsForPage(page=" + DEEP_PAGE + ")", rootIdsForPageSql, DEEP_PAGE));
+    cases.add(
+        new QueryCase(
+            "findRootsAndChildrenByRootIds",
+            "SELECT * FROM comments WHERE article_id = :articleId"
+                + " AND (comment_id IN (:rootIds) OR root_comment_id IN (:rootIds))"
+                + " AND is_deleted = false AND status = 'ACTIVE'"
+                + " ORDER BY COALESCE(root_comment_id, comment_id), depth, created_at",
+            articleId -> {
+              List<Long> found = commentRepository.findRootIdsForPage(articleId, 0, PAGE_SIZE);
+              List<Long> rootIds = found.isEmpty() ? List.of(-1L) : found;
+              return new Invocation(
+                  Map.of("articleId", articleId, "rootIds", rootIds),
+                  () -> commentRepository.findRootsAndChildrenByRootIds(articleId, rootIds).size());
+            }));
+    cases.add(
+        new QueryCase(
+            "findRootsAndChildrenViewsByRootIds",
+            "SELECT * FROM comments WHERE article_id = :articleId"
+                + " AND (comment_id IN (:rootIds) OR root_comment_id IN (:rootIds))"
+                + " AND is_deleted = false AND status = 'ACTIVE'"
+                + " ORDER BY COALESCE(root_comment_id, comment_id), depth, created_at",
+            articleId -> {
+              List<Long> found = commentRepository.findRootIdsForPage(articleId, 0, PAGE_SIZE);
+              List<Long> rootIds = found.isEmpty() ? List.of(-1L) : found;
+              return new Invocation(
+                  Map.of("articleId", articleId, "rootIds", rootIds),
+                  () ->
+                      commentRepository
+                          .findRootsAndChildrenViewsByRootIds(articleId, rootIds)
+                          .size());
+            }));
+    // 스레드 전체 조회: 엔티티(findByRootCommentIdOrderByCreatedAtAsc) vs 프로젝션 (답글이 가장 많은 루트)
+    String threadSql =
+        "SELECT * FROM comments WHERE root_comment_id = :rootId ORDER BY created_at ASC";
+    cases.add(
+        new QueryCase(
+            "findByRootCommentIdOrderByCreatedAtAsc",
+            threadSql,
+            articleId -> {
+              long rootId = largestRootId(articleId);
+              return new Invocation(
+                  Map.of("rootId", rootId),
+                  () -> commentRepository.findByRootCommentIdOrderByCreatedAtAsc(rootId).size());
+            }));
+    cases.add(
+        new QueryCase(
+            "findThreadViewsByRootId",
+            threadSql,
+            articleId -> {
+              long rootId = largestRootId(articleId);
+              return new Invocation(
+                  Map.of("rootId", rootId),
+                  () -> commentRepository.findThreadViewsByRootId(rootId).size());
+            }));
+    cases.add(
+        new QueryCase(
+            "countByArticleIdAndIsDeletedFalseAndStatus",
+            "SELECT COUNT(*) FROM comments WHERE article_id = :articleId"
+                + " AND is_deleted = false AND status = 'ACTIVE'",
+            articleId ->
+                new Invocation(
+                    Map.of("articleId", articleId),
+                    () ->
+                        (int)
+                            commentRepository.countByArticleIdAndIsDeletedFalseAndStatus(
+                                articleId, CommentStatus.ACTIVE))));
+    cases.add(
+        new QueryCase(
+            "ArticleCommentCount.findByArticleId",
+            "SELECT * FROM article_comment_counts WHERE article_id = :articleId",
+            articleId ->
+                new Invocation(
+                    Map.of("articleId", articleId),
+                    () -> countRepository.findByArticleId(articleId).isPresent() ? 1 : 0)));
+    cases.add(
+        new QueryCase(
+            "ArticleCommentCount.findAllById(100)",
+            "SELECT * FROM article_comment_counts WHERE article_id IN (:articleIds)",
+            articleId -> {
+              // 목록 화면의 배치 조회처럼 인기도 분포에서 100개를 함께 묻는다
+              List<String> ids =
+                  IntStream.range(0, 100)
+                      .mapToObj(
+                          i ->
+                              i == 0
+                                  ? articleId
+                                  : SyntheticCommentDataGenerator.articleId(
+                                      sampler.sample(random)))
+                      .toList();
+              return new Invocation(
+                  Map.of("articleIds", ids),
+                  () -> {
+                    Iterable<?> rows = countRepository.findAllById(ids);
+                    return (int) StreamSupport.stream(rows.spliterator(), false).count();
+                  });
+            }));
+    cases.add(
+        new QueryCase(
+            "ArticleCommentCount.incrementCommentCount",
+            "UPDATE article_comment_counts SET comment_count = comment_count + 1,"
+                + " updated_at = NOW() WHERE article_id = :articleId",
+            articleId ->
+                new Invocation(
+                    Map.of("articleId", articleId),
+                    () -> countRepository.incrementCommentCount(articleId))));
+    cases.add(
+        new QueryCase(
+            "ArticleCommentCount.upsertAndAdd",
+            "INSERT INTO article_comment_counts (article_id, comment_count, updated_at)"
+                + " VALUES (:articleId, 1, NOW()) ON DUPLICATE KEY UPDATE"
+                + " comment_count = GREATEST(comment_count + 1, 0), updated_at = NOW()",
+            articleId ->
+                new Invocation(
+                    Map.of("articleId", articleId),
+                    () -> countRepository.upsertAndAdd(articleId, 1))));
+    return cases;
+  }
+
+  /** 첫 페이지 루트 중 답글이 가장 많은 루트 (없으면 -1) */
+  private long largestRootId(String articleId) {
+    return commentRepository
+        .findFirstRootEntries(articleId, PageRequest.ofSize(PAGE_SIZE))
+        .stream()
+        .max(Comparator.comparing(RootPageEntry::visibleSize))
+        .map(RootPageEntry::commentId)
+        .orElse(-1L);
+  }
+
+  private QueryCase rootIdsForPage(String name, String sql, int page) {
+    long prevLimit = (long) page * PAGE_SIZE;
+    long currLimit = (long) (page + 1) * PAGE_SIZE;
+    return new QueryCase(
+        name,
+        sql,
+        articleId ->
+            new Invocation(
+                Map.of("articleId", articleId, "prevLimit", prevLimit, "currLimit", currLimit),
+                () ->
+                    commentRepository.findRootIdsForPage(articleId, prevLimit, currLimit).size()));
+  }
+
+  /**
+   * warmup 후 iterations 회 호출해 지연 분포, 평균 결과 행 수, 호출당 할당량(측정 스레드 기준)을 구한다. (준비 단계는 측정에서
+   * 제외)
+   */
+  private Map<String, Object> measure(
+      QueryCase queryCase, Supplier<String> articles, int warmup, int iterations) {
+    for (int i = 0; i < warmup; i++) {
+      queryCase.prepare().apply(articles.get()).call().getAsInt();
+    }
+    long[] nanos = new long[iterations];
+    long rows = 0;
+    long allocated = 0;
+    for (int i = 0; i < iterations; i++) {
+      Invocation invocation = queryCase.prepare().apply(articles.get());
+      long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+      long start = System.nanoTime();
+      rows += invocation.call().getAsInt();
+      nanos[i] = System.nanoTime() - start;
+      allocated += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+    }
+    Arrays.sort(nanos);
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("p50Ms", percentileMillis(nanos, 0.50));
+    result.put("p95Ms", percentileMillis(nanos, 0.95));
+    result.put("p99Ms", percentileMillis(nanos, 0.99));
+    result.put("maxMs", nanos[nanos.length - 1] / 1e6);
+    result.put("avgRows", (double) rows / iterations);
+    result.put("allocKbPerCall", allocated / 1024.0 / iterations);
+    return result;
+  }
+
+  /** EXPLAIN(계획)과 EXPLAIN ANALYZE(scanCount 합계 = 읽은 행 수)를 가장 인기 있는 아티클 기준으로 구한다. */
+  private Map<String, Object> explain(String sql, Map<String, Object> params) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    try {
+      String analyzed = jdbc.queryForObject("EXPLAIN ANALYZE " + sql, params, String.class);
+      long scanned = 0;
+      Matcher m = SCAN_COUNT.matcher(analyzed);
+      while (m.find()) {
+        scanned += Long.parseLong(m.group(1));
+      }
+      result.put("rowsScanned", scanned);
+      result.put("plan", analyzed);
+    } catch (RuntimeException e) {
+      result.put("rowsScanned", null);
+      result.put("plan", "EXPLAIN 실패: " + e.getMessage());
+    }
+    return result;
+  }
+
+  private static double percentileMillis(long[] sorted, double q) {
+    int index = (int) Math.ceil(q * sorted.length) - 1;
+    return sorted[Math.max(index, 0)] / 1e6;
+  }
+
+  private static void logSummary(List<Map<String, Object>> results) {
+    log.info(
+        String.format(
+            "%-45s %-8s %9s %9s %9s %9s %10s %12s %12s",
+            "query",
+            "scenario",
+            "p50(ms)",
+            "p95(ms)",
+            "p99(ms)",
+            "max(ms)",
+            "avgRows",
+            "rowsScanned",
+            "alloc(KB)"));
+    for (Map<String, Object> r : results) {
+      log.info(
+          String.format(
+              "%-45s %-8s %9.3f %9.3f %9.3f %9.3f %10.1f %12s %12.1f",
+              r.get("query"),
+              r.get("scenario"),
+              r.get("p50Ms"),
+              r.get("p95Ms"),
+              r.get("p99Ms"),
+              r.get("maxMs"),
+              r.get("avgRows"),
+              r.get("rowsScanned"),
+              r.get("allocKbPerCall")));
+    }
+  }
+
+  /**
+   * 벤치마크 대상 쿼리
+   *
+   * @param sql EXPLAIN 용 SQL (리포지토리 쿼리와 같은 조건, 이름 있는 파라미터)
+   * @param prepare articleId 로 파라미터와 호출을 준비한다 (측정 제외 구간)
+   */
+  private record QueryCase(String name, String sql, Function<String, Invocation> prepare) {}
+
+  /** 준비된 호출. call 은 결과 행 수(또는 영향받은 행 수)를 반환한다. */
+  private record Invocation(Map<String, Object> params, IntSupplier call) {}
+}
@@ -0,0 +1,217 @@
+package com.teambind.commentserver.repository;
+
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.entity.Comment.CommentStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * 쿼리 벤치마크용 합성 댓글 데이터 생성기
+ *
+ * <p>아티클 인기도는 Zipf(멱법칙) 분포를 따른다. 순위 1 아티클에 댓글이 가장 많이 몰리고 꼬리 아티클은 몇 개
+ * 안 된다. 각 댓글은 replyRatio 확률로 같은 아티클의 기존 댓글에 대한 답글이 되며 깊이는 maxDepth(0~2)까지
+ * 허용한다. deletedRatio 만큼은 소프트 삭제 상태로 저장한다.
+ *
+ * <p>행은 {@link CommentBatchRepository} 의 JDBC batch 로 넣고, reply_count 와
+ * article_comment_counts(활성 댓글 수) 는 마지막에 합산해 반영한다. 시드가 같으면 같은 데이터가 만들어진다.
+ */
+public class SyntheticCommentDataGenerator {
+
+  private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+  private static final int INSERT_BATCH = 5_000;
+  private static final int COUNT_BATCH = 1_000;
+
+  private final CommentBatchRepository commentBatchRepository;
+  private final ArticleCommentCountBatchRepository countBatchRepository;
+  private final Spec spec;
+
+  public SyntheticCommentDataGenerator(
+      CommentBatchRepository commentBatchRepository,
+      ArticleCommentCountBatchRepository countBatchRepository,
+      Spec spec) {
+    if (spec.maxDepth() < 0 || spec.maxDepth() > 2) {
+      throw new IllegalArgumentException("maxDepth must be in [0, 2]: " + spec.maxDepth());
+    }
+    this.commentBatchRepository = commentBatchRepository;
+    this.countBatchRepository = countBatchRepository;
+    this.spec = spec;
+  }
+
+  /**
+   * 생성 파라미터
+   *
+   * @param zipfExponent 클수록 상위 아티클 쏠림이 심함
+   * @param depth2Ratio 답글 중 2뎁스(답글의 답글) 비율
+   */
+  public record Spec(
+      int comments,
+      int articles,
+      double zipfExponent,
+      double replyRatio,
+      double depth2Ratio,
+      int maxDepth,
+      double deletedRatio,
+      long seed) {
+
+    /** 기본값(댓글 100만, 아티클 1만)을 -Dbench.* 시스템 프로퍼티로 덮어쓴다. */
+    public static Spec fromSystemProperties() {
+      return new Spec(
+          Integer.getInteger("bench.comments", 1_000_000),
+          Integer.getInteger("bench.articles", 10_000),
+          doubleProperty("bench.zipf-exponent", 1.1),
+          doubleProperty("bench.reply-ratio", 0.6),
+          doubleProperty("bench.depth2-ratio", 0.3),
+          Integer.getInteger("bench.max-depth", 2),
+          doubleProperty("bench.deleted-ratio", 0.05),
+          Long.getLong("bench.seed", 42L));
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+      String value = System.getProperty(key);
+      return value == null ? defaultValue : Double.parseDouble(value);
+    }
+  }
+
+  /** 생성 결과 요약 */
+  public record Result(int comments, int articles, Map<String, Integer> commentsPerArticle) {}
+
+  public static String articleId(int rank) {
+    return "bench-article-" + rank;
+  }
+
+  public Result generate() {
+    Random random = new Random(spec.seed());
+    ZipfSampler articles = new ZipfSampler(spec.articles(), spec.zipfExponent());
+    Map<Integer, ArticleThreads> threads = new HashMap<>();
+    Map<Long, Integer> replyCounts = new HashMap<>();
+    Map<String, Integer> perArticle = new LinkedHashMap<>();
+    Map<String, Long> activePerArticle = new LinkedHashMap<>();
+    List<Comment> batch = new ArrayList<>(INSERT_BATCH);
+    long nextId = 1_000_000_000_000_000L;
+
+    for (int i = 0; i < spec.comments(); i++) {
+      int rank = articles.sample(random);
+      ArticleThreads t = threads.computeIfAbsent(rank, r -> new ArticleThreads());
+      Comment comment = nextComment(nextId++, rank, t, random);
+      Instant createdAt = BASE.plusSeconds(i);
+      comment.setCreatedAt(createdAt);
+      comment.setUpdatedAt(createdAt);
+      if (random.nextDouble() < spec.deletedRatio()) {
+        comment.setIsDeleted(Boolean.TRUE);
+        comment.setStatus(CommentStatus.DELETED);
+        comment.setDeletedAt(createdAt);
+      } else {
+        // 삭제된 댓글은 부모 reply_count 와 활성 댓글 수에서 빠진다
+        if (comment.getParentCommentId() != null) {
+          replyCounts.merge(comment.getParentCommentId(), 1, Integer::sum);
+        }
+        activePerArticle.merge(comment.getArticleId(), 1L, Long::sum);
+      }
+      perArticle.merge(comment.getArticleId(), 1, Integer::sum);
+
+      batch.add(comment);
+      if (batch.size() == INSERT_BATCH) {
+        commentBatchRepository.insertAll(batch);
+        batch.clear();
+      }
+    }
+    commentBatchRepository.insertAll(batch);
+
+    applyInBatches(replyCounts, commentBatchRepository::addReplyCounts);
+    applyInBatches(activePerArticle, countBatchRepository::upsertAndAddAll);
+    return new Result(spec.comments(), perArticle.size(), perArticle);
+  }
+
+  private Comment nextComment(long id, int rank, ArticleThreads t, Random random) {
+    String articleId = articleId(rank);
+    boolean reply =
+        spec.maxDepth() > 0 && !t.roots.isEmpty() && random.nextDouble() < spec.replyRatio();
+    if (!reply) {
+      t.roots.add(new ParentRef(id, id, 0));
+      return Comment.createRoot(id, articleId, writer(random), contents(id));
+    }
+    boolean depth2 =
+        spec.maxDepth() == 2
+            && !t.replies.isEmpty()
+            && random.nextDouble() < spec.depth2Ratio();
+    // 최근 댓글에 답글이 몰리도록 뒤쪽 절반에서 부모를 고른다
+    List<ParentRef> pool = depth2 ? t.replies : t.roots;
+    ParentRef parent = pool.get(pool.size() - 1 - random.nextInt((pool.size() + 1) / 2));
+    Comment child =
+        Comment.createReply(id, parent.asComment(articleId), writer(random), contents(id));
+    if (child.getDepth() == 1) {
+      t.replies.add(new ParentRef(id, child.getRootCommentId(), 1));
+    }
+    return child;
+  }
+
+  private static String writer(Random random) {
+    return "bench-user-" + random.nextInt(50_000);
+  }
+
+  private static String contents(long id) {
+    return "합성 댓글 " + id + " 벤치마크용 본문입니다. 평균적인 댓글 길이를 맞추기 위한 문장.";
+  }
+
+  private static <K, V> void applyInBatches(Map<K, V> all, Consumer<Map<K, V>> apply) {
+    Map<K, V> chunk = new LinkedHashMap<>();
+    for (Map.Entry<K, V> e : all.entrySet()) {
+      chunk.put(e.getKey(), e.getValue());
+      if (chunk.size() == COUNT_BATCH) {
+        apply.accept(chunk);
+        chunk = new LinkedHashMap<>();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      apply.accept(chunk);
+    }
+  }
+
+  /** 아티클별 부모 후보. 수백만 건을 만들 때 엔티티를 들고 있지 않도록 키만 보관한다. */
+  private static final class ArticleThreads {
+    private final List<ParentRef> roots = new ArrayList<>();
+    private final List<ParentRef> replies = new ArrayList<>();
+  }
+
+  private record ParentRef(long commentId, long rootCommentId, int depth) {
+    /** createReply 가 참조하는 필드만 채운 부모 */
+    Comment asComment(String articleId) {
+      return Comment.builder()
+          .commentId(commentId)
+          .articleId(articleId)
+          .rootCommentId(rootCommentId)
+          .depth(depth)
+          .build();
+    }
+  }
+
+  /** 순위 1..n 에 대해 P(k) ∝ 1/k^s 를 따르는 표본기 (누적 분포 이진 탐색) */
+  static final class ZipfSampler {
+    private final double[] cdf;
+
+    ZipfSampler(int n, double exponent) {
+      cdf = new double[n];
+      double sum = 0;
+      for (int k = 1; k <= n; k++) {
+        sum += 1.0 / Math.pow(k, exponent);
+        cdf[k - 1] = sum;
+      }
+      for (int i = 0; i < n; i++) {
+        cdf[i] /= sum;
+      }
+    }
+
+    /** 1-based 순위 */
+    int sample(Random random) {
+      int idx = Arrays.binarySearch(cdf, random.nextDouble());
+      return Math.min(idx >= 0 ? idx : -idx - 1, cdf.length - 1) + 1;
+    }
+  }
+}
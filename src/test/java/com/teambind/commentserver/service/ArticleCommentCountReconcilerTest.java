@@ -0,0 +1,98 @@
+package com.teambind.commentserver.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.entity.Comment.CommentStatus;
+import com.teambind.commentserver.entity.CommentOutbox;
+import com.teambind.commentserver.repository.ArticleCommentCountRepository;
+import com.teambind.commentserver.repository.CommentOutboxRepository;
+import com.teambind.commentserver.repository.CommentRepository;
+import com.teambind.commentserver.service.impl.ArticleCommentCountReconciler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/** 활성 댓글 카운터와 COUNT 쿼리의 정합성, 카운터 기반 마지막 댓글 판단 검증 */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ArticleCommentCountReconcilerTest {
+
+  @Autowired private CommentService commentService;
+  @Autowired private ArticleCommentCountService articleCommentCountService;
+  @Autowired private ArticleCommentCountReconciler reconciler;
+  @Autowired private ArticleCommentCountRepository countRepository;
+  @Autowired private CommentRepository commentRepository;
+  @Autowired private CommentOutboxRepository outboxRepository;
+
+  @DisplayName("작성/답글/삭제를 섞어도 카운터는 COUNT 쿼리와 같다")
+  @Test
+  void counter_matchesCountQuery() {
+    // given
+    String articleId = "reconcile-article-1";
+    Comment r1 = commentService.createRootComment(articleId, "user-1", "r1");
+    Comment r2 = commentService.createRootComment(articleId, "user-2", "r2");
+    Comment reply = commentService.createReply(String.valueOf(r1.getCommentId()), "user-3", "a");
+    commentService.createReply(String.valueOf(reply.getCommentId()), "user-4", "b");
+
+    // when
+    commentService.softDelete(String.valueOf(reply.getCommentId()), "user-3");
+    commentService.softDelete(String.valueOf(r2.getCommentId()), "user-2");
+    commentService.softDelete(String.valueOf(r2.getCommentId()), "user-2"); // 중복 삭제는 무시
+
+    // then
+    long actual =
+        commentRepository.countByArticleIdAndIsDeletedFalseAndStatus(
+            articleId, CommentStatus.ACTIVE);
+    assertThat(articleCommentCountService.getCount(articleId)).contains((int) actual);
+    assertThat(actual).isEqualTo(2);
+    assertThat(reconciler.reconcile(articleId)).isTrue();
+  }
+
+  @DisplayName("카운터가 어긋나면 COUNT 값으로 보정하고 false 를 반환한다")
+  @Test
+  void reconcile_repairsDrift() {
+    // given
+    String articleId = "reconcile-article-2";
+    commentService.createRootComment(articleId, "user-1", "r1");
+    articleCommentCountService.setCount(articleId, 7);
+
+    // when
+    boolean matched = reconciler.reconcile(articleId);
+
+    // then
+    assertThat(matched).isFalse();
+    assertThat(countRepository.findCommentCount(articleId)).contains(1);
+    assertThat(reconciler.reconcile(articleId)).isTrue();
+  }
+
+  @DisplayName("카운터가 0이 되는 삭제에서만 마지막 댓글 이벤트가 기록된다")
+  @Test
+  void lastCommentEvent_usesCounter() {
+    // given
+    String articleId = "reconcile-article-3";
+    Comment c1 = commentService.createRootComment(articleId, "user-1", "c1");
+    Comment c2 = commentService.createRootComment(articleId, "user-2", "c2");
+
+    // when
+    commentService.softDelete(String.valueOf(c1.getCommentId()), "user-1");
+    long afterFirst = deletedEvents(articleId);
+    commentService.softDelete(String.valueOf(c2.getCommentId()), "user-2");
+
+    // then
+    assertThat(afterFirst).isZero();
+    assertThat(deletedEvents(articleId)).isEqualTo(1);
+  }
+
+  private long deletedEvents(String articleId) {
+    return outboxRepository.findAll().stream()
+        .filter(row -> "comment-deleted".equals(row.getTopic()))
+        .map(CommentOutbox::getMessageKey)
+        .filter(articleId::equals)
+        .count();
+  }
+}
@@ -0,0 +1,191 @@
+package com.teambind.commentserver.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.teambind.commentserver.dto.BulkCommentItem;
+import com.teambind.commentserver.dto.BulkCreateCommentsResponse;
+import com.teambind.commentserver.dto.BulkItemResult;
+import com.teambind.commentserver.dto.CommentResponse;
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.exceptions.CustomException;
+import com.teambind.commentserver.exceptions.ErrorCode;
+import com.teambind.commentserver.repository.CommentRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 댓글 벌크 등록 통합 테스트
+ *
+ * <p>청크마다 트랜잭션을 커밋하므로 @Transactional 을 붙이지 않고 테스트마다 고유한 articleId 를 사용한다.
+ */
+@SpringBootTest(properties = "comment.bulk.chunk-size=3")
+@ActiveProfiles("test")
+class CommentBulkIngestTest {
+
+  @Autowired private CommentBulkIngestService bulkIngestService;
+  @Autowired private CommentService commentService;
+  @Autowired private CommentRepository commentRepository;
+  @Autowired private ArticleCommentCountService articleCommentCountService;
+
+  @DisplayName("루트와 같은 요청 안의 답글을 함께 등록하고 reply_count, 아티클 댓글 수를 합산 반영한다")
+  @Test
+  void ingest_rootsAndInBatchReplies() {
+    // given
+    String articleId = "bulk-" + UUID.randomUUID();
+    Instant createdAt = Instant.parse("2020-05-01T00:00:00Z");
+    List<BulkCommentItem> items =
+        List.of(
+            root("r1", articleId, createdAt),
+            reply("c1", "r1"),
+            reply("c2", "r1"),
+            reply("g1", "c1"),
+            root("r2", articleId, null),
+            reply("c3", "r2"),
+            reply("c4", "r1"));
+
+    // when
+    BulkCreateCommentsResponse response = bulkIngestService.ingest(items);
+
+    // then
+    assertThat(response.getSucceeded()).isEqualTo(7);
+    assertThat(response.getFailed()).isZero();
+    Comment r1 = commentRepository.findById(idOf(response, 0)).orElseThrow();
+    assertThat(r1.getReplyCount()).isEqualTo(3);
+    assertThat(r1.getRootCommentId()).isEqualTo(r1.getCommentId());
+
+    Comment g1 = commentRepository.findById(idOf(response, 3)).orElseThrow();
+    assertThat(g1.getDepth()).isEqualTo(2);
+    assertThat(g1.getRootCommentId()).isEqualTo(r1.getCommentId());
+    assertThat(g1.getParentCommentId()).isEqualTo(idOf(response, 1));
+    assertThat(commentRepository.findById(idOf(response, 1)).orElseThrow().getReplyCount())
+        .isEqualTo(1);
+
+    assertThat(articleCommentCountService.getCount(articleId)).contains(7);
+    // 원본 작성 시각(2020년)을 지정한 r1 이 현재 시각으로 등록된 r2 보다 뒤에 온다
+    assertThat(commentService.getCommentsByArticleByVisibleCount(articleId, 0, 20))
+        .extracting(CommentResponse::getCommentId)
+        .containsExactly(String.valueOf(idOf(response, 4)), String.valueOf(r1.getCommentId()));
+  }
+
+  @DisplayName("기존 댓글에 대한 답글을 등록하면 부모의 reply_count 가 늘어난다")
+  @Test
+  void ingest_repliesToExistingParent() {
+    // given
+    String articleId = "bulk-" + UUID.randomUUID();
+    Comment parent = commentService.createRootComment(articleId, "user-1", "기존 루트");
+    String parentId = String.valueOf(parent.getCommentId());
+
+    // when
+    BulkCreateCommentsResponse response =
+        bulkIngestService.ingest(
+            List.of(existingReply(parentId), existingReply(parentId), existingReply(parentId)));
+
+    // then
+    assertThat(response.getSucceeded()).isEqualTo(3);
+    assertThat(commentRepository.findById(parent.getCommentId()).orElseThrow().getReplyCount())
+        .isEqualTo(3);
+    assertThat(articleCommentCountService.getCount(articleId)).contains(4);
+  }
+
+  @DisplayName("잘못된 항목은 결과에 실패로 기록되고 나머지 항목은 저장된다")
+  @Test
+  void ingest_reportsPerItemFailures() {
+    // given
+    String articleId = "bulk-" + UUID.randomUUID();
+    List<BulkCommentItem> items = new ArrayList<>();
+    items.add(root("r1", articleId, null)); // 0: 성공
+    items.add(BulkCommentItem.builder().writerId("user-1").contents("대상 없음").build()); // 1
+    items.add(
+        BulkCommentItem.builder()
+            .clientRef("both")
+            .articleId(articleId)
+            .parentClientRef("r1")
+            .writerId("user-1")
+            .contents("대상 둘")
+            .build()); // 2
+    items.add(reply("bad-parent", "missing")); // 3: 앞선 항목에 없는 부모
+    items.add(existingReply("999999999")); // 4: 존재하지 않는 기존 부모
+    items.add(reply("c1", "r1")); // 5: 성공
+    items.add(reply("g1", "c1")); // 6: 성공 (depth 2)
+    items.add(reply("too-deep", "g1")); // 7: depth 초과
+    items.add(reply("orphan", "bad-parent")); // 8: 부모가 실패
+    items.add(
+        BulkCommentItem.builder().clientRef("blank").articleId(articleId).writerId("u").build());
+    items.add(root("r1", articleId, null)); // 10: clientRef 중복
+
+    // when
+    BulkCreateCommentsResponse response = bulkIngestService.ingest(items);
+
+    // then
+    assertThat(response.getRequested()).isEqualTo(11);
+    assertThat(response.getSucceeded()).isEqualTo(3);
+    assertThat(response.getResults())
+        .extracting(BulkItemResult::getErrCode)
+        .containsExactly(
+            null,
+            ErrorCode.INVALID_BULK_ITEM.getErrCode(),
+            ErrorCode.INVALID_BULK_ITEM.getErrCode(),
+            ErrorCode.PARENT_COMMENT_NOT_FOUND.getErrCode(),
+            ErrorCode.PARENT_COMMENT_NOT_FOUND.getErrCode(),
+            null,
+            null,
+            ErrorCode.REPLY_DEPTH_EXCEEDED.getErrCode(),
+            ErrorCode.PARENT_COMMENT_NOT_FOUND.getErrCode(),
+            ErrorCode.CONTENTS_REQUIRED.getErrCode(),
+            ErrorCode.INVALID_BULK_ITEM.getErrCode());
+    assertThat(articleCommentCountService.getCount(articleId)).contains(3);
+  }
+
+  @DisplayName("최대 항목 수를 넘는 요청은 전체를 거절한다")
+  @Test
+  void ingest_rejectsTooLargeRequest() {
+    List<BulkCommentItem> items = new ArrayList<>();
+    for (int i = 0; i < 5001; i++) {
+      items.add(root(null, "bulk-too-large", null));
+    }
+
+    assertThatThrownBy(() -> bulkIngestService.ingest(items))
+        .isInstanceOf(CustomException.class)
+        .extracting(e -> ((CustomException) e).getErrorcode())
+        .isEqualTo(ErrorCode.BULK_TOO_LARGE);
+  }
+
+  private static BulkCommentItem root(String ref, String articleId, Instant createdAt) {
+    return BulkCommentItem.builder()
+        .clientRef(ref)
+        .articleId(articleId)
+        .writerId("user-1")
+        .contents("루트 " + ref)
+        .createdAt(createdAt)
+        .build();
+  }
+
+  private static BulkCommentItem reply(String ref, String parentRef) {
+    return BulkCommentItem.builder()
+        .clientRef(ref)
+        .parentClientRef(parentRef)
+        .writerId("user-2")
+        .contents("답글 " + ref)
+        .build();
+  }
+
+  private static BulkCommentItem existingReply(String parentCommentId) {
+    return BulkCommentItem.builder()
+        .parentCommentId(parentCommentId)
+        .writerId("user-2")
+        .contents("기존 부모에 대한 답글")
+        .build();
+  }
+
+  private static Long idOf(BulkCreateCommentsResponse response, int index) {
+    return Long.valueOf(response.getResults().get(index).getCommentId());
+  }
+}
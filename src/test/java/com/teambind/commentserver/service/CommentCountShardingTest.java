@@ -0,0 +1,154 @@
+package com.teambind.commentserver.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.repository.ArticleCommentCountRepository;
+import com.teambind.commentserver.repository.ArticleCommentCountShardRepository;
+import com.teambind.commentserver.service.impl.ArticleCommentCountReconciler;
+import com.teambind.commentserver.service.impl.CommentCountShards;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 핫 아티클 댓글 수 샤딩 통합 테스트
+ *
+ * <p>collapse 는 별도 트랜잭션으로 실행되므로 테스트 트랜잭션(@Transactional)을 사용하지 않는다.
+ */
+@SpringBootTest(
+    properties = {
+      "comment.count.sharding.enabled=true",
+      "comment.count.sharding.articles.shard-fixed-1=4",
+      "comment.count.sharding.articles.shard-fixed-2=4",
+      "comment.count.sharding.articles.shard-fixed-3=4",
+      "comment.count.sharding.hot-writes-per-second=0.001"
+    })
+@ActiveProfiles("test")
+class CommentCountShardingTest {
+
+  @Autowired private CommentService commentService;
+  @Autowired private ArticleCommentCountService articleCommentCountService;
+  @Autowired private ArticleCommentCountReconciler reconciler;
+  @Autowired private ArticleCommentCountRepository countRepository;
+  @Autowired private ArticleCommentCountShardRepository shardRepository;
+  @Autowired private CommentCountShards shards;
+
+  @DisplayName("샤딩 아티클의 증감은 샤드 행에 쌓이고, 조회는 기본 행 + 샤드 합계를 돌려준다")
+  @Test
+  void shardedWrites_areSummedOnRead() {
+    // given
+    String articleId = "shard-fixed-1";
+    Comment first = commentService.createRootComment(articleId, "user-0", "c0");
+    for (int i = 1; i < 10; i++) {
+      commentService.createRootComment(articleId, "user-" + i, "c" + i);
+    }
+
+    // when
+    commentService.softDelete(String.valueOf(first.getCommentId()), "user-0");
+
+    // then
+    // 기본 행은 삭제 직렬화용으로만 만들어지고(0), 값은 모두 샤드에 있다
+    assertThat(countRepository.findCommentCount(articleId)).contains(0);
+    assertThat(shardRepository.sumByArticleId(articleId)).isEqualTo(9);
+    assertThat(articleCommentCountService.getCount(articleId)).contains(9);
+    assertThat(articleCommentCountService.getCountsForArticles(List.of(articleId, "none")))
+        .isEqualTo(Map.of(articleId, 9, "none", 0));
+    assertThat(reconciler.reconcile(articleId)).isTrue();
+  }
+
+  @DisplayName("collapse 는 샤드 합계를 기본 행으로 옮기고 샤드를 지운다")
+  @Test
+  void collapse_mergesShardsIntoBaseRow() {
+    // given
+    String articleId = "shard-fixed-2";
+    for (int i = 0; i < 5; i++) {
+      commentService.createRootComment(articleId, "user-" + i, "c" + i);
+    }
+
+    // when
+    long merged = shards.collapse(articleId);
+
+    // then
+    assertThat(merged).isEqualTo(5);
+    assertThat(shardRepository.existsByArticleId(articleId)).isFalse();
+    assertThat(countRepository.findCommentCount(articleId)).contains(5);
+    assertThat(articleCommentCountService.getCount(articleId)).contains(5);
+  }
+
+  @DisplayName("삭제와 collapse 가 동시에 돌아도 교착 없이 끝나고 합계가 맞는다 (기본 행 → 샤드 행 순 잠금)")
+  @Test
+  void collapseDuringDeletes_keepsLockOrder() throws Exception {
+    // given
+    String articleId = "shard-fixed-3";
+    List<Comment> comments = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      comments.add(commentService.createRootComment(articleId, "user-" + i, "c" + i));
+    }
+
+    // when: 앞의 6개를 삭제하는 동안 collapse 를 반복한다
+    ExecutorService executor = Executors.newFixedThreadPool(7);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (Comment c : comments.subList(0, 6)) {
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                commentService.softDelete(String.valueOf(c.getCommentId()), c.getWriterId());
+                return null;
+              }));
+    }
+    futures.add(
+        executor.submit(
+            () -> {
+              start.await();
+              for (int i = 0; i < 5; i++) {
+                shards.collapse(articleId);
+              }
+              return null;
+            }));
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    // then
+    assertThat(articleCommentCountService.getCount(articleId)).contains(4);
+    assertThat(reconciler.reconcile(articleId)).isTrue();
+  }
+
+  @DisplayName("쓰기 속도가 임계치를 넘은 아티클은 다음 창부터 샤드로 쓰고, 삭제도 합계 기준으로 반영된다")
+  @Test
+  void hotArticle_isShardedByWriteRate() {
+    // given: 첫 창에는 기본 행에 쓴다
+    String articleId = "shard-hot-" + System.nanoTime();
+    Comment c1 = commentService.createRootComment(articleId, "user-1", "c1");
+    shards.evaluateWriteRates();
+
+    // when: 핫 판정 이후 쓰기
+    Comment c2 = commentService.createRootComment(articleId, "user-2", "c2");
+
+    // then
+    assertThat(shards.shardFor(articleId)).isPositive();
+    assertThat(countRepository.findCommentCount(articleId)).contains(1);
+    assertThat(shardRepository.sumByArticleId(articleId)).isEqualTo(1);
+
+    // 샤드가 있는 아티클의 삭제는 샤드에서 빼고, 남은 수는 기본 행 + 샤드 합계
+    commentService.softDelete(String.valueOf(c1.getCommentId()), "user-1");
+    assertThat(articleCommentCountService.getCount(articleId)).contains(1);
+    commentService.softDelete(String.valueOf(c2.getCommentId()), "user-2");
+    assertThat(articleCommentCountService.getCount(articleId)).contains(0);
+    assertThat(reconciler.reconcile(articleId)).isTrue();
+  }
+}
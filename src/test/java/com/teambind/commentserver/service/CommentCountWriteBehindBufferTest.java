@@ -0,0 +1,104 @@
+package com.teambind.commentserver.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.teambind.commentserver.entity.ArticleCommentCount;
+import com.teambind.commentserver.repository.ArticleCommentCountRepository;
+import com.teambind.commentserver.service.impl.CommentCountWriteBehindBuffer;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * write-behind 카운트 버퍼 통합 테스트
+ *
+ * <p>버퍼는 커밋 이후 동작을 검증해야 하므로 테스트 트랜잭션(@Transactional)을 사용하지 않는다.
+ */
+@SpringBootTest(properties = "comment.count.write-behind.enabled=true")
+@ActiveProfiles("test")
+class CommentCountWriteBehindBufferTest {
+
+  @Autowired private CommentCountWriteBehindBuffer buffer;
+  @Autowired private ArticleCommentCountRepository repository;
+  @Autowired private ArticleCommentCountService articleCommentCountService;
+
+  @DisplayName("누적된 delta는 flush 시 한 번에 반영되고 버퍼는 비워진다")
+  @Test
+  void flush_appliesAccumulatedDeltas() {
+    // given
+    String a1 = "wb-" + UUID.randomUUID();
+    String a2 = "wb-" + UUID.randomUUID();
+    buffer.add(a1, 3);
+    buffer.add(a1, -1);
+    buffer.add(a2, 5);
+
+    // 반영 전에도 조회 결과에는 대기 중인 delta가 보정되어야 한다
+    assertThat(articleCommentCountService.getCount(a1)).contains(2);
+
+    // when
+    buffer.flush();
+
+    // then
+    assertThat(repository.findById(a1)).map(ArticleCommentCount::getCommentCount).contains(2);
+    assertThat(repository.findById(a2)).map(ArticleCommentCount::getCommentCount).contains(5);
+    assertThat(buffer.pendingDelta(a1)).isZero();
+  }
+
+  @DisplayName("레코드가 없는 아티클의 음수 delta 는 0 으로 생성된다")
+  @Test
+  void flush_clampsNegativeDeltaOnInsert() {
+    // given
+    String articleId = "wb-" + UUID.randomUUID();
+    buffer.add(articleId, -2);
+
+    // when
+    buffer.flush();
+
+    // then
+    assertThat(repository.findById(articleId))
+        .map(ArticleCommentCount::getCommentCount)
+        .contains(0);
+  }
+
+  @DisplayName("동시 증가와 flush 가 섞여도 delta가 유실되지 않는다")
+  @Test
+  void concurrentAddsAndFlushes_loseNothing() throws Exception {
+    // given
+    String articleId = "wb-" + UUID.randomUUID();
+    int threads = 8;
+    int perThread = 1_000;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+
+    // when
+    for (int i = 0; i < threads; i++) {
+      pool.submit(
+          () -> {
+            start.await();
+            for (int j = 0; j < perThread; j++) {
+              buffer.add(articleId, 1);
+              if (j % 250 == 0) {
+                buffer.flush();
+              }
+            }
+            return null;
+          });
+    }
+    start.countDown();
+    pool.shutdown();
+    assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    buffer.flush();
+
+    // then
+    assertThat(repository.findById(articleId))
+        .map(ArticleCommentCount::getCommentCount)
+        .contains(threads * perThread);
+  }
+}
@@ -0,0 +1,100 @@
+package com.teambind.commentserver.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.teambind.commentserver.dto.CommentCursorPageResponse;
+import com.teambind.commentserver.dto.CommentResponse;
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.exceptions.CustomException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/** visibleCount 커서 페이지네이션 통합 테스트 */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CommentCursorPaginationTest {
+
+  @Autowired private CommentService commentService;
+
+  @DisplayName("커서로 끝까지 읽으면 모든 루트가 한 번씩, 최신순으로 예산 안에서 반환된다")
+  @Test
+  void cursorPages_coverAllRootsOnce() {
+    // given: 루트 10개, 일부 루트에는 답글
+    String articleId = "cursor-article-1";
+    int pageSize = 5;
+    Set<String> rootIds = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      Comment root = commentService.createRootComment(articleId, "user-" + i, "root-" + i);
+      rootIds.add(String.valueOf(root.getCommentId()));
+      for (int r = 0; r < i % 3; r++) {
+        commentService.createReply(
+            String.valueOf(root.getCommentId()), "replier-" + r, "reply-" + r);
+      }
+    }
+
+    // when
+    List<CommentResponse> seen = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      CommentCursorPageResponse page =
+          commentService.getCommentsByArticleByCursor(articleId, cursor, pageSize);
+      assertThat(page.getComments()).isNotEmpty();
+      int visible = page.getComments().stream().mapToInt(c -> 1 + c.getReplies().size()).sum();
+      assertThat(page.getComments().size() == 1 || visible <= pageSize).isTrue();
+      seen.addAll(page.getComments());
+      cursor = page.getNextCursor();
+      assertThat(page.isHasNext()).isEqualTo(cursor != null);
+      pages++;
+    } while (cursor != null && pages < 20);
+
+    // then
+    assertThat(seen).extracting(CommentResponse::getCommentId).doesNotHaveDuplicates();
+    assertThat(seen)
+        .extracting(CommentResponse::getCommentId)
+        .containsExactlyInAnyOrderElementsOf(rootIds);
+    for (int i = 1; i < seen.size(); i++) {
+      assertThat(seen.get(i).getCreatedAt()).isBeforeOrEqualTo(seen.get(i - 1).getCreatedAt());
+    }
+  }
+
+  @DisplayName("예산보다 큰 스레드도 단독 페이지로 반환된다")
+  @Test
+  void oversizedThread_isReturnedAlone() {
+    // given
+    String articleId = "cursor-article-2";
+    Comment root = commentService.createRootComment(articleId, "user-1", "big");
+    for (int r = 0; r < 6; r++) {
+      commentService.createReply(
+          String.valueOf(root.getCommentId()), "replier-" + r, "reply-" + r);
+    }
+
+    // when
+    CommentCursorPageResponse page =
+        commentService.getCommentsByArticleByCursor(articleId, null, 3);
+
+    // then
+    assertThat(page.getComments())
+        .extracting(CommentResponse::getCommentId)
+        .containsExactly(String.valueOf(root.getCommentId()));
+    assertThat(page.getComments().get(0).getReplies()).hasSize(6);
+    assertThat(page.isHasNext()).isFalse();
+  }
+
+  @DisplayName("형식이 잘못된 커서는 커스텀 예외")
+  @Test
+  void invalidCursor_throws() {
+    assertThatThrownBy(() -> commentService.getCommentsByArticleByCursor("a", "not-a-cursor", 10))
+        .isInstanceOf(CustomException.class);
+  }
+}
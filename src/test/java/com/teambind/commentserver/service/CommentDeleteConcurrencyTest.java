@@ -0,0 +1,64 @@
+package com.teambind.commentserver.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.repository.CommentOutboxRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/** 같은 댓글을 동시에 삭제해도 활성 댓글 수가 한 번만 줄어드는지 검증 (트랜잭션별 커밋) */
+@SpringBootTest
+@ActiveProfiles("test")
+class CommentDeleteConcurrencyTest {
+
+  @Autowired private CommentService commentService;
+  @Autowired private ArticleCommentCountService articleCommentCountService;
+  @Autowired private CommentOutboxRepository outboxRepository;
+
+  @DisplayName("같은 댓글의 동시 삭제는 카운터를 한 번만 줄이고 마지막 댓글 이벤트를 잘못 발행하지 않는다")
+  @Test
+  void concurrentDeletesOfSameComment_decrementOnce() throws Exception {
+    // given: 활성 댓글 2개
+    String articleId = "delete-concurrency";
+    Comment target = commentService.createRootComment(articleId, "user-1", "삭제 대상");
+    commentService.createRootComment(articleId, "user-2", "남는 댓글");
+    String targetId = String.valueOf(target.getCommentId());
+    int threads = 8;
+
+    // when
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                commentService.softDelete(targetId, "user-1");
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    // then
+    assertThat(articleCommentCountService.getCount(articleId)).contains(1);
+    assertThat(outboxRepository.findAll())
+        .noneMatch(
+            row ->
+                row.getTopic().equals("comment-deleted") && row.getMessageKey().equals(articleId));
+  }
+}
@@ -0,0 +1,101 @@
+package com.teambind.commentserver.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.teambind.commentserver.entity.Comment;
+import com.teambind.commentserver.entity.CommentOutbox;
+import com.teambind.commentserver.event.publish.OutboxRelay;
+import com.teambind.commentserver.repository.CommentOutboxRepository;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+/** 트랜잭셔널 아웃박스 통합 테스트 (Kafka 는 mock) */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CommentOutboxTest {
+
+  @Autowired private CommentService commentService;
+  @Autowired private CommentOutboxRepository outboxRepository;
+  @Autowired private OutboxRelay outboxRelay;
+  @MockitoBean private KafkaTemplate<String, Object> kafkaTemplate;
+
+  @DisplayName("마지막 댓글 삭제 이벤트는 Kafka 가 아닌 아웃박스에 같은 트랜잭션으로 기록된다")
+  @Test
+  void softDelete_recordsEventInOutbox() {
+    // given
+    Comment root = commentService.createRootComment("outbox-article-1", "user-1", "hello");
+
+    // when
+    commentService.softDelete(String.valueOf(root.getCommentId()), "user-1");
+
+    // then
+    List<CommentOutbox> rows = outboxRepository.findAll();
+    assertThat(rows)
+        .anySatisfy(
+            row -> {
+              assertThat(row.getTopic()).isEqualTo("comment-deleted");
+              assertThat(row.getMessageKey()).isEqualTo("outbox-article-1");
+              assertThat(row.getPayload()).contains("\"articleId\":\"outbox-article-1\"");
+            });
+  }
+
+  @DisplayName("릴레이는 ack 를 받은 이벤트를 articleId 키로 발행한 뒤 일괄 삭제한다")
+  @Test
+  void relay_publishesAndDeletesAckedRows() {
+    // given
+    when(kafkaTemplate.send(anyString(), anyString(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    Comment root = commentService.createRootComment("outbox-article-2", "user-1", "hello");
+    commentService.softDelete(String.valueOf(root.getCommentId()), "user-1");
+    long before = outboxRepository.count();
+
+    // when
+    int published = outboxRelay.relay();
+
+    // then
+    assertThat(published).isEqualTo(before);
+    assertThat(outboxRepository.count()).isZero();
+    verify(kafkaTemplate).send(eq("comment-deleted"), eq("outbox-article-2"), any());
+  }
+
+  @DisplayName("ack 를 받지 못한 이벤트는 임대를 풀어 다음 릴레이에서 다시 발행한다")
+  @Test
+  void relay_releasesUnackedRowsForRetry() {
+    // given
+    Comment root = commentService.createRootComment("outbox-article-3", "user-1", "hello");
+    commentService.softDelete(String.valueOf(root.getCommentId()), "user-1");
+    long before = outboxRepository.count();
+    when(kafkaTemplate.send(anyString(), anyString(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+    // when
+    int firstRun = outboxRelay.relay();
+
+    // then
+    assertThat(firstRun).isZero();
+    assertThat(outboxRepository.count()).isEqualTo(before);
+
+    // when: 임대가 남아 있으면 claim-ttl 동안 조회되지 않는다
+    when(kafkaTemplate.send(anyString(), anyString(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    int secondRun = outboxRelay.relay();
+
+    // then
+    assertThat(secondRun).isEqualTo(before);
+    assertThat(outboxRepository.count()).isZero();
+  }
+}
@@ -0,0 +1,61 @@
+package com.teambind.commentserver.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.teambind.commentserver.entity.Comment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/** 같은 부모에 동시에 답글을 달 때 reply_count 갱신이 유실되지 않는지 검증 (트랜잭션별 커밋) */
+@SpringBootTest
+@ActiveProfiles("test")
+class CommentReplyCountConcurrencyTest {
+
+  @Autowired private CommentService commentService;
+
+  @DisplayName("동시 답글 작성 시 부모 replyCount 는 작성된 답글 수와 같다")
+  @Test
+  void concurrentReplies_doNotLoseReplyCount() throws Exception {
+    // given
+    Comment parent =
+        commentService.createRootComment("reply-count-concurrency", "user-0", "인기 댓글");
+    String parentId = String.valueOf(parent.getCommentId());
+    int threads = 8;
+    int repliesPerThread = 10;
+
+    // when
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      String writerId = "replier-" + t;
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < repliesPerThread; i++) {
+                  commentService.createReply(parentId, writerId, "reply-" + i);
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    // then
+    assertThat(commentService.getById(parentId).orElseThrow().getReplyCount())
+        .isEqualTo(threads * repliesPerThread);
+  }
+}
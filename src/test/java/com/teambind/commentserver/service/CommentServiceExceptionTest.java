@@ -74,7 +74,7 @@ class CommentServiceExceptionTest {
     var comment = commentService.createRootComment("article-1", "user-1", "original");
 
     // when & then
-    assertThatThrownBy(() -> commentService.updateContents(comment.getCommentId(), "user-1", null))
+    assertThatThrownBy(() -> commentService.updateContents(String.valueOf(comment.getCommentId()), "user-1", null))
         .isInstanceOf(CustomException.class)
         .hasMessage(ErrorCode.CONTENTS_REQUIRED.getMessage())
         .satisfies(
@@ -90,7 +90,7 @@ class CommentServiceExceptionTest {
     var comment = commentService.createRootComment("article-1", "user-1", "original");
 
     // when & then
-    assertThatThrownBy(() -> commentService.updateContents(comment.getCommentId(), "user-1", "  \t\n"))
+    assertThatThrownBy(() -> commentService.updateContents(String.valueOf(comment.getCommentId()), "user-1", "  \t\n"))
         .isInstanceOf(CustomException.class)
         .hasMessage(ErrorCode.CONTENTS_REQUIRED.getMessage())
         .satisfies(
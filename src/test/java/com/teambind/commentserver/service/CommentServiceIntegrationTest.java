@@ -2,8 +2,12 @@ package com.teambind.commentserver.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.teambind.commentserver.dto.CommentResponse;
 import com.teambind.commentserver.entity.Comment;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 class CommentServiceIntegrationTest {
 
   @Autowired private CommentService commentService;
+  @Autowired private EntityManager entityManager;
 
   @DisplayName("루트 댓글 생성: depth=0, root=self")
   @Test
@@ -49,7 +54,8 @@ class CommentServiceIntegrationTest {
     Comment parent = commentService.createRootComment("article-1", "user-1", "부모 댓글");
 
     // when
-    Comment child = commentService.createReply(parent.getCommentId(), "user-2", "자식 댓글");
+    Comment child =
+        commentService.createReply(String.valueOf(parent.getCommentId()), "user-2", "자식 댓글");
 
     // then
     assertThat(child.getArticleId()).isEqualTo(parent.getArticleId());
@@ -58,10 +64,28 @@ class CommentServiceIntegrationTest {
     assertThat(child.getDepth()).isEqualTo(parent.getDepth() + 1);
 
     // 부모의 replyCount 증가 확인
-    Comment refreshedParent = commentService.getById(parent.getCommentId()).orElseThrow();
+    Comment refreshedParent =
+        commentService.getById(String.valueOf(parent.getCommentId())).orElseThrow();
     assertThat(refreshedParent.getReplyCount()).isEqualTo(1);
   }
 
+  @DisplayName("답글 삭제: 부모 replyCount 감소, 0 미만으로 내려가지 않음")
+  @Test
+  void softDeleteReply_decrementsParentReplyCount() {
+    // given
+    Comment parent = commentService.createRootComment("article-1", "user-1", "부모 댓글");
+    String parentId = String.valueOf(parent.getCommentId());
+    Comment r1 = commentService.createReply(parentId, "user-2", "r1");
+    commentService.createReply(parentId, "user-3", "r2");
+
+    // when
+    commentService.softDelete(String.valueOf(r1.getCommentId()), "user-2");
+    commentService.softDelete(String.valueOf(r1.getCommentId()), "user-2"); // 중복 삭제는 무시
+
+    // then
+    assertThat(commentService.getById(parentId).orElseThrow().getReplyCount()).isEqualTo(1);
+  }
+
   @DisplayName("아티클 전체 댓글 조회: 삭제된 댓글 제외")
   @Test
   void getAllCommentsByArticle_ok() {
@@ -71,7 +95,7 @@ class CommentServiceIntegrationTest {
     Comment c2 = commentService.createRootComment(articleId, "user-2", "c2");
 
     // 삭제 1건
-    commentService.softDelete(c1.getCommentId(), c1.getWriterId());
+    commentService.softDelete(String.valueOf(c1.getCommentId()), c1.getWriterId());
 
     // when
     List<Comment> list = commentService.getAllCommentsByArticle(articleId);
@@ -80,17 +104,40 @@ class CommentServiceIntegrationTest {
     assertThat(list).extracting(Comment::getCommentId).containsExactly(c2.getCommentId());
   }
 
+  @DisplayName("아티클 전체 댓글 스트리밍 조회: 목록 조회와 같은 순서, 전달 후 엔티티 분리")
+  @Test
+  void streamAllCommentsByArticle_ok() {
+    // given
+    String articleId = "article-stream";
+    Comment root = commentService.createRootComment(articleId, "user-1", "루트");
+    commentService.createReply(String.valueOf(root.getCommentId()), "user-2", "답글");
+    Comment deleted = commentService.createRootComment(articleId, "user-3", "삭제될 댓글");
+    commentService.softDelete(String.valueOf(deleted.getCommentId()), "user-3");
+    List<Long> expected =
+        commentService.getAllCommentsByArticle(articleId).stream()
+            .map(Comment::getCommentId)
+            .toList();
+
+    // when
+    List<Comment> streamed = new ArrayList<>();
+    commentService.streamAllCommentsByArticle(articleId, streamed::add);
+
+    // then
+    assertThat(streamed).extracting(Comment::getCommentId).containsExactlyElementsOf(expected);
+    assertThat(streamed).hasSize(2).noneMatch(entityManager::contains);
+  }
+
   @DisplayName("부모 기준 대댓글 목록 조회")
   @Test
   void getRepliesByParent_ok() {
     // given
     String articleId = "article-3";
     Comment p = commentService.createRootComment(articleId, "user-1", "부모");
-    Comment r1 = commentService.createReply(p.getCommentId(), "user-2", "r1");
-    Comment r2 = commentService.createReply(p.getCommentId(), "user-3", "r2");
+    Comment r1 = commentService.createReply(String.valueOf(p.getCommentId()), "user-2", "r1");
+    Comment r2 = commentService.createReply(String.valueOf(p.getCommentId()), "user-3", "r2");
 
     // when
-    List<Comment> replies = commentService.getRepliesByParent(p.getCommentId());
+    List<Comment> replies = commentService.getRepliesByParent(String.valueOf(p.getCommentId()));
 
     // then
     assertThat(replies)
@@ -104,11 +151,11 @@ class CommentServiceIntegrationTest {
     // given
     String articleId = "article-4";
     Comment root = commentService.createRootComment(articleId, "user-1", "루트");
-    Comment c1 = commentService.createReply(root.getCommentId(), "user-2", "c1");
-    Comment c2 = commentService.createReply(root.getCommentId(), "user-3", "c2");
+    Comment c1 = commentService.createReply(String.valueOf(root.getCommentId()), "user-2", "c1");
+    Comment c2 = commentService.createReply(String.valueOf(root.getCommentId()), "user-3", "c2");
 
     // when
-    List<Comment> thread = commentService.getThreadByRoot(root.getRootCommentId());
+    List<Comment> thread = commentService.getThreadByRoot(String.valueOf(root.getRootCommentId()));
 
     // then
     assertThat(thread)
@@ -116,6 +163,40 @@ class CommentServiceIntegrationTest {
         .contains(root.getCommentId(), c1.getCommentId(), c2.getCommentId());
   }
 
+  @DisplayName("프로젝션 조회는 엔티티를 영속성 컨텍스트에 올리지 않고, 삭제된 댓글 내용은 마스킹한다")
+  @Test
+  void viewQueries_doNotManageEntities() {
+    // given
+    Comment root = commentService.createRootComment("article-6", "user-1", "루트");
+    String rootId = String.valueOf(root.getCommentId());
+    Comment r1 = commentService.createReply(rootId, "user-2", "r1");
+    commentService.createReply(rootId, "user-3", "r2");
+    commentService.updateContents(rootId, "user-1", "수정된 루트");
+    commentService.softDelete(String.valueOf(r1.getCommentId()), "user-2");
+    entityManager.flush();
+    entityManager.clear();
+
+    // when
+    List<CommentResponse> replies = commentService.getReplyViewsByParent(rootId);
+    List<CommentResponse> thread = commentService.getThreadViewByRoot(rootId);
+    CommentResponse single = commentService.getViewById(rootId).orElseThrow();
+
+    // then
+    assertThat(replies)
+        .extracting(CommentResponse::getContents)
+        .containsExactly("삭제된 댓글입니다.", "r2");
+    assertThat(thread).hasSize(3);
+    assertThat(single.getContents()).isEqualTo("수정된 루트");
+    assertThat(single.getIsEdited()).isTrue();
+    assertThat(single.getReplyCount()).isEqualTo(1);
+    assertThat(
+            entityManager
+                .unwrap(SessionImplementor.class)
+                .getPersistenceContext()
+                .getNumberOfManagedEntities())
+        .isZero();
+  }
+
   @DisplayName("내용 수정과 소프트 삭제")
   @Test
   void updateAndSoftDelete_ok() {
@@ -123,11 +204,12 @@ class CommentServiceIntegrationTest {
     Comment c = commentService.createRootComment("article-5", "user-1", "old");
 
     // when
-    Comment updated = commentService.updateContents(c.getCommentId(), c.getWriterId(), "new");
-    commentService.softDelete(updated.getCommentId(), updated.getWriterId());
+    Comment updated =
+        commentService.updateContents(String.valueOf(c.getCommentId()), c.getWriterId(), "new");
+    commentService.softDelete(String.valueOf(updated.getCommentId()), updated.getWriterId());
 
     // then
-    Comment fetched = commentService.getById(updated.getCommentId()).orElseThrow();
+    Comment fetched = commentService.getById(String.valueOf(updated.getCommentId())).orElseThrow();
     assertThat(fetched.getContents()).isEqualTo("new");
     assertThat(fetched.getIsDeleted()).isTrue();
     assertThat(fetched.getStatus()).isEqualTo(Comment.CommentStatus.DELETED);
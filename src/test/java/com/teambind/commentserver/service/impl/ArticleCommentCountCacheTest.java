@@ -0,0 +1,130 @@
+package com.teambind.commentserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.teambind.commentserver.entity.ArticleCommentCount;
+import com.teambind.commentserver.repository.ArticleCommentCountRepository;
+import com.teambind.commentserver.repository.ArticleCommentCountShardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+
+class ArticleCommentCountCacheTest {
+
+  private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+  @SuppressWarnings("unchecked")
+  private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ArticleCommentCountCache cache =
+      new ArticleCommentCountCache(redisTemplate, meterRegistry, true, Duration.ofMinutes(1));
+
+  @DisplayName("MGET 한 번으로 hit 만 반환하고 hit/miss 를 센다")
+  @Test
+  void getAll_splitsHitsAndMisses() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    when(valueOps.multiGet(List.of("c:count:v1:a1", "c:count:v1:a2", "c:count:v1:a3")))
+        .thenReturn(Arrays.asList("3", null, "0"));
+
+    Map<String, Integer> hits = cache.getAll(List.of("a1", "a2", "a3"));
+
+    assertThat(hits).containsExactlyInAnyOrderEntriesOf(Map.of("a1", 3, "a3", 0));
+    assertThat(requests("hit")).isEqualTo(2);
+    assertThat(requests("miss")).isEqualTo(1);
+  }
+
+  @DisplayName("miss 로 DB 에서 읽은 값은 파이프라인 SET EX(TTL) 로 채운다")
+  @Test
+  void putAll_setsWithTtlInPipeline() {
+    cache.putAll(Map.of("a2", 7));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+    verify(redisTemplate).executePipelined(callback.capture());
+    RedisConnection connection = mock(RedisConnection.class);
+    RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    when(connection.stringCommands()).thenReturn(stringCommands);
+    callback.getValue().doInRedis(connection);
+
+    verify(stringCommands)
+        .set(
+            bytes("c:count:v1:a2"),
+            bytes("7"),
+            Expiration.from(Duration.ofMinutes(1)),
+            SetOption.upsert());
+  }
+
+  @DisplayName("증감은 키가 있을 때만 더하는 스크립트로 보내고, 없는 키를 만들거나 지우지 않는다")
+  @Test
+  void applyDelta_onMissingKey_leavesItAbsent() {
+    // 스크립트는 키가 없으면 nil 을 반환한다
+    when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(null);
+
+    cache.applyDelta("a1", -1);
+
+    ArgumentCaptor<RedisScript> script = ArgumentCaptor.forClass(RedisScript.class);
+    verify(redisTemplate).execute(script.capture(), eq(List.of("c:count:v1:a1")), eq("-1"));
+    assertThat(script.getValue().getScriptAsString())
+        .startsWith("if redis.call('EXISTS', KEYS[1]) == 1 then")
+        .contains("'KEEPTTL'")
+        .endsWith("return nil");
+    verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    verify(redisTemplate, never()).delete(any(String.class));
+  }
+
+  @DisplayName("Redis 장애 시 배치 조회는 DB 경로로 응답한다")
+  @Test
+  void getCountsForArticles_fallsBackToDbWhenRedisDown() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    when(valueOps.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+    when(redisTemplate.executePipelined(any(RedisCallback.class)))
+        .thenThrow(new RedisConnectionFailureException("down"));
+    ArticleCommentCountRepository repository = mock(ArticleCommentCountRepository.class);
+    ArticleCommentCountShardRepository shardRepository =
+        mock(ArticleCommentCountShardRepository.class);
+    when(repository.findAllById(List.of("a1", "a2")))
+        .thenReturn(List.of(ArticleCommentCount.builder().articleId("a1").commentCount(4).build()));
+    when(shardRepository.sumByArticleIds(List.of("a1", "a2"))).thenReturn(List.of());
+    ArticleCommentCountServiceImpl service =
+        new ArticleCommentCountServiceImpl(
+            repository,
+            mock(CommentCountWriteBehindBuffer.class),
+            cache,
+            shardRepository,
+            mock(CommentCountShards.class));
+
+    Map<String, Integer> counts = service.getCountsForArticles(List.of("a1", "a2"));
+
+    assertThat(counts).containsExactly(Map.entry("a1", 4), Map.entry("a2", 0));
+    assertThat(requests("miss")).isEqualTo(2);
+  }
+
+  private double requests(String result) {
+    return meterRegistry.counter("comment.count.cache.requests", "result", result).count();
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
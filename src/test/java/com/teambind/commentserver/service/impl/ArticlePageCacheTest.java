@@ -0,0 +1,117 @@
+package com.teambind.commentserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class ArticlePageCacheTest {
+
+  private static final byte[] JSON = "[{\"commentId\":\"1\"}]".getBytes(StandardCharsets.UTF_8);
+
+  private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final Supplier<byte[]> loader =
+      () -> {
+        loads.incrementAndGet();
+        return JSON;
+      };
+
+  @DisplayName("같은 버전의 페이지는 한 번만 직렬화하고, 버전이 올라가면 다시 만든다")
+  @Test
+  void samePageAndVersion_isSerializedOnce() {
+    ArticlePageCache cache = cache(false);
+
+    assertThat(cache.get("a1", 100L, 0, 10, loader)).isEqualTo(JSON);
+    assertThat(cache.get("a1", 100L, 0, 10, loader)).isEqualTo(JSON);
+    assertThat(loads).hasValue(1);
+
+    cache.get("a1", 101L, 0, 10, loader);
+    assertThat(loads).hasValue(2);
+    assertThat(requests("local_hit")).isEqualTo(1);
+    assertThat(requests("miss")).isEqualTo(2);
+  }
+
+  @DisplayName("다른 노드가 Redis 에 채운 페이지는 직렬화 없이 가져와 로컬 계층에 둔다")
+  @Test
+  void redisHit_skipsLoaderAndFillsLocal() {
+    ArticlePageCache cache = cache(false);
+    when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(JSON);
+
+    assertThat(cache.get("a1", 100L, 0, 10, loader)).isEqualTo(JSON);
+    assertThat(cache.get("a1", 100L, 0, 10, loader)).isEqualTo(JSON);
+
+    assertThat(loads).hasValue(0);
+    assertThat(requests("redis_hit")).isEqualTo(1);
+    assertThat(requests("local_hit")).isEqualTo(1);
+  }
+
+  @DisplayName("gzip 설정이면 압축된 바이트를 캐시하고, Redis 장애 시에도 로컬 계층으로 동작한다")
+  @Test
+  void gzip_andRedisFailure() throws IOException {
+    ArticlePageCache cache = cache(true);
+    when(redisTemplate.execute(any(RedisCallback.class)))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    byte[] body = cache.get("a1", 100L, 1, 10, loader);
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      assertThat(in.readAllBytes()).isEqualTo(JSON);
+    }
+    assertThat(cache.get("a1", 100L, 1, 10, loader)).isSameAs(body);
+    assertThat(loads).hasValue(1);
+  }
+
+  @DisplayName("로컬 항목도 redis-ttl 이 지나면 만료되어 다시 만든다")
+  @Test
+  void localEntry_expiresWithRedisTtl() throws InterruptedException {
+    ArticlePageCache cache =
+        new ArticlePageCache(
+            redisTemplate, meterRegistry, true, 1, 100, 262144, false, Duration.ofMillis(50));
+
+    cache.get("a1", 100L, 0, 10, loader);
+    cache.get("a1", 100L, 0, 10, loader);
+    assertThat(loads).hasValue(1);
+
+    Thread.sleep(100);
+    cache.get("a1", 100L, 0, 10, loader);
+
+    assertThat(loads).hasValue(2);
+    assertThat(requests("local_hit")).isEqualTo(1);
+    assertThat(requests("miss")).isEqualTo(2);
+  }
+
+  @DisplayName("max-page 이후 페이지는 캐시 대상이 아니다")
+  @Test
+  void onlyFirstPages_areCacheable() {
+    ArticlePageCache cache = cache(false);
+
+    assertThat(cache.isCacheable(0, 10)).isTrue();
+    assertThat(cache.isCacheable(1, 10)).isTrue();
+    assertThat(cache.isCacheable(2, 10)).isFalse();
+  }
+
+  private ArticlePageCache cache(boolean gzip) {
+    return new ArticlePageCache(
+        redisTemplate, meterRegistry, true, 1, 100, 262144, gzip, Duration.ofMinutes(1));
+  }
+
+  private double requests(String result) {
+    return meterRegistry.counter("comment.page_cache.requests", "result", result).count();
+  }
+}
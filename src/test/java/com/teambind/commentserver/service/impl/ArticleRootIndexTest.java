@@ -0,0 +1,93 @@
+package com.teambind.commentserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.teambind.commentserver.repository.projection.RootPageEntry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ArticleRootIndexTest {
+
+  private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Test
+  @DisplayName("인덱스의 페이지 경계는 최신순 누적 합 기준 (prev, curr] 와 같다")
+  void rootIdsForPage_matchesCumulativeDefinition() {
+    List<RootPageEntry> roots = new ArrayList<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 200; i++) {
+      roots.add(entry(i, random.nextInt(8)));
+    }
+    ArticleRootIndex index = ArticleRootIndex.of(roots);
+
+    for (int pageSize : new int[] {1, 7, 20}) {
+      for (int page = 0; page < 60; page++) {
+        assertThat(index.rootIdsForPage((long) page * pageSize, (long) (page + 1) * pageSize))
+            .as("pageSize=%d page=%d", pageSize, page)
+            .isEqualTo(bruteForce(roots, page, pageSize));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("루트 추가, 답글 수 변경, 루트 삭제가 증분 반영된다")
+  void incrementalUpdates_matchRebuiltIndex() {
+    List<RootPageEntry> roots = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      roots.add(entry(i, i % 4));
+    }
+    ArticleRootIndex index = ArticleRootIndex.of(roots);
+
+    // 최신 루트 추가(맨 뒤), 과거 시각 루트 추가(중간 삽입), 답글 증가, 루트 삭제
+    index.insert(id(100), BASE.plusSeconds(100), 1);
+    roots.add(entry(100, 0));
+    long sameInstantAsSeven = id(7) + 500_000L;
+    index.insert(sameInstantAsSeven, BASE.plusSeconds(7), 1);
+    roots.add(new RootPageEntry(sameInstantAsSeven, BASE.plusSeconds(7), 0));
+    index.addSize(id(10), 3);
+    roots.set(10, entry(10, roots.get(10).replyCount() + 3));
+    index.remove(id(20));
+    roots.remove(20);
+
+    roots.sort(
+        Comparator.comparing(RootPageEntry::createdAt).thenComparing(RootPageEntry::commentId));
+    for (int page = 0; page < 30; page++) {
+      assertThat(index.rootIdsForPage(page * 5L, (page + 1) * 5L))
+          .as("page=%d", page)
+          .isEqualTo(bruteForce(roots, page, 5));
+    }
+  }
+
+  /** 최신순 누적 합이 (prev, curr] 에 들어가는 루트 (findRootIdsForPage 정의) */
+  private static List<Long> bruteForce(List<RootPageEntry> ascending, int page, int pageSize) {
+    List<RootPageEntry> newestFirst = new ArrayList<>(ascending);
+    newestFirst.sort(
+        Comparator.comparing(RootPageEntry::createdAt)
+            .thenComparing(RootPageEntry::commentId)
+            .reversed());
+    long prev = (long) page * pageSize;
+    long curr = (long) (page + 1) * pageSize;
+    long cum = 0;
+    List<Long> result = new ArrayList<>();
+    for (RootPageEntry e : newestFirst) {
+      cum += e.visibleSize();
+      if (cum > prev && cum <= curr) {
+        result.add(e.commentId());
+      }
+    }
+    return result;
+  }
+
+  private static RootPageEntry entry(int i, int replies) {
+    return new RootPageEntry(id(i), BASE.plusSeconds(i), replies);
+  }
+
+  private static long id(int i) {
+    return 1_000_000L + i;
+  }
+}
@@ -0,0 +1,59 @@
+package com.teambind.commentserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.teambind.commentserver.repository.ArticleCommentCountBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+class CommentCountWriteBehindBufferFlushTest {
+
+  private final ArticleCommentCountBatchRepository batchRepository =
+      mock(ArticleCommentCountBatchRepository.class);
+  // batchSize 1: 아티클마다 청크 하나
+  private final CommentCountWriteBehindBuffer buffer =
+      new CommentCountWriteBehindBuffer(batchRepository, new SimpleMeterRegistry(), true, 1);
+
+  @DisplayName("반영했거나 버퍼로 되돌린 청크는 flush 가 끝나기 전에도 대기 delta 에 한 번만 잡힌다")
+  @Test
+  void flush_releasesEachChunkFromInFlight() {
+    // given: a-fail 청크는 실패, a-ok 청크는 성공
+    buffer.add("a-fail", 3);
+    buffer.add("a-ok", 5);
+    List<String> written = new ArrayList<>();
+    List<Map<String, Long>> seen = new ArrayList<>();
+    when(batchRepository.upsertAndAddAll(anyMap()))
+        .thenAnswer(
+            invocation -> {
+              Map<String, Long> chunk = invocation.getArgument(0);
+              long fail = buffer.pendingDelta("a-fail");
+              long ok = buffer.pendingDelta("a-ok");
+              seen.add(Map.of("a-fail", fail, "a-ok", ok));
+              String articleId = chunk.keySet().iterator().next();
+              written.add(articleId);
+              if (articleId.equals("a-fail")) {
+                throw new TransientDataAccessResourceException("down");
+              }
+              return 1;
+            });
+
+    // when
+    buffer.flush();
+
+    // then: 두 번째 청크를 쓸 때 첫 청크는 DB(0) 또는 버퍼(3) 한쪽에만 있다
+    String first = written.get(0);
+    long expected = first.equals("a-fail") ? 3 : 0;
+    assertThat(seen.get(1).get(first)).isEqualTo(expected);
+    assertThat(buffer.pendingDelta("a-fail")).isEqualTo(3);
+    assertThat(buffer.pendingDelta("a-ok")).isZero();
+    assertThat(buffer.pendingSize()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,125 @@
+package com.teambind.commentserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class CommentReadVersionsTest {
+
+  private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @DisplayName("settle 보다 오래된 버전만 ETag 로 쓰고, 최근에 바뀐 버전은 empty 로 조건부 처리를 생략한다")
+  @Test
+  void recentVersion_isNotSettled() {
+    CommentReadVersions versions = versions(true);
+    long old = System.currentTimeMillis() - 60_000;
+    when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+        .thenReturn(old)
+        .thenReturn(System.currentTimeMillis());
+
+    assertThat(versions.articleVersion("a1")).hasValue(old);
+    assertThat(versions.articleVersion("a1")).isEmpty();
+    assertThat(lookup("settled")).isEqualTo(1);
+    assertThat(lookup("unsettled")).isEqualTo(1);
+  }
+
+  @DisplayName("쓰기 반영은 아티클과 스레드 키를 스크립트 한 번으로 올린다")
+  @Test
+  void bump_updatesArticleAndThreadKeys() {
+    CommentReadVersions versions = versions(true);
+
+    versions.bump("a1", 42L);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+    verify(redisTemplate)
+        .execute(any(RedisScript.class), keys.capture(), anyString(), eq("3600000"));
+    assertThat(keys.getValue()).containsExactly("c:ver:v1:a:a1", "c:ver:v1:t:42");
+  }
+
+  @DisplayName("Redis 장애 시 조회는 empty, 버전 갱신 실패 시에는 오래된 304 를 막기 위해 키를 지운다")
+  @Test
+  void redisFailure_skipsConditionalAndEvicts() {
+    CommentReadVersions versions = versions(true);
+    when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    assertThat(versions.threadVersion(42L)).isEmpty();
+    versions.bumpAll(Set.of("a1"), Set.of());
+
+    verify(redisTemplate).delete(List.of("c:ver:v1:a:a1"));
+    assertThat(lookup("error")).isEqualTo(1);
+    assertThat(meterRegistry.counter("comment.read_version.bump_failed").count()).isEqualTo(1);
+  }
+
+  @DisplayName("비활성이면 Redis 를 호출하지 않는다")
+  @Test
+  void disabled_skipsRedis() {
+    CommentReadVersions versions = versions(false);
+
+    assertThat(versions.articleVersion("a1")).isEmpty();
+    versions.bump("a1", 42L);
+
+    verifyNoInteractions(redisTemplate);
+  }
+
+  @DisplayName("복제본을 쓰면 settle 이 복제 지연 상한(max-lag + 확인 주기 + 1초) 이하일 때 기동하지 않는다")
+  @Test
+  void settleWithinReplicaLag_isRejected() {
+    assertThatThrownBy(() -> versions(Duration.ofSeconds(2), true))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("comment.read-version.settle");
+    assertThatThrownBy(() -> versions(Duration.ofSeconds(4), true))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(versions(Duration.ofSeconds(5), true)).isNotNull();
+    assertThat(versions(Duration.ofSeconds(2), false)).isNotNull(); // 복제본 없으면 primary 에서 읽음
+  }
+
+  private CommentReadVersions versions(boolean enabled) {
+    return new CommentReadVersions(
+        redisTemplate,
+        meterRegistry,
+        enabled,
+        Duration.ofHours(1),
+        Duration.ofSeconds(2),
+        false,
+        Duration.ofSeconds(2),
+        1000);
+  }
+
+  private CommentReadVersions versions(Duration settle, boolean replicasEnabled) {
+    return new CommentReadVersions(
+        redisTemplate,
+        meterRegistry,
+        true,
+        Duration.ofHours(1),
+        settle,
+        replicasEnabled,
+        Duration.ofSeconds(2),
+        1000);
+  }
+
+  private double lookup(String result) {
+    return meterRegistry.counter("comment.read_version.lookup", "result", result).count();
+  }
+}
@@ -0,0 +1,135 @@
+package com.teambind.commentserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.teambind.commentserver.event.events.CommentCreatedEvent;
+import com.teambind.commentserver.event.publish.EventPublisher;
+import com.teambind.commentserver.service.FirstCommentGate;
+import com.teambind.commentserver.service.FirstCommentGate.Candidate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class FirstCommentEventPipelineTest {
+
+  private final EventPublisher eventPublisher = mock(EventPublisher.class);
+  private final PlatformTransactionManager transactionManager =
+      mock(PlatformTransactionManager.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<List<Candidate>> batches = Collections.synchronizedList(new ArrayList<>());
+  private FirstCommentEventPipeline pipeline;
+
+  @AfterEach
+  void tearDown() {
+    pipeline.close();
+  }
+
+  @DisplayName("같은 아티클의 작업은 들어온 순서대로 배치로 판정되고, 첫 댓글만 아웃박스에 기록된다")
+  @Test
+  void processesInOrderAndInBatches() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(20);
+    pipeline = pipeline(gate(release, done), 100, 100);
+
+    for (int i = 0; i < 20; i++) {
+      pipeline.submit("a1", "u" + i);
+    }
+    release.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    List<String> writers =
+        batches.stream().flatMap(List::stream).map(Candidate::writerId).toList();
+    assertThat(writers).containsExactly(expectedWriters(20));
+    assertThat(batches).anySatisfy(batch -> assertThat(batch.size()).isGreaterThan(1));
+    // 짝수 작성자만 첫 댓글
+    verify(eventPublisher, times(10)).publishCommentCreated(any(CommentCreatedEvent.class));
+  }
+
+  @DisplayName("큐가 가득 차면 잠시 기다린 뒤 호출 스레드에서 직접 처리한다")
+  @Test
+  void fullQueue_fallsBackToCallerThread() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(3);
+    pipeline = pipeline(gate(release, done), 1, 1);
+
+    pipeline.submit("a1", "u0"); // 워커가 꺼내서 release 대기
+    Thread.sleep(200);
+    pipeline.submit("a1", "u2"); // 큐 1칸
+    pipeline.submit("a1", "u4"); // 가득 참 -> 호출 스레드에서 처리
+
+    assertThat(meterRegistry.counter("comment.first_event.pipeline.rejected").count())
+        .isEqualTo(1);
+    release.countDown();
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    verify(eventPublisher, times(3)).publishCommentCreated(any(CommentCreatedEvent.class));
+  }
+
+  /** 워커는 release 까지 기다려 큐에 작업이 쌓이게 한다. 짝수 작성자만 첫 댓글 */
+  @SuppressWarnings("unchecked")
+  private FirstCommentGate gate(CountDownLatch release, CountDownLatch done) {
+    FirstCommentGate gate = mock(FirstCommentGate.class);
+    when(gate.isFirstWithinWindow(any(List.class)))
+        .thenAnswer(
+            invocation -> {
+              if (Thread.currentThread().getName().startsWith("first-comment-event")) {
+                await(release);
+              }
+              return record(invocation.getArgument(0), done);
+            });
+    return gate;
+  }
+
+  private List<Boolean> record(List<Candidate> candidates, CountDownLatch done) {
+    batches.add(List.copyOf(candidates));
+    List<Boolean> decisions = new ArrayList<>();
+    for (Candidate c : candidates) {
+      decisions.add(Integer.parseInt(c.writerId().substring(1)) % 2 == 0);
+      done.countDown();
+    }
+    return decisions;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String[] expectedWriters(int n) {
+    String[] writers = new String[n];
+    for (int i = 0; i < n; i++) {
+      writers[i] = "u" + i;
+    }
+    return writers;
+  }
+
+  private FirstCommentEventPipeline pipeline(
+      FirstCommentGate gate, int queueCapacity, int batchSize) {
+    return new FirstCommentEventPipeline(
+        gate,
+        eventPublisher,
+        transactionManager,
+        meterRegistry,
+        true,
+        1,
+        queueCapacity,
+        batchSize,
+        Duration.ofMillis(10),
+        Duration.ofSeconds(1));
+  }
+}
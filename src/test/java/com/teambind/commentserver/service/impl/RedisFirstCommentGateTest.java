@@ -0,0 +1,102 @@
+package com.teambind.commentserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+class RedisFirstCommentGateTest {
+
+  private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+  @SuppressWarnings("unchecked")
+  private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOps);
+  }
+
+  @DisplayName("첫 댓글 이후 같은 작성자의 댓글은 SETNX 없이 near cache 에서 '첫 댓글 아님'으로 판정된다")
+  @Test
+  void repeatCommenter_isServedFromNearCache() {
+    RedisFirstCommentGate gate = gate(100, Duration.ofSeconds(1));
+    when(valueOps.setIfAbsent(anyString(), eq("1"), any(Duration.class))).thenReturn(true);
+
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isTrue();
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isFalse();
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isFalse();
+
+    verify(valueOps, times(1)).setIfAbsent(anyString(), eq("1"), any(Duration.class));
+    assertThat(nearCache("hit")).isEqualTo(2);
+    assertThat(nearCache("miss")).isEqualTo(1);
+  }
+
+  @DisplayName("다른 노드가 만든 키는 남은 TTL 만큼만 기억하고, 만료 뒤에는 다시 Redis 에 묻는다")
+  @Test
+  void existingKey_isCachedForRemainingTtl() throws InterruptedException {
+    RedisFirstCommentGate gate = gate(100, Duration.ZERO);
+    when(valueOps.setIfAbsent(anyString(), eq("1"), any(Duration.class))).thenReturn(false);
+    when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(50L);
+
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isFalse();
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isFalse();
+    verify(valueOps, times(1)).setIfAbsent(anyString(), eq("1"), any(Duration.class));
+
+    Thread.sleep(100);
+    when(valueOps.setIfAbsent(anyString(), eq("1"), any(Duration.class))).thenReturn(true);
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isTrue();
+  }
+
+  @DisplayName("near cache 는 '첫 댓글'을 스스로 판정하지 않고, Redis 장애 시에도 기억하지 않는다")
+  @Test
+  void nearCache_neverReportsFirst() {
+    RedisFirstCommentGate gate = gate(100, Duration.ofSeconds(1));
+    when(valueOps.setIfAbsent(anyString(), eq("1"), any(Duration.class)))
+        .thenThrow(new RedisConnectionFailureException("down"))
+        .thenReturn(true);
+
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isFalse();
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isTrue();
+    verify(redisTemplate, never()).getExpire(anyString(), any(TimeUnit.class));
+  }
+
+  @DisplayName("max-entries 를 넘으면 가장 오래 쓰지 않은 키부터 밀려난다")
+  @Test
+  void nearCache_evictsLeastRecentlyUsed() {
+    FirstCommentNearCache cache = new FirstCommentNearCache(2);
+    long ttl = TimeUnit.MINUTES.toNanos(1);
+    cache.put("k1", ttl);
+    cache.put("k2", ttl);
+    assertThat(cache.contains("k1")).isTrue(); // k1 최근 사용
+    cache.put("k3", ttl);
+
+    assertThat(cache.contains("k1")).isTrue();
+    assertThat(cache.contains("k2")).isFalse();
+    assertThat(cache.contains("k3")).isTrue();
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  private RedisFirstCommentGate gate(int maxEntries, Duration margin) {
+    return new RedisFirstCommentGate(redisTemplate, meterRegistry, true, maxEntries, margin);
+  }
+
+  private double nearCache(String result) {
+    return meterRegistry.counter("comment.first_gate.near_cache", "result", result).count();
+  }
+}
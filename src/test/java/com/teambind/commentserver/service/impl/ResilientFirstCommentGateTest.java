@@ -0,0 +1,125 @@
+package com.teambind.commentserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.teambind.commentserver.entity.Comment.CommentStatus;
+import com.teambind.commentserver.repository.CommentRepository;
+import com.teambind.commentserver.utils.resilience.CircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+class ResilientFirstCommentGateTest {
+
+  private final RedisFirstCommentGate redisGate = mock(RedisFirstCommentGate.class);
+  private final CommentRepository commentRepository = mock(CommentRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ResilientFirstCommentGate gate;
+
+  @AfterEach
+  void tearDown() {
+    gate.close();
+  }
+
+  @DisplayName("Redis 가 제한 시간 안에 답하지 않으면 기다리지 않고 DB 폴백으로 판정한다")
+  @Test
+  void slowRedis_isCutAtDeadline() {
+    gate = gate(10, 100);
+    when(redisGate.decide(anyString(), anyString()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(2_000);
+              return true;
+            });
+    activeComments(1);
+
+    long start = System.nanoTime();
+    boolean first = gate.isFirstWithinWindow("a1", "u1");
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertThat(first).isTrue();
+    assertThat(elapsedMillis).isLessThan(1_000);
+    assertThat(count("comment.first_gate.redis_call", "outcome", "timeout")).isEqualTo(1);
+    assertThat(count("comment.first_gate.fallback", "result", "first")).isEqualTo(1);
+  }
+
+  @DisplayName("실패가 누적되면 서킷이 열리고, 열린 동안에는 Redis 를 호출하지 않는다")
+  @Test
+  void failures_openCircuit() {
+    gate = gate(10, 100);
+    when(redisGate.decide(anyString(), anyString()))
+        .thenThrow(new RedisConnectionFailureException("down"));
+    activeComments(2);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(gate.isFirstWithinWindow("a1", "u1")).isFalse();
+    }
+    assertThat(gate.circuitState()).isEqualTo(State.OPEN);
+    reset(redisGate);
+
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isFalse();
+    verify(redisGate, never()).decide(anyString(), anyString());
+    assertThat(count("comment.first_gate.redis_call", "outcome", "short_circuited"))
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .counter("comment.first_gate.circuit.transition", "from", "closed", "to", "open")
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry.get("comment.first_gate.circuit.state").tag("state", "open").gauge()
+                .value())
+        .isEqualTo(1);
+  }
+
+  @DisplayName("DB 폴백은 토큰 버킷으로 제한되고, 토큰이 없으면 스킵한다")
+  @Test
+  void fallback_isRateLimited() {
+    gate = gate(2, 0.001);
+    when(redisGate.decide(anyString(), anyString()))
+        .thenThrow(new RedisConnectionFailureException("down"));
+    activeComments(1);
+
+    assertThat(gate.isFirstWithinWindow("a1", "u1")).isTrue();
+    assertThat(gate.isFirstWithinWindow("a1", "u2")).isTrue();
+    assertThat(gate.isFirstWithinWindow("a1", "u3")).isFalse();
+
+    assertThat(count("comment.first_gate.fallback", "result", "first")).isEqualTo(2);
+    assertThat(count("comment.first_gate.fallback", "result", "rate_limited")).isEqualTo(1);
+  }
+
+  private ResilientFirstCommentGate gate(int fallbackBurst, double fallbackPermitsPerSecond) {
+    return new ResilientFirstCommentGate(
+        redisGate,
+        commentRepository,
+        meterRegistry,
+        Duration.ofMillis(100),
+        10,
+        5,
+        0.5,
+        Duration.ofMinutes(1),
+        1,
+        fallbackPermitsPerSecond,
+        fallbackBurst);
+  }
+
+  private void activeComments(long count) {
+    when(commentRepository.countByArticleIdAndWriterIdAndIsDeletedFalseAndStatus(
+            anyString(), anyString(), any(CommentStatus.class)))
+        .thenReturn(count);
+  }
+
+  private double count(String name, String tag, String value) {
+    return meterRegistry.counter(name, tag, value).count();
+  }
+}
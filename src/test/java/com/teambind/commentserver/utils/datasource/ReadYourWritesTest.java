@@ -0,0 +1,124 @@
+package com.teambind.commentserver.utils.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+/** 라운드 로빈 뒤 두 노드가 Redis 로 read-your-writes 창을 공유하는지 확인한다. */
+class ReadYourWritesTest {
+
+  private static final Duration WINDOW = Duration.ofSeconds(5);
+
+  private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+  @SuppressWarnings("unchecked")
+  private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+  private final ReadYourWrites writerNode = readYourWrites(true);
+  private final ReadYourWrites readerNode = readYourWrites(true);
+
+  @DisplayName("다른 노드에서 연 창도 Redis 로 보고 primary 에서 읽는다 (Redis 조회는 요청당 한 번)")
+  @Test
+  void windowOpenedOnAnotherNode_isShared() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    when(redisTemplate.hasKey("c:ryw:v1:writer-1")).thenReturn(true);
+
+    writerNode.markWrite("writer-1");
+    readerNode.setRequester("writer-1");
+    try {
+      assertThat(readerNode.requiresPrimary()).isTrue();
+      assertThat(readerNode.requiresPrimary()).isTrue();
+    } finally {
+      readerNode.clearRequester();
+    }
+
+    verify(valueOps).set("c:ryw:v1:writer-1", "1", WINDOW);
+    verify(redisTemplate, times(1)).hasKey("c:ryw:v1:writer-1");
+  }
+
+  @DisplayName("Redis 장애 시에는 노드 로컬 창으로만 판단한다")
+  @Test
+  void redisFailure_fallsBackToLocalWindow() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    when(redisTemplate.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+    doThrow(new RedisConnectionFailureException("down"))
+        .when(valueOps)
+        .set(anyString(), anyString(), any(Duration.class));
+
+    writerNode.markWrite("writer-1");
+
+    writerNode.setRequester("writer-1");
+    readerNode.setRequester("writer-1");
+    try {
+      assertThat(writerNode.requiresPrimary()).isTrue();
+      assertThat(readerNode.requiresPrimary()).isFalse();
+    } finally {
+      writerNode.clearRequester();
+      readerNode.clearRequester();
+    }
+  }
+
+  @DisplayName("복제본을 쓰지 않으면 Redis 를 호출하지 않는다")
+  @Test
+  void withoutReplicas_skipsRedis() {
+    ReadYourWrites local = readYourWrites(false);
+
+    local.markWrite("writer-1");
+    local.setRequester("writer-2");
+    try {
+      assertThat(local.requiresPrimary()).isFalse();
+    } finally {
+      local.clearRequester();
+    }
+
+    verifyNoInteractions(redisTemplate);
+  }
+
+  @DisplayName("요청 사용자를 다른 스레드로 넘기면 그 스레드의 읽기도 primary 로 간다")
+  @Test
+  void requesterHandedToAnotherThread_keepsWindow() throws Exception {
+    ReadYourWrites local = readYourWrites(false);
+    local.markWrite("writer-1");
+    local.setRequester("writer-1");
+    String requester;
+    try {
+      requester = local.getRequester();
+    } finally {
+      local.clearRequester();
+    }
+
+    AtomicBoolean primary = new AtomicBoolean();
+    Thread async =
+        new Thread(
+            () -> {
+              local.setRequester(requester);
+              try {
+                primary.set(local.requiresPrimary());
+              } finally {
+                local.clearRequester();
+              }
+            });
+    async.start();
+    async.join();
+
+    assertThat(requester).isEqualTo("writer-1");
+    assertThat(primary).isTrue();
+    assertThat(local.getRequester()).isNull();
+  }
+
+  private ReadYourWrites readYourWrites(boolean replicasEnabled) {
+    return new ReadYourWrites(redisTemplate, true, true, replicasEnabled, WINDOW);
+  }
+}
@@ -0,0 +1,196 @@
+package com.teambind.commentserver.utils.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** primary/복제본 역할의 H2 인메모리 DB 를 각각 두고 어느 DB 에서 읽혔는지로 라우팅을 확인한다. */
+class ReplicaRoutingDataSourceTest {
+
+  private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+  private final DataSource primary = node("primary");
+  private final DataSource replica1 = node("replica-1");
+  private final DataSource replica2 = node("replica-2");
+  private final ReadYourWrites readYourWrites =
+      new ReadYourWrites(mock(StringRedisTemplate.class), true, false, true, Duration.ofSeconds(5));
+
+  private ReplicaRoutingDataSource routing;
+  private JdbcTemplate jdbcTemplate;
+  private DataSourceTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() {
+    routing = routing(List.of(new ReplicaNode("r1", replica1), new ReplicaNode("r2", replica2)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    readYourWrites.clearRequester();
+  }
+
+  @DisplayName("readOnly 트랜잭션은 복제본을 round-robin 으로, 쓰기/트랜잭션 밖 조회는 primary 를 쓴다")
+  @Test
+  void readOnlyTransactions_goToReplicas() {
+    assertThat(whoAmI(true)).isEqualTo("replica-1");
+    assertThat(whoAmI(true)).isEqualTo("replica-2");
+    assertThat(whoAmI(true)).isEqualTo("replica-1");
+    assertThat(whoAmI(false)).isEqualTo("primary");
+    assertThat(jdbcTemplate.queryForObject("SELECT name FROM node", String.class))
+        .isEqualTo("primary");
+  }
+
+  @DisplayName("지연이 max-lag 를 넘은 복제본은 제외되고, 모두 제외되면 primary 로 폴백한다")
+  @Test
+  void laggingReplicas_areSkipped() {
+    setLag(replica1, 10);
+    routing.checkReplicas();
+    assertThat(whoAmI(true)).isEqualTo("replica-2");
+    assertThat(whoAmI(true)).isEqualTo("replica-2");
+
+    setLag(replica2, 10);
+    routing.checkReplicas();
+    assertThat(whoAmI(true)).isEqualTo("primary");
+
+    setLag(replica1, 0);
+    routing.checkReplicas();
+    assertThat(whoAmI(true)).isEqualTo("replica-1");
+  }
+
+  @DisplayName("연결할 수 없는 복제본은 unhealthy 로 표시되고 primary 로 폴백한다")
+  @Test
+  void unreachableReplica_fallsBackToPrimary() {
+    DataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/missing");
+    ReplicaNode down = new ReplicaNode("down", unreachable);
+    routing = routing(List.of(down));
+
+    assertThat(down.isHealthy()).isFalse();
+    assertThat(whoAmI(true)).isEqualTo("primary");
+  }
+
+  @DisplayName("SHOW SLAVE STATUS 결과 행이 없으면(복제본이 아님) unhealthy 로 제외한다")
+  @Test
+  void replicaWithoutSlaveStatus_isUnhealthy() throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    Statement st = mock(Statement.class);
+    Connection con = mock(Connection.class);
+    DataSource notAReplica = mock(DataSource.class);
+    when(rs.next()).thenReturn(false);
+    when(st.executeQuery("SHOW SLAVE STATUS")).thenReturn(rs);
+    when(con.createStatement()).thenReturn(st);
+    when(notAReplica.getConnection()).thenReturn(con);
+    ReplicaNode node = new ReplicaNode("not-a-replica", notAReplica);
+
+    node.check(null, Duration.ofSeconds(2));
+
+    assertThat(node.isHealthy()).isFalse();
+  }
+
+  @DisplayName("계정별 커넥션은 primary 로 위임한다")
+  @Test
+  void connectionWithCredentials_delegatesToPrimary() throws SQLException {
+    DataSource mockPrimary = mock(DataSource.class);
+    Connection con = mock(Connection.class);
+    when(mockPrimary.getConnection("user", "secret")).thenReturn(con);
+    ReplicaRoutingDataSource dataSource =
+        new ReplicaRoutingDataSource(
+            mockPrimary,
+            List.of(),
+            ReplicaSelection.ROUND_ROBIN,
+            readYourWrites,
+            Duration.ofSeconds(2),
+            LAG_QUERY,
+            new SimpleMeterRegistry());
+
+    assertThat(dataSource.getConnection("user", "secret")).isSameAs(con);
+  }
+
+  @DisplayName("read-your-writes 창이 열린 사용자의 readOnly 조회는 primary 를 쓴다")
+  @Test
+  void recentWriter_readsFromPrimary() {
+    readYourWrites.markWrite("writer-1");
+
+    readYourWrites.setRequester("writer-1");
+    assertThat(whoAmI(true)).isEqualTo("primary");
+
+    readYourWrites.setRequester("writer-2");
+    assertThat(whoAmI(true)).startsWith("replica-");
+  }
+
+  @DisplayName("read-your-writes 창은 window 가 지나면 닫힌다")
+  @Test
+  void readYourWritesWindow_expires() throws InterruptedException {
+    ReadYourWrites shortWindow =
+        new ReadYourWrites(
+            mock(StringRedisTemplate.class), true, false, true, Duration.ofMillis(50));
+    shortWindow.markWrite("writer-1");
+    shortWindow.setRequester("writer-1");
+    try {
+      assertThat(shortWindow.requiresPrimary()).isTrue();
+      Thread.sleep(100);
+      assertThat(shortWindow.requiresPrimary()).isFalse();
+    } finally {
+      shortWindow.clearRequester();
+    }
+  }
+
+  private ReplicaRoutingDataSource routing(List<ReplicaNode> replicas) {
+    ReplicaRoutingDataSource dataSource =
+        new ReplicaRoutingDataSource(
+            primary,
+            replicas,
+            ReplicaSelection.ROUND_ROBIN,
+            readYourWrites,
+            Duration.ofSeconds(2),
+            LAG_QUERY,
+            new SimpleMeterRegistry());
+    dataSource.checkReplicas();
+    LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(dataSource);
+    jdbcTemplate = new JdbcTemplate(lazy);
+    transactionManager = new DataSourceTransactionManager(lazy);
+    return dataSource;
+  }
+
+  private String whoAmI(boolean readOnly) {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    tx.setReadOnly(readOnly);
+    return tx.execute(s -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+  }
+
+  private static void setLag(DataSource replica, double seconds) {
+    new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = ?", seconds);
+  }
+
+  private static DataSource node(String name) {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+    jdbc.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+    jdbc.execute("DELETE FROM node");
+    jdbc.execute("DELETE FROM replica_lag");
+    jdbc.update("INSERT INTO node VALUES (?)", name);
+    jdbc.execute("INSERT INTO replica_lag VALUES (0)");
+    return dataSource;
+  }
+}
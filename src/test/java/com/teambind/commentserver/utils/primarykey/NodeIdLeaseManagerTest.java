@@ -0,0 +1,151 @@
+package com.teambind.commentserver.utils.primarykey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.teambind.commentserver.exceptions.CustomException;
+import java.time.Clock;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class NodeIdLeaseManagerTest {
+
+  private final InMemoryNodeIdLeaseStore store = new InMemoryNodeIdLeaseStore(Clock.systemUTC());
+
+  @DisplayName("같은 저장소를 쓰는 노드들은 서로 다른 노드 ID를 임대한다")
+  @Test
+  void managers_leaseDistinctNodeIds() {
+    NodeIdLeaseManager a = new NodeIdLeaseManager(store, null, Duration.ofSeconds(30));
+    NodeIdLeaseManager b = new NodeIdLeaseManager(store, null, Duration.ofSeconds(30));
+    a.start();
+    b.start();
+
+    assertThat(a.currentNodeId()).isNotEqualTo(b.currentNodeId());
+    assertThat(store.ownerOf((int) a.currentNodeId())).isEqualTo(a.owner());
+  }
+
+  @DisplayName("임대를 다른 소유자에게 빼앗기면 heartbeat 에서 감지하고 새 노드 ID를 임대한다")
+  @Test
+  void lostLease_isDetectedAndReplaced() {
+    NodeIdLeaseManager manager = new NodeIdLeaseManager(store, null, Duration.ofSeconds(30));
+    manager.start();
+    int stolen = (int) manager.currentNodeId();
+    store.release(stolen, manager.owner());
+    store.tryAcquire(stolen, "other-node", Duration.ofMinutes(1));
+
+    manager.heartbeat();
+
+    assertThat(manager.currentNodeId()).isNotEqualTo(stolen);
+    assertThat(store.ownerOf(stolen)).isEqualTo("other-node");
+  }
+
+  @DisplayName("연장되지 않은 임대가 만료되면 ID 발급을 거부한다")
+  @Test
+  void expiredLease_refusesToMint() throws InterruptedException {
+    NodeIdLeaseManager manager = new NodeIdLeaseManager(store, null, Duration.ofMillis(50));
+    manager.start();
+    Snowflake snowflake = new Snowflake(manager);
+    assertThat(snowflake.nextId()).isPositive();
+
+    Thread.sleep(100);
+
+    assertThatThrownBy(snowflake::nextId).isInstanceOf(CustomException.class);
+  }
+
+  @DisplayName("미러(Redis)에 다른 소유자가 있는 노드 ID 는 기준 저장소(DB)에서 비어 있어도 쓰지 않는다")
+  @Test
+  void idHeldInMirror_isSkipped() {
+    InMemoryNodeIdLeaseStore mirror = new InMemoryNodeIdLeaseStore(Clock.systemUTC());
+    for (int nodeId = 0; nodeId <= Snowflake.MAX_NODE_ID; nodeId++) {
+      if (nodeId != 7) {
+        mirror.tryAcquire(nodeId, "other-node", Duration.ofMinutes(1));
+      }
+    }
+    NodeIdLeaseManager manager = new NodeIdLeaseManager(store, mirror, Duration.ofSeconds(30));
+
+    manager.start();
+
+    assertThat(manager.currentNodeId()).isEqualTo(7);
+    assertThat(store.ownerOf(8)).isNull();
+  }
+
+  @DisplayName("한 노드만 미러에 닿지 못해도 다른 노드의 ID 를 가져가지 않고, 복구되면 미러에 다시 기록한다")
+  @Test
+  void mirrorOutageOnOneNode_keepsIdsUnique() {
+    InMemoryNodeIdLeaseStore mirror = new InMemoryNodeIdLeaseStore(Clock.systemUTC());
+    FlakyStore flakyMirror = new FlakyStore(mirror);
+    NodeIdLeaseManager healthy = new NodeIdLeaseManager(store, mirror, Duration.ofSeconds(30));
+    NodeIdLeaseManager isolated =
+        new NodeIdLeaseManager(store, flakyMirror, Duration.ofSeconds(30));
+    healthy.start();
+    flakyMirror.down = true;
+
+    isolated.start();
+
+    int isolatedId = (int) isolated.currentNodeId();
+    assertThat(isolatedId).isNotEqualTo(healthy.currentNodeId());
+    assertThat(mirror.ownerOf(isolatedId)).isNull();
+
+    // when: 미러 복구 후 heartbeat, 새 노드 기동
+    flakyMirror.down = false;
+    isolated.heartbeat();
+    NodeIdLeaseManager joined = new NodeIdLeaseManager(store, mirror, Duration.ofSeconds(30));
+    joined.start();
+
+    // then
+    assertThat(isolated.currentNodeId()).isEqualTo(isolatedId);
+    assertThat(mirror.ownerOf(isolatedId)).isEqualTo(isolated.owner());
+    assertThat(joined.currentNodeId())
+        .isNotIn(healthy.currentNodeId(), isolated.currentNodeId());
+  }
+
+  @DisplayName("기준 저장소(DB)에 닿지 못하면 임대하지 않는다")
+  @Test
+  void storeOutage_refusesToLease() {
+    FlakyStore flakyStore = new FlakyStore(store);
+    flakyStore.down = true;
+    NodeIdLeaseManager manager =
+        new NodeIdLeaseManager(
+            flakyStore, new InMemoryNodeIdLeaseStore(Clock.systemUTC()), Duration.ofSeconds(30));
+
+    assertThatThrownBy(manager::start).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(manager::currentNodeId).isInstanceOf(CustomException.class);
+  }
+
+  /** down 이면 저장소 장애(DataAccessException)를 던지는 래퍼 */
+  private static final class FlakyStore implements NodeIdLeaseStore {
+
+    private final NodeIdLeaseStore delegate;
+    private volatile boolean down;
+
+    private FlakyStore(NodeIdLeaseStore delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean tryAcquire(int nodeId, String owner, Duration ttl) {
+      check();
+      return delegate.tryAcquire(nodeId, owner, ttl);
+    }
+
+    @Override
+    public boolean renew(int nodeId, String owner, Duration ttl) {
+      check();
+      return delegate.renew(nodeId, owner, ttl);
+    }
+
+    @Override
+    public void release(int nodeId, String owner) {
+      check();
+      delegate.release(nodeId, owner);
+    }
+
+    private void check() {
+      if (down) {
+        throw new DataAccessResourceFailureException("down");
+      }
+    }
+  }
+}
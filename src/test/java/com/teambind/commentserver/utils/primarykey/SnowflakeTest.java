@@ -0,0 +1,88 @@
+package com.teambind.commentserver.utils.primarykey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeTest {
+
+  @DisplayName("동시에 발급해도 ID는 중복되지 않고 스레드별로 단조 증가한다")
+  @Test
+  void nextId_isUniqueAndMonotonicUnderContention() throws Exception {
+    Snowflake snowflake = new Snowflake(NodeIdProvider.fixed(1));
+    int threads = 16;
+    int perThread = 20_000;
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int t = 0; t < threads; t++) {
+        executor.submit(
+            () -> {
+              start.await();
+              long prev = Long.MIN_VALUE;
+              for (int i = 0; i < perThread; i++) {
+                long id = snowflake.nextId();
+                assertThat(id).isGreaterThan(prev);
+                ids.add(id);
+                prev = id;
+              }
+              return null;
+            });
+      }
+      start.countDown();
+      executor.shutdown();
+      assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(ids).hasSize(threads * perThread);
+  }
+
+  @DisplayName("가상 스레드에서 발급해도 ID는 중복되지 않는다 (spring.threads.virtual.enabled 모드)")
+  @Test
+  void nextId_isUniqueOnVirtualThreads() throws Exception {
+    Snowflake snowflake = new Snowflake(NodeIdProvider.fixed(1));
+    int tasks = 10_000;
+    int perTask = 50;
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int t = 0; t < tasks; t++) {
+        executor.submit(
+            () -> {
+              for (int i = 0; i < perTask; i++) {
+                ids.add(snowflake.nextId());
+              }
+            });
+      }
+    }
+
+    assertThat(ids).hasSize(tasks * perTask);
+  }
+
+  @DisplayName("블록 예약은 오름차순의 고유한 ID를 돌려주고 이후 발급과 겹치지 않는다")
+  @Test
+  void reserveLongKeys_returnsAscendingBlock() {
+    Snowflake snowflake = new Snowflake(NodeIdProvider.fixed(1));
+    long before = snowflake.nextId();
+
+    long[] block = snowflake.reserveLongKeys(Snowflake.MAX_RESERVE);
+    long after = snowflake.nextId();
+
+    assertThat(block).hasSize(Snowflake.MAX_RESERVE).isSorted().doesNotHaveDuplicates();
+    assertThat(block[0]).isGreaterThan(before);
+    assertThat(after).isGreaterThan(block[block.length - 1]);
+    assertThat(snowflake.reserveKeys(3)).hasSize(3);
+    assertThatThrownBy(() -> snowflake.reserveLongKeys(Snowflake.MAX_RESERVE + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
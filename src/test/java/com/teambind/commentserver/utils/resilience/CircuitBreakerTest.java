@@ -0,0 +1,113 @@
+package com.teambind.commentserver.utils.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.teambind.commentserver.utils.resilience.CircuitBreaker.State;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final List<String> transitions = new ArrayList<>();
+
+  @DisplayName("최소 호출 수 전에는 열리지 않고, 실패율이 임계치를 넘으면 열린다")
+  @Test
+  void opensOnFailureRate() {
+    CircuitBreaker breaker = breaker();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(breaker.tryAcquire()).isTrue();
+      breaker.onFailure();
+    }
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+    breaker.onSuccess();
+    breaker.onFailure(); // 5건 중 4건 실패
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+    assertThat(transitions).containsExactly("CLOSED->OPEN");
+  }
+
+  @DisplayName("open-duration 이후 시험 호출이 모두 성공하면 닫히고, 하나라도 실패하면 다시 열린다")
+  @Test
+  void halfOpenTrials() {
+    CircuitBreaker breaker = breaker();
+    for (int i = 0; i < 5; i++) {
+      breaker.onFailure();
+    }
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isFalse(); // 시험 호출은 2건까지
+    breaker.onSuccess();
+    breaker.onFailure();
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isTrue();
+    breaker.onSuccess();
+    breaker.onSuccess();
+
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    assertThat(transitions)
+        .containsExactly(
+            "CLOSED->OPEN",
+            "OPEN->HALF_OPEN",
+            "HALF_OPEN->OPEN",
+            "OPEN->HALF_OPEN",
+            "HALF_OPEN->CLOSED");
+  }
+
+  @DisplayName("결과 없이 끝난 시험 호출은 release 로 슬롯을 돌려주고, 서킷은 HALF_OPEN 에 묶이지 않는다")
+  @Test
+  void halfOpenRelease_returnsTrialSlot() {
+    CircuitBreaker breaker = breaker();
+    for (int i = 0; i < 5; i++) {
+      breaker.onFailure();
+    }
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isTrue();
+    breaker.release(); // 인터럽트/실행 거절
+    breaker.release();
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isTrue();
+    breaker.onSuccess();
+    breaker.onSuccess();
+
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+  }
+
+  @DisplayName("토큰 버킷은 burst 만큼 허용한 뒤 충전 속도만큼만 허용한다")
+  @Test
+  void tokenBucket_refillsAtRate() {
+    TokenBucket bucket = new TokenBucket(2, 2, clock::get);
+
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isFalse();
+
+    clock.addAndGet(Duration.ofMillis(500).toNanos());
+    assertThat(bucket.tryAcquire()).isTrue();
+    assertThat(bucket.tryAcquire()).isFalse();
+  }
+
+  private CircuitBreaker breaker() {
+    return new CircuitBreaker(
+        10,
+        5,
+        0.5,
+        Duration.ofSeconds(10),
+        2,
+        (from, to) -> transitions.add(from + "->" + to),
+        clock::get);
+  }
+}